@@ -0,0 +1,49 @@
+package com.emp.proj.employee_register;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.emp.proj.employee_register.services.EmailService;
+import com.emp.proj.employee_register.services.EmailTemplateCache;
+import com.emp.proj.employee_register.services.SalaryNotification;
+
+/**
+ * Salary notifications rendered per second over a ten-thousand-employee payroll run. That
+ * the bulk path renders what a single notification would is checked in EmailTemplateTests.
+ */
+class EmailTemplateBenchmarkTests {
+
+    private static final int PAYROLL_SIZE = 10_000;
+    private static final int ROUNDS = 10;
+
+    @Test
+    void renderPayrollRun() {
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "templateCache", new EmailTemplateCache());
+
+        LocalDate paymentDate = LocalDate.now();
+        List<SalaryNotification> payroll = new ArrayList<>(PAYROLL_SIZE);
+        for (int i = 0; i < PAYROLL_SIZE; i++) {
+            payroll.add(new SalaryNotification("emp" + i + "@example.com", "Employee <" + i + ">",
+                    1000 + i * 0.25, paymentDate));
+        }
+
+        long[] totalChars = new long[1];
+        emailService.renderSalaryNotifications(payroll, (n, html) -> totalChars[0] += html.length());
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            emailService.renderSalaryNotifications(payroll, (n, html) -> totalChars[0] += html.length());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long rendered = (long) PAYROLL_SIZE * ROUNDS;
+        double perSecond = rendered / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("Rendered %d salary notifications (%d chars) in %d ms: %.0f messages/s%n",
+                rendered, totalChars[0], elapsedNanos / 1_000_000, perSecond);
+    }
+}
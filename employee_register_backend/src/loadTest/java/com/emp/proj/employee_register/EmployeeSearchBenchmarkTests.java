@@ -0,0 +1,80 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.EmployeeSearchIndex;
+
+/**
+ * Lookup latency of the employee search index at one hundred thousand employees, with
+ * exact, prefix, typo, multi-term and phone-number queries. Reports the median and p99 of
+ * per-lookup samples after a warm-up; what the lookups find is checked in EmployeeSearchTests.
+ */
+class EmployeeSearchBenchmarkTests {
+
+    private static final int EMPLOYEES = 100_000;
+    private static final String[] FIRST_NAMES = { "john", "jonathan", "joanna", "priya", "rahul", "meera", "arjun",
+            "kavya", "suresh", "lakshmi", "vikram", "deepa", "anand", "fatima", "george", "harish", "ishaan",
+            "nandini", "oliver", "ravi", "sanjay", "tanvi", "uma", "varun", "yamini", "zoya", "karthik", "divya" };
+    private static final String[] LAST_NAMES = { "smith", "kumar", "sharma", "iyer", "nair", "reddy", "patel",
+            "menon", "fernandes", "das", "rao", "pillai", "khan", "thomas", "varghese", "joseph", "singh", "gupta" };
+    private static final String[] SYLLABLES = { "ka", "ri", "mo", "la", "an", "de", "vi", "su", "ra", "ni", "to",
+            "mi", "sha", "ven", "por", "el", "ta", "gu", "bh", "ar" };
+    private static final String[] ROLES = { "worker", "supervisor", "driver", "accountant", "cleaner", "electrician" };
+
+    @Test
+    void lookupLatencyAtOneHundredThousandEmployees() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        Random random = new Random(42);
+        for (int id = 1; id <= EMPLOYEES; id++) {
+            Employee employee = new Employee(
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname(random),
+                    String.format("+91 9%09d", random.nextInt(1_000_000_000)), "Street",
+                    ROLES[random.nextInt(ROLES.length)], LocalDate.now(), 100.0, "active");
+            employee.setId(id);
+            index.index(employee);
+        }
+        assertEquals(EMPLOYEES, index.size());
+
+        List<String> queries = List.of("jonathan", "jon", "jonatan", "priya sharma", "kumar driver",
+                "karthk", "fernandez", "98765", "lakshmi iyer", "vikram");
+        for (int i = 0; i < 200; i++) {
+            for (String query : queries) {
+                index.search(query, 0, 20);
+            }
+        }
+
+        // Per-lookup samples, reported by the median: GC and JIT pauses land in the tail.
+        long[] samples = new long[100 * queries.size()];
+        int n = 0;
+        for (int i = 0; i < 100; i++) {
+            for (String query : queries) {
+                long start = System.nanoTime();
+                index.search(query, 0, 20);
+                samples[n++] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        System.out.printf("Employee search over %d employees: median %.1f us, p99 %.1f us%n", EMPLOYEES,
+                samples[samples.length / 2] / 1_000.0, samples[samples.length * 99 / 100] / 1_000.0);
+    }
+
+    /** Common surnames for half the employees, a long tail of generated ones for the rest. */
+    private static String surname(Random random) {
+        if (random.nextBoolean()) {
+            return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        }
+        StringBuilder surname = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return surname.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import com.emp.proj.employee_register.services.FieldProjectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a full attendance listing with a ?fields= projection over 100k rows:
+ * bytes on the wire and load + serialization time. What the projection holds is checked
+ * in FieldProjectionTests.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FieldProjectionBenchmarkTests {
+
+    private static final int ROWS = 100_000;
+    private static final int FIRST_EMP_ID = 1_000_000;
+    private static final int EMPLOYEES = 1_000;
+    private static final String FIELDS = "id,employeeId,date,status";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void insertRows() {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[] {
+                    FIRST_EMP_ID + (i % EMPLOYEES),
+                    start.plusDays(i / EMPLOYEES),
+                    i % 10 == 0 ? "absent" : "present",
+                    "Regular shift, no overtime recorded",
+                    0.0, 0.0,
+                    "Imported attendance row " + i,
+                    500.0 });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (emp_id, date, status, overtime_description, "
+                + "overtime_salary, overtime_hours, description, total_salary) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    @AfterAll
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE emp_id >= ?", FIRST_EMP_ID);
+    }
+
+    @Test
+    void projectionIsSmallerAndFasterThanFullEntities() throws Exception {
+        // Warm up both paths so the comparison is not dominated by class loading and JIT.
+        objectMapper.writeValueAsBytes(attendanceRepository.findAll());
+        objectMapper.writeValueAsBytes(fieldProjectionService.findFields(Attendance.class, FIELDS));
+
+        long start = System.nanoTime();
+        List<Attendance> full = attendanceRepository.findAll();
+        byte[] fullPayload = objectMapper.writeValueAsBytes(full);
+        long fullMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        List<Map<String, Object>> slim = fieldProjectionService.findFields(Attendance.class, FIELDS);
+        byte[] slimPayload = objectMapper.writeValueAsBytes(slim);
+        long slimMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Attendance listing (" + full.size() + " rows): full " + fullPayload.length + " bytes in "
+                + fullMillis + " ms, fields=" + FIELDS + " " + slimPayload.length + " bytes in " + slimMillis + " ms");
+
+        assertEquals(full.size(), slim.size());
+        assertEquals(List.of("id", "employeeId", "date", "status"), List.copyOf(slim.get(0).keySet()));
+        assertTrue(slimPayload.length * 2 < fullPayload.length);
+    }
+}
@@ -0,0 +1,267 @@
+package com.emp.proj.employee_register;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load generator: a fixed number of users, each sending its share of a fixed
+ * number of requests back to back. Every user has its own seeded random source, so a run
+ * sends the same requests as any other run with the same settings. Latencies are kept in
+ * full and reported per operation as well as for the whole scenario.
+ */
+class LoadGenerator {
+
+    /** One request of a scenario; the label groups its latencies in the report. */
+    record Call(String label, String method, String path, String body, String ifNoneMatch) {
+
+        static Call get(String label, String path) {
+            return new Call(label, "GET", path, null, null);
+        }
+
+        static Call post(String label, String path, String body) {
+            return new Call(label, "POST", path, body, null);
+        }
+
+        static Call put(String label, String path, String body) {
+            return new Call(label, "PUT", path, body, null);
+        }
+
+        static Call delete(String label, String path) {
+            return new Call(label, "DELETE", path, null, null);
+        }
+
+        /** The same request, sent as a browser revalidating what it has cached. */
+        Call revalidating(String etag) {
+            return new Call(label, method, path, body, etag);
+        }
+    }
+
+    /**
+     * The requests of one user, in order; request is the index within the whole scenario.
+     * Each user has a script of its own, which sees every response it gets back.
+     */
+    interface Script {
+        Call next(long request, Random random);
+
+        default void completed(Call call, HttpResponse<String> response) {
+        }
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /** Sends one request outside any measurement, for seeding and warm-up. */
+    HttpResponse<String> send(Call call) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json");
+        if (call.ifNoneMatch() != null) {
+            request.header("If-None-Match", call.ifNoneMatch());
+        }
+        if (call.body() != null) {
+            request.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.body()));
+        } else {
+            request.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Runs requests calls of the script from users concurrent users, all released at once. */
+    Result run(String scenario, int users, long requests, long seed, IntFunction<Script> scripts) throws Exception {
+        List<Callable<Samples>> workers = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int user = 0; user < users; user++) {
+            int id = user;
+            workers.add(() -> {
+                Random random = new Random(seed * 31 + id);
+                Script script = scripts.apply(id);
+                Samples samples = new Samples();
+                start.await();
+                // Requests are dealt round-robin, so user u sends u, u + users, u + 2 * users...
+                for (long request = id; request < requests; request += users) {
+                    Call call = script.next(request, random);
+                    long began = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = send(call);
+                        samples.add(call.label(), System.nanoTime() - began, response.statusCode());
+                        script.completed(call, response);
+                    } catch (IOException e) {
+                        samples.add(call.label(), System.nanoTime() - began, -1);
+                    }
+                }
+                return samples;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<Samples>> futures = new ArrayList<>();
+            for (Callable<Samples> worker : workers) {
+                futures.add(pool.submit(worker));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            Samples all = new Samples();
+            for (Future<Samples> future : futures) {
+                all.addAll(future.get());
+            }
+            return new Result(scenario, users, all, System.nanoTime() - began);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Latencies and status codes as recorded by one user, or by all of them once merged. */
+    static final class Samples {
+
+        private final Map<String, long[]> latencies = new TreeMap<>();
+        private final Map<String, Integer> counts = new TreeMap<>();
+        private final Map<String, Map<Integer, Integer>> statuses = new TreeMap<>();
+
+        void add(String label, long nanos, int status) {
+            addLatency(label, nanos);
+            statuses.computeIfAbsent(label, key -> new TreeMap<>()).merge(status, 1, Integer::sum);
+        }
+
+        void addAll(Samples other) {
+            for (Map.Entry<String, Integer> entry : other.counts.entrySet()) {
+                long[] values = other.latencies.get(entry.getKey());
+                for (int i = 0; i < entry.getValue(); i++) {
+                    addLatency(entry.getKey(), values[i]);
+                }
+            }
+            other.statuses.forEach((label, counts) -> counts.forEach((status, count) ->
+                    statuses.computeIfAbsent(label, key -> new TreeMap<>()).merge(status, count, Integer::sum)));
+        }
+
+        private void addLatency(String label, long nanos) {
+            int count = counts.getOrDefault(label, 0);
+            long[] values = latencies.computeIfAbsent(label, key -> new long[64]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(label, values);
+            }
+            values[count] = nanos;
+            counts.put(label, count + 1);
+        }
+
+        Map<Integer, Integer> statuses() {
+            Map<Integer, Integer> all = new TreeMap<>();
+            statuses.values().forEach(counts -> counts.forEach((status, count) -> all.merge(status, count, Integer::sum)));
+            return all;
+        }
+
+        long[] sorted(String label) {
+            long[] values = Arrays.copyOf(latencies.get(label), counts.get(label));
+            Arrays.sort(values);
+            return values;
+        }
+
+        long[] sortedAll() {
+            long[] values = new long[counts.values().stream().mapToInt(Integer::intValue).sum()];
+            int offset = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                System.arraycopy(latencies.get(entry.getKey()), 0, values, offset, entry.getValue());
+                offset += entry.getValue();
+            }
+            Arrays.sort(values);
+            return values;
+        }
+    }
+
+    /** One measured scenario. */
+    record Result(String scenario, int users, Samples samples, long elapsedNanos) {
+
+        /** Error responses, including requests that got no response at all; 304 is a success. */
+        long errors() {
+            return errors(samples.statuses());
+        }
+
+        private static long errors(Map<Integer, Integer> statuses) {
+            return statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 400)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            long[] all = samples.sortedAll();
+            double seconds = elapsedNanos / 1e9;
+            report.put("users", users);
+            report.put("requests", all.length);
+            report.put("errors", errors());
+            report.put("elapsedMs", round(elapsedNanos / 1e6));
+            report.put("throughputPerSecond", round(all.length / seconds));
+            report.putAll(latency(all));
+            report.put("statuses", samples.statuses());
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (String label : samples.counts.keySet()) {
+                long[] values = samples.sorted(label);
+                Map<String, Object> operation = new LinkedHashMap<>();
+                operation.put("requests", values.length);
+                operation.put("errors", errors(samples.statuses.get(label)));
+                operation.putAll(latency(values));
+                operation.put("statuses", samples.statuses.get(label));
+                operations.put(label, operation);
+            }
+            report.put("operations", operations);
+            return report;
+        }
+
+        String summary() {
+            long[] all = samples.sortedAll();
+            return String.format("%-20s %7d requests %6d errors %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms",
+                    scenario, all.length, errors(), all.length / (elapsedNanos / 1e9),
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, percentile(all, 0.999) / 1e6);
+        }
+
+        private static Map<String, Object> latency(long[] sorted) {
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50Ms", round(percentile(sorted, 0.50) / 1e6));
+            latency.put("p99Ms", round(percentile(sorted, 0.99) / 1e6));
+            latency.put("p999Ms", round(percentile(sorted, 0.999) / 1e6));
+            latency.put("maxMs", round(sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+            return latency;
+        }
+
+        /** Nearest rank: the smallest value with at least the given fraction of samples at or below it. */
+        private static long percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.emp.proj.employee_register.LoadGenerator.Call;
+import com.emp.proj.employee_register.LoadGenerator.Result;
+import com.emp.proj.employee_register.LoadGenerator.Script;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Production-like load against the real HTTP stack, run by the loadTest Gradle task. The
+ * server has its own in-memory database, seeded with the same employees on every run, and
+ * each scenario sends a fixed, seeded sequence of requests after an unmeasured warm-up of
+ * the same shape. Results go to load-test.json with the commit, JVM and settings they were
+ * measured with, so runs on the same machine can be compared between commits.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.jpa.show-sql=false",
+        "email.outbox.poll-interval-ms=3600000",
+        "spring.mail.host=localhost"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LoadTests {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 2000);
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20000);
+    private static final String API = "/api/v1";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoadGenerator generator;
+    private int[] employeeIds;
+    private final Map<String, Object> scenarios = new LinkedHashMap<>();
+
+    @BeforeAll
+    void seedEmployees() {
+        generator = new LoadGenerator("http://localhost:" + port + contextPath + API);
+        employeeIds = new int[EMPLOYEES];
+        Random random = new Random(1);
+        String[] roles = { "worker", "driver", "supervisor", "cleaner" };
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee("Load Employee " + i, "555" + i, "Street " + i, roles[i % roles.length],
+                    LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500)),
+                    400.0 + random.nextInt(60) * 10, "active");
+            employeeIds[i] = employeeService.addEmployee(employee).getId();
+        }
+    }
+
+    /** Every employee checks in within the same few minutes: one POST each, all at once. */
+    @Test
+    @Order(1)
+    void attendanceRush() throws Exception {
+        LocalDate today = LocalDate.now();
+        generator.run("warm-up", USERS, EMPLOYEES, 10, user -> (request, random) -> checkIn(request, today.minusDays(1)));
+
+        record("attendanceRush", generator.run("attendanceRush", USERS, EMPLOYEES, 11,
+                user -> (request, random) -> checkIn(request, today)));
+    }
+
+    /** Month-end payroll: a salary for every employee, with the statistics page reloaded throughout. */
+    @Test
+    @Order(2)
+    void payrollRun() throws Exception {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        long requests = EMPLOYEES + EMPLOYEES / 20;
+        generator.run("warm-up", USERS, requests, 20, user -> (request, random) -> payroll(request, month.minusMonths(1)));
+
+        record("payrollRun", generator.run("payrollRun", USERS, requests, 21,
+                user -> (request, random) -> payroll(request, month)));
+    }
+
+    /**
+     * Everyone opens the dashboard at once, then keeps reloading it. Each user revalidates
+     * what it has already loaded, as a browser does, so unchanged lists cost a 304.
+     */
+    @Test
+    @Order(3)
+    void dashboardStampede() throws Exception {
+        List<Call> dashboard = List.of(
+                Call.get("employees", "/employees"),
+                Call.get("activeEmployees", "/employees/active"),
+                Call.get("salaryStatistics", "/salaries/statistics"),
+                Call.get("attendanceToday", "/attendance/today/counts"),
+                Call.get("activeLoans", "/loans/active"));
+        generator.run("warm-up", USERS, USERS * dashboard.size(), 30, user -> new BrowserCache(dashboard));
+
+        record("dashboardStampede", generator.run("dashboardStampede", USERS, REQUESTS, 31,
+                user -> new BrowserCache(dashboard)));
+    }
+
+    /** A day of office work: mostly reads, with updates, new salaries, attendance edits and deletions. */
+    @Test
+    @Order(4)
+    void mixedCrud() throws Exception {
+        generator.run("warm-up", USERS, REQUESTS / 10, 40, OfficeWork::new);
+
+        record("mixedCrud", generator.run("mixedCrud", USERS, REQUESTS, 41, OfficeWork::new));
+    }
+
+    @AfterAll
+    void writeReport() throws Exception {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("employees", EMPLOYEES);
+        settings.put("users", USERS);
+        settings.put("requests", REQUESTS);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", System.getProperty("loadtest.commit", ""));
+        report.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        report.put("settings", settings);
+        report.put("scenarios", scenarios);
+
+        File directory = new File(System.getProperty("loadtest.report-dir", "build/reports/load-test"));
+        directory.mkdirs();
+        File file = new File(directory, "load-test.json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Load test report: " + file.getAbsolutePath());
+    }
+
+    private void record(String scenario, Result result) {
+        System.out.println(result.summary());
+        scenarios.put(scenario, result.report());
+        assertEquals(0, result.errors(), scenario + " had failed requests: " + result.report().get("statuses"));
+    }
+
+    private Call checkIn(long request, LocalDate date) {
+        return Call.post("checkIn", "/attendance", "{\"employeeId\": " + employeeIds[(int) request]
+                + ", \"date\": \"" + date + "\", \"status\": \"present\"}");
+    }
+
+    /** One statistics reload for every twenty salaries. */
+    private Call payroll(long request, YearMonth month) {
+        if (request % 21 == 20) {
+            return Call.get("statistics", "/salaries/statistics");
+        }
+        int employee = employeeIds[(int) (request - request / 21)];
+        return Call.post("paySalary", "/salaries", "{\"employeeId\": " + employee + ", \"datePaid\": \""
+                + month.atEndOfMonth() + "\", \"paymentType\": \"salary\", \"amount\": " + (10000 + employee % 500) + "}");
+    }
+
+    private final class BrowserCache implements Script {
+
+        private final List<Call> pages;
+        private final Map<String, String> etags = new HashMap<>();
+
+        private BrowserCache(List<Call> pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public Call next(long request, Random random) {
+            Call page = pages.get((int) (request % pages.size()));
+            String etag = etags.get(page.path());
+            return etag != null ? page.revalidating(etag) : page;
+        }
+
+        @Override
+        public void completed(Call call, HttpResponse<String> response) {
+            response.headers().firstValue("ETag").ifPresent(etag -> etags.put(call.path(), etag));
+        }
+    }
+
+    /**
+     * Reads any employee but writes only to its own slice of them, and deletes only salaries
+     * it created, so users never race each other for a row and every 4xx is a real failure.
+     */
+    private final class OfficeWork implements Script {
+
+        private final int user;
+        private final Deque<Integer> salaries = new ArrayDeque<>();
+
+        private OfficeWork(int user) {
+            this.user = user;
+        }
+
+        @Override
+        public Call next(long request, Random random) {
+            int pick = random.nextInt(100);
+            if (pick < 60) {
+                int employee = employeeIds[random.nextInt(employeeIds.length)];
+                if (pick < 35) {
+                    return Call.get("getEmployee", "/employees/" + employee);
+                } else if (pick < 50) {
+                    return Call.get("employeeAttendance", "/attendance/employee/" + employee);
+                }
+                return Call.get("employeeOverview", "/employees/" + employee + "/overview");
+            }
+            int slice = Math.max(employeeIds.length / USERS, 1);
+            int employee = employeeIds[(random.nextInt(slice) * USERS + user) % employeeIds.length];
+            if (pick < 70) {
+                return Call.put("updateEmployee", "/employees/" + employee, "{\"name\": \"Load Employee " + employee
+                        + "\", \"phoneNo\": \"555" + random.nextInt(10000) + "\", \"address\": \"Street " + employee
+                        + "\", \"role\": \"worker\", \"status\": \"active\", \"baseSalary\": 500.0}");
+            } else if (pick < 80) {
+                LocalDate date = LocalDate.now().minusDays(1 + random.nextInt(28));
+                String status = random.nextBoolean() ? "present" : "halfday";
+                return Call.put("markAttendance", "/attendance/employee/" + employee + "/date/" + date,
+                        "{\"status\": \"" + status + "\"}");
+            } else if (pick < 90 || salaries.isEmpty()) {
+                return Call.post("addSalary", "/salaries", "{\"employeeId\": " + employee + ", \"datePaid\": \""
+                        + LocalDate.now().minusDays(random.nextInt(28)) + "\", \"paymentType\": \"daily_credit\", \"amount\": 50.0}");
+            }
+            return Call.delete("deleteSalary", "/salaries/" + salaries.poll());
+        }
+
+        @Override
+        public void completed(Call call, HttpResponse<String> response) {
+            if ("addSalary".equals(call.label()) && response.statusCode() == 201) {
+                try {
+                    salaries.add(objectMapper.readTree(response.body()).get("id").asInt());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unreadable salary response: " + response.body(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.emp.proj.employee_register.entities.Money;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.repository.ISalaryRepository;
+import com.emp.proj.employee_register.services.SalaryService;
+
+/**
+ * Salary statistics over a year of payroll, added up in cents in one pass, against the
+ * double streams that re-formatted every payment date once per month they were checked for.
+ */
+class SalaryStatisticsBenchmarkTests {
+
+    private static final int PAYMENTS = 100_000;
+    private static final int ROUNDS = 10;
+
+    @Test
+    void statisticsAreExactAndAllocateLess() {
+        Random random = new Random(49);
+        LocalDate today = LocalDate.now();
+        List<Salary> payments = new ArrayList<>(PAYMENTS);
+        BigDecimal exactTotal = BigDecimal.ZERO;
+        BigDecimal exactThisMonth = BigDecimal.ZERO;
+        for (int i = 0; i < PAYMENTS; i++) {
+            long cents = 1 + random.nextInt(500_000);
+            LocalDate paid = today.minusDays(random.nextInt(365));
+            payments.add(new Salary(i % 500, paid,
+                    "salary", Money.toAmount(cents), null));
+            exactTotal = exactTotal.add(BigDecimal.valueOf(cents, 2));
+            if (YearMonth.from(paid).equals(YearMonth.from(today))) {
+                exactThisMonth = exactThisMonth.add(BigDecimal.valueOf(cents, 2));
+            }
+        }
+
+        SalaryService salaryService = new SalaryService();
+        ReflectionTestUtils.setField(salaryService, "salaryRepository", Proxy.newProxyInstance(
+                ISalaryRepository.class.getClassLoader(), new Class<?>[] {ISalaryRepository.class},
+                (proxy, method, args) -> payments));
+
+        Map<String, Object> statistics = salaryService.getSalaryStatistics();
+        double baselineTotal = baselineTotal(payments);
+        assertEquals(exactTotal.doubleValue(), (Double) statistics.get("totalPaid"));
+        assertEquals(exactThisMonth.doubleValue(), (Double) statistics.get("thisMonth"));
+        System.out.printf("Salary statistics: exact total %s, cents %s, doubles %s%n",
+                exactTotal.toPlainString(), statistics.get("totalPaid"), baselineTotal);
+
+        long[] baseline = measure(() -> baselineStatistics(payments));
+        long[] cents = measure(salaryService::getSalaryStatistics);
+        System.out.printf("Salary statistics over %d payments: doubles %d ms, %d bytes/payment; "
+                        + "cents %d ms, %d bytes/payment%n", PAYMENTS,
+                baseline[0] / 1_000_000, baseline[1] / PAYMENTS, cents[0] / 1_000_000, cents[1] / PAYMENTS);
+    }
+
+    /** Mean nanoseconds and bytes allocated by this thread per round, after one warm-up round. */
+    private static long[] measure(Runnable round) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        round.run();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[] {elapsed / ROUNDS, (threads.getCurrentThreadAllocatedBytes() - allocated) / ROUNDS};
+    }
+
+    private static double baselineTotal(List<Salary> payments) {
+        return payments.stream().mapToDouble(Salary::getAmount).sum();
+    }
+
+    /**
+     * The sums getSalaryStatistics used to make, one stream per figure, when payment dates
+     * were java.util.Date and went through a new SimpleDateFormat on every check.
+     */
+    private static double baselineStatistics(List<Salary> payments) {
+        double total = baselineTotal(payments);
+        for (int i = 5; i >= 0; i--) {
+            YearMonth yearMonth = YearMonth.now().minusMonths(i);
+            total += payments.stream()
+                    .filter(salary -> {
+                        Date datePaid = Date.from(salary.getDatePaid().atStartOfDay(ZoneId.systemDefault()).toInstant());
+                        LocalDate paidDate = LocalDate.parse(new SimpleDateFormat("yyyy-MM-dd").format(datePaid));
+                        return paidDate.getMonthValue() == yearMonth.getMonthValue()
+                                && paidDate.getYear() == yearMonth.getYear();
+                    })
+                    .mapToDouble(Salary::getAmount)
+                    .sum();
+        }
+        return total;
+    }
+}
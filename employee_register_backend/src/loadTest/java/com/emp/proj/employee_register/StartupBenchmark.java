@@ -0,0 +1,153 @@
+package com.emp.proj.employee_register;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Time to first request, run by the startupBenchmark Gradle task. Each start is a fresh JVM
+ * running the fast-start jar as it is deployed, timed from launching the process to the first
+ * successful answer from the API. Every mode is started once unmeasured, to warm the file
+ * cache, and the modes then take turns, so that anything else happening on the machine
+ * weighs on all of them alike. Results go to startup.json with the commit, JVM and settings
+ * they were measured with, like the load-test report.
+ */
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 10);
+    private static final String PATH = System.getProperty("startup.path", "/Employee_register/api/v1/employees");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    /** How the jar is started: the default is the reflective bootstrap with the default profile. */
+    record Mode(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    private static final List<Mode> MODES = List.of(
+            new Mode("default", List.of(), List.of()),
+            new Mode("aot", List.of("-Dspring.aot.enabled=true"), List.of("--spring.profiles.active=fast-start")),
+            new Mode("aot+cds", List.of("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true"),
+                    List.of("--spring.profiles.active=fast-start")));
+
+    private final File directory = new File(System.getProperty("startup.dir", "build/fast-start"));
+    private final String java = System.getProperty("startup.java", "java");
+    private final File reportDirectory = new File(System.getProperty("startup.report-dir", "build/reports/startup"));
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        reportDirectory.mkdirs();
+        Map<String, long[]> samples = new LinkedHashMap<>();
+        for (Mode mode : MODES) {
+            start(mode);
+            samples.put(mode.name(), new long[RUNS]);
+        }
+        for (int run = 0; run < RUNS; run++) {
+            for (Mode mode : MODES) {
+                samples.get(mode.name())[run] = start(mode);
+            }
+        }
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (Mode mode : MODES) {
+            long[] sorted = samples.get(mode.name()).clone();
+            Arrays.sort(sorted);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("jvmArgs", mode.jvmArgs());
+            report.put("appArgs", mode.appArgs());
+            report.put("medianMs", median(sorted));
+            report.put("minMs", sorted[0]);
+            report.put("maxMs", sorted[sorted.length - 1]);
+            report.put("samplesMs", samples.get(mode.name()));
+            modes.put(mode.name(), report);
+            System.out.printf("%-10s time to first request: median %6.0f ms  min %6d ms  max %6d ms%n",
+                    mode.name(), median(sorted), sorted[0], sorted[sorted.length - 1]);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", System.getProperty("startup.commit", ""));
+        report.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("runs", RUNS);
+        report.put("path", PATH);
+        report.put("modes", modes);
+        File file = new File(reportDirectory, "startup.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Startup report: " + file.getAbsolutePath());
+    }
+
+    /** Starts the jar, waits for its first answer and stops it again; returns the milliseconds in between. */
+    private long start(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs());
+        command.add("-jar");
+        command.add("app.jar");
+        command.addAll(mode.appArgs());
+        command.add("--server.port=" + port);
+        // Output is kept from the latest start of each mode, for when one does not come up
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(reportDirectory, mode.name() + ".log"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        long began = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (true) {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - began) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue()
+                            + ", see " + new File(reportDirectory, mode.name() + ".log"));
+                }
+                if (System.nanoTime() - began > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT);
+                }
+                Thread.sleep(5);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
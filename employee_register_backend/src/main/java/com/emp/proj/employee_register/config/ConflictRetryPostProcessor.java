@@ -0,0 +1,61 @@
+package com.emp.proj.employee_register.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.emp.proj.employee_register.services.RetryOnConflict;
+import com.emp.proj.employee_register.services.StaleVersionException;
+
+/**
+ * Applies {@link RetryOnConflict}. The retry advice is placed in front of the transaction
+ * advice on the same proxy, so every attempt runs in a transaction of its own. A
+ * {@link StaleVersionException} is passed straight on: the client has to re-read.
+ */
+@Component
+public class ConflictRetryPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public ConflictRetryPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class), new ConflictRetryInterceptor());
+        this.beforeExistingAdvisors = true;
+    }
+
+    static final class ConflictRetryInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return invocation.proceed();
+            }
+            RetryOnConflict retry = AnnotationUtils.findAnnotation(
+                    AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass()),
+                    RetryOnConflict.class);
+            int attempts = Math.max(retry.attempts(), 1);
+            long backoff = retry.backoffMillis();
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    // A fresh copy each time, so the transaction advice behind this one runs again.
+                    return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+                } catch (OptimisticLockingFailureException e) {
+                    if (e instanceof StaleVersionException || attempt >= attempts) {
+                        throw e;
+                    }
+                    Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1));
+                    backoff *= 2;
+                }
+            }
+        }
+    }
+}
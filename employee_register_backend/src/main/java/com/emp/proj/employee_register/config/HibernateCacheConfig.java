@@ -0,0 +1,73 @@
+package com.emp.proj.employee_register.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Second-level and query cache regions for Hibernate, backed by a local Ehcache JCache
+ * manager. Each region is bounded by entry count and has its own time-to-live, both
+ * overridable through cache.region.&lt;name&gt;.max-entries and .ttl-seconds.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String EMPLOYEE_REGION = "employee";
+    public static final String LOAN_REGISTRATION_REGION = "loan-registration";
+    public static final String EMPLOYEE_QUERY_REGION = "employee-queries";
+    public static final String LOAN_QUERY_REGION = "loan-queries";
+
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+    public static final List<String> REGIONS = List.of(
+            EMPLOYEE_REGION, LOAN_REGISTRATION_REGION, EMPLOYEE_QUERY_REGION, LOAN_QUERY_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment env) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(EMPLOYEE_REGION, region(env, EMPLOYEE_REGION, 10_000, Duration.ofMinutes(30)))
+                .withCache(LOAN_REGISTRATION_REGION, region(env, LOAN_REGISTRATION_REGION, 10_000, Duration.ofMinutes(30)))
+                .withCache(EMPLOYEE_QUERY_REGION, region(env, EMPLOYEE_QUERY_REGION, 200, Duration.ofMinutes(10)))
+                .withCache(LOAN_QUERY_REGION, region(env, LOAN_QUERY_REGION, 200, Duration.ofMinutes(10)))
+                .withCache(DEFAULT_QUERY_REGION, region(env, DEFAULT_QUERY_REGION, 200, Duration.ofMinutes(10)))
+                // Update timestamps drive query cache invalidation and must outlive the results they guard.
+                .withCache(UPDATE_TIMESTAMPS_REGION, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1_000))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration()));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        URI uri = URI.create("urn:employee-register:hibernate:" + System.identityHashCode(env));
+        return provider.getCacheManager(uri, configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CacheConfigurationBuilder<Object, Object> region(Environment env, String region,
+                                                            long defaultMaxEntries, Duration defaultTtl) {
+        long maxEntries = env.getProperty("cache.region." + region + ".max-entries", Long.class, defaultMaxEntries);
+        long ttlSeconds = env.getProperty("cache.region." + region + ".ttl-seconds", Long.class, defaultTtl.toSeconds());
+
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)));
+    }
+}
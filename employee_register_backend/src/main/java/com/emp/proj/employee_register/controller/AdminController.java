@@ -1,9 +1,30 @@
 package com.emp.proj.employee_register.controller;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.emp.proj.employee_register.services.IAdminService;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 public class AdminController {
+
+    @Autowired
+    private IAdminService adminService;
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(adminService.getCacheStatistics());
+    }
+
+    /** Published events, and per subscriber how many it has taken, missed and how far it lags. */
+    @GetMapping("/event-stats")
+    public ResponseEntity<Map<String, Object>> getEventStatistics() {
+        return ResponseEntity.ok(adminService.getEventStatistics());
+    }
 }
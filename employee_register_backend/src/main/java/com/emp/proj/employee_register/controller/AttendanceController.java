@@ -1,13 +1,25 @@
 package com.emp.proj.employee_register.controller;
 
 import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.services.ArchivedAttendanceException;
+import com.emp.proj.employee_register.services.AttendanceCalendar;
+import com.emp.proj.employee_register.services.AttendanceSetQuery;
+import com.emp.proj.employee_register.services.Dates;
 import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.ISalaryRateService;
+import com.emp.proj.employee_register.services.MarkAllRequest;
+import com.emp.proj.employee_register.services.TableVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,13 +28,41 @@ import java.util.Map;
 @RequestMapping("/api/v1/attendance")
 public class AttendanceController {
 
+    private static final int MAX_TOP_EMPLOYEES = 100;
+
     @Autowired
     private IAttendanceService attendanceService;
 
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
+    @Autowired
+    private TableVersions tableVersions;
+
     @PostMapping("")
     public ResponseEntity<Attendance> addAttendance(@RequestBody Attendance attendance) {
-        Attendance createdAttendance = attendanceService.addAttendance(attendance);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdAttendance);
+        try {
+            Attendance createdAttendance = attendanceService.addAttendance(attendance);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdAttendance);
+        } catch (DataIntegrityViolationException | ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PutMapping("/employee/{employeeId}/date/{date}")
+    public ResponseEntity<Attendance> saveAttendance(
+            @PathVariable int employeeId,
+            @PathVariable String date,
+            @RequestBody Attendance attendance) {
+        try {
+            return ResponseEntity.ok(attendanceService.upsertAttendance(employeeId, date, attendance));
+        } catch (ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
     }
 
     @PutMapping("/{attendanceId}")
@@ -31,23 +71,62 @@ public class AttendanceController {
             attendance.setId(attendanceId);
             Attendance updatedAttendance = attendanceService.updateAttendance(attendance);
             return ResponseEntity.ok(updatedAttendance);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(attendanceService.getAttendanceById(attendanceId));
+        } catch (ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @PostMapping("/date/{date}/mark-all")
+    public ResponseEntity<Map<String, Object>> markAllAttendance(
+            @PathVariable String date,
+            @RequestBody(required = false) MarkAllRequest request) {
+        try {
+            return ResponseEntity.ok(attendanceService.markAllAttendance(
+                    date, request != null ? request : new MarkAllRequest(null, null, null)));
+        } catch (ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /** Rewrites total salaries for [from, to) from the salary history, e.g. after a retroactive rate fix. */
+    @PostMapping("/recompute")
+    public ResponseEntity<Map<String, Object>> recomputeTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer employeeId) {
+        int rewritten = salaryRateService.recomputeTotals(from, to, employeeId);
+        return ResponseEntity.ok(Map.of("rewritten", rewritten));
+    }
+
     @GetMapping("")
-    public List<Attendance> getAllAttendance() {
+    public List<?> getAllAttendance(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return attendanceService.findAttendanceFields(fields, null, null);
+        }
         return attendanceService.findAll();
     }
 
     @GetMapping("/employee/{employeeId}")
-    public List<Attendance> getAttendanceByEmployeeId(@PathVariable int employeeId) {
+    public List<?> getAttendanceByEmployeeId(@PathVariable int employeeId, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return attendanceService.findAttendanceFields(fields, employeeId, null);
+        }
         return attendanceService.getAttendanceByEmployeeId(employeeId);
     }
 
     @GetMapping("/date/{date}")
-    public List<Attendance> getAttendanceByDate(@PathVariable String date) {
+    public List<?> getAttendanceByDate(@PathVariable String date, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return attendanceService.findAttendanceFields(fields, null, Dates.parse(date));
+        }
         return attendanceService.getAttendanceByDate(date);
     }
 
@@ -72,11 +151,76 @@ public class AttendanceController {
         try {
             Attendance updatedAttendance = attendanceService.updateOvertimeDetails(attendanceId, overtimeDescription, overtimeSalary, overtimeHours);
             return ResponseEntity.ok(updatedAttendance);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(attendanceService.getAttendanceById(attendanceId));
+        } catch (ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    @GetMapping("/today/counts")
+    public ResponseEntity<Map<String, Object>> getTodayCounts() {
+        return ResponseEntity.ok(attendanceService.getTodayCounts());
+    }
+
+    /** Overtime totals by employee and role, a monthly trend and hour percentiles; defaults to the last year. */
+    @GetMapping("/overtime/analytics")
+    public ResponseEntity<Map<String, Object>> getOvertimeAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int top) {
+        if (top < 1 || top > MAX_TOP_EMPLOYEES) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        try {
+            return ResponseEntity.ok(attendanceService.getOvertimeAnalytics(start, end, top));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /** Employee ids matching an AND / OR / NOT combination of per-day statuses; see {@link AttendanceSetQuery}. */
+    @PostMapping("/sets/query")
+    public ResponseEntity<Map<String, Object>> queryAttendanceSets(@RequestBody AttendanceSetQuery query) {
+        try {
+            return ResponseEntity.ok(attendanceService.queryAttendanceSets(query));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * A year of attendance for one employee in a few hundred bytes: a presence bitmap and
+     * two status bits per day, base64 encoded (see {@link AttendanceCalendar}). With
+     * {@code view=json} the same days come back as a date to status map instead.
+     */
+    @GetMapping("/calendar/{employeeId}/{year}")
+    public Map<String, Object> getAttendanceCalendar(
+            @PathVariable Integer employeeId,
+            @PathVariable int year,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.ATTENDANCE, employeeId + "/" + year + "/" + view)) {
+            return null;
+        }
+        AttendanceCalendar calendar = attendanceService.getAttendanceCalendar(employeeId, year);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("employeeId", calendar.getEmployeeId());
+        body.put("year", calendar.getYear());
+        body.put("days", calendar.getDays());
+        if ("json".equals(view)) {
+            body.put("statuses", calendar.statusByDate());
+        } else {
+            body.put("encoding", "presence-bitmap+2bit-status");
+            body.put("data", calendar.base64());
+        }
+        return body;
+    }
+
     @GetMapping("/monthly/{employeeId}/{month}/{year}")
     public ResponseEntity<Map<String, Object>> getMonthlyAttendanceSummary(
             @PathVariable int employeeId,
@@ -88,8 +232,12 @@ public class AttendanceController {
 
     @DeleteMapping("/{attendanceId}")
     public ResponseEntity<Void> deleteAttendance(@PathVariable Integer attendanceId) {
-        if (attendanceService.deleteAttendance(attendanceId)) {
-            return ResponseEntity.noContent().build();
+        try {
+            if (attendanceService.deleteAttendance(attendanceId)) {
+                return ResponseEntity.noContent().build();
+            }
+        } catch (ArchivedAttendanceException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
@@ -0,0 +1,25 @@
+package com.emp.proj.employee_register.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.emp.proj.employee_register.services.ChangeFeed;
+
+@RestController
+@RequestMapping("/api/v1/stream")
+public class ChangeStreamController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    /** Committed attendance, salary, loan, repayment and employee changes, as they happen. */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.connect(lastEventId);
+    }
+}
@@ -1,8 +1,20 @@
 package com.emp.proj.employee_register.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,36 +25,106 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.SalaryRate;
+import com.emp.proj.employee_register.services.FieldProjectionService;
 import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ISalaryRateService;
+import com.emp.proj.employee_register.services.TableVersions;
 
 @CrossOrigin("*")
 @RestController
 @RequestMapping("/api/v1/employees")
 public class EmployeeController {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "role", "joinDate", "baseSalary", "status");
+
     @Autowired
     private IEmployeeService employeeService;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
     @PostMapping("")
     public ResponseEntity<Employee> addEmployee(@RequestBody Employee employee) {
         Employee createdEmployee = employeeService.addEmployee(employee);
         return ResponseEntity.ok(createdEmployee);
     }
 
+    /**
+     * Without parameters this is the full list. Any filter, page, size or sort parameter
+     * switches to a server-side filtered, sorted page, e.g.
+     * ?status=active&role=driver&joinedFrom=2024-01-01&minSalary=500&sort=name,asc&page=0&size=20
+     */
     @GetMapping("")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String fields,
+                                             @RequestParam(required = false) String status,
+                                             @RequestParam(required = false) String role,
+                                             @RequestParam(required = false) String search,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+                                             @RequestParam(required = false) Double minSalary,
+                                             @RequestParam(required = false) Double maxSalary,
+                                             @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                             WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.EMPLOYEES, queryVariant(request))) {
+            return null;
+        }
+
+        boolean paged = request.getParameter("page") != null || request.getParameter("size") != null
+                || request.getParameter("sort") != null;
+        if (paged || status != null || role != null || search != null || joinedFrom != null || joinedTo != null
+                || minSalary != null || maxSalary != null) {
+            for (Sort.Order order : pageable.getSort()) {
+                if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Cannot sort by '" + order.getProperty() + "'. Sortable fields: " + SORTABLE_PROPERTIES);
+                }
+            }
+            return ResponseEntity.ok(employeeService.filterEmployees(status, role, search, joinedFrom, joinedTo,
+                    minSalary, maxSalary, pageable));
+        }
+
+        if (fields != null) {
+            return ResponseEntity.ok(fieldProjectionService.findFields(Employee.class, fields));
+        }
         List<Employee> employees = employeeService.getAllEmployees();
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Employee>> getAllActiveEmployees() {
+    public ResponseEntity<List<?>> getAllActiveEmployees(@RequestParam(required = false) String fields, WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.EMPLOYEES, fields)) {
+            return null;
+        }
+        if (fields != null) {
+            return ResponseEntity.ok(fieldProjectionService.findFields(Employee.class, fields, Map.of("status", "active")));
+        }
         List<Employee> employees = employeeService.getAllActiveEmployees();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Page<Employee>> searchEmployees(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 200) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.searchEmployees(q, PageRequest.of(page, size)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable Integer id) {
         Employee employee = employeeService.getEmployeeById(id);
@@ -55,6 +137,9 @@ public class EmployeeController {
             employee.setId(id);
             Employee updatedEmployee = employeeService.updateEmployee(employee);
             return ResponseEntity.ok(updatedEmployee);
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+            // A concurrent salary change may have added today's rate first.
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(employeeService.getEmployeeById(id));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -65,6 +150,40 @@ public class EmployeeController {
         try {
             Employee updatedEmployee = employeeService.updateEmployeeStatus(id, status);
             return ResponseEntity.ok(updatedEmployee);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(employeeService.getEmployeeById(id));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /** Employee, latest salary, active loans and this month's attendance in one primary-key read. */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<Map<String, Object>> getEmployeeOverview(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeeOverview(id));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @GetMapping("/{id}/salary-rates")
+    public ResponseEntity<List<SalaryRate>> getSalaryRates(@PathVariable Integer id) {
+        return ResponseEntity.ok(salaryRateService.getRates(id));
+    }
+
+    /** Adds a rate or corrects an existing one; attendance totals it governs are recomputed. */
+    @PutMapping("/{id}/salary-rates/{effectiveFrom}")
+    public ResponseEntity<SalaryRate> setSalaryRate(
+            @PathVariable Integer id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveFrom,
+            @RequestBody SalaryRate rate) {
+        try {
+            return ResponseEntity.ok(salaryRateService.setRate(id, effectiveFrom, rate.getBaseSalary()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -77,4 +196,15 @@ public class EmployeeController {
         }
         return "Employee Not Found";
     }
+
+    /** Distinguishes the representations served from one URL so each gets its own ETag. */
+    private static String queryVariant(WebRequest request) {
+        if (request.getParameterMap().isEmpty()) {
+            return null;
+        }
+        StringBuilder variant = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                variant.append(name).append('=').append(String.join(",", values)).append('&'));
+        return variant.toString();
+    }
 }
@@ -1,13 +1,18 @@
 package com.emp.proj.employee_register.controller;
 
 import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.services.FieldProjectionService;
 import com.emp.proj.employee_register.services.ILoanRegistrationService;
+import com.emp.proj.employee_register.services.TableVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @CrossOrigin("*")
 @RestController
@@ -17,6 +22,12 @@ public class LoanRegistrationController {
     @Autowired
     private ILoanRegistrationService loanRegistrationService;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
     @PostMapping("")
     public ResponseEntity<LoanRegistration> registerLoan(@RequestBody LoanRegistration loanRegistration) {
         LoanRegistration registeredLoan = loanRegistrationService.registerLoan(loanRegistration);
@@ -24,12 +35,24 @@ public class LoanRegistrationController {
     }
 
     @GetMapping("")
-    public List<LoanRegistration> getAllLoans() {
+    public List<?> getAllLoans(@RequestParam(required = false) String fields, WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.LOANS, fields)) {
+            return null;
+        }
+        if (fields != null) {
+            return fieldProjectionService.findFields(LoanRegistration.class, fields);
+        }
         return loanRegistrationService.getAllLoans();
     }
 
     @GetMapping("/active")
-    public List<LoanRegistration> getAllActiveLoans() {
+    public List<?> getAllActiveLoans(@RequestParam(required = false) String fields, WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.LOANS, fields)) {
+            return null;
+        }
+        if (fields != null) {
+            return fieldProjectionService.findFields(LoanRegistration.class, fields, Map.of("status", "active"));
+        }
         return loanRegistrationService.getActiveLoans();
     }
 
@@ -58,6 +81,8 @@ public class LoanRegistrationController {
             loan.setLoanId(id);
             LoanRegistration updatedLoan = loanRegistrationService.updateLoan(loan);
             return ResponseEntity.ok(updatedLoan);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(loanRegistrationService.getLoanById(id));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -68,6 +93,8 @@ public class LoanRegistrationController {
         try {
             LoanRegistration updatedLoan = loanRegistrationService.updateLoanStatus(id, status);
             return ResponseEntity.ok(updatedLoan);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(loanRegistrationService.getLoanById(id));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -1,8 +1,10 @@
 package com.emp.proj.employee_register.controller;
 
 import com.emp.proj.employee_register.entities.LoanRepay;
+import com.emp.proj.employee_register.services.FieldProjectionService;
 import com.emp.proj.employee_register.services.ILoanRepayService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,9 @@ public class LoanRepayController {
     @Autowired
     private ILoanRepayService loanRepayService;
 
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
     @PostMapping("")
     public ResponseEntity<LoanRepay> addRepayment(@RequestBody LoanRepay loanRepay) {
         LoanRepay createdRepayment = loanRepayService.addRepayment(loanRepay);
@@ -24,7 +29,10 @@ public class LoanRepayController {
     }
 
     @GetMapping("")
-    public List<LoanRepay> getAllRepayments() {
+    public List<?> getAllRepayments(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return fieldProjectionService.findFields(LoanRepay.class, fields);
+        }
         return loanRepayService.getAllRepayments();
     }
 
@@ -53,6 +61,8 @@ public class LoanRepayController {
             loanRepay.setId(id);
             LoanRepay updatedRepayment = loanRepayService.updateRepayment(loanRepay);
             return ResponseEntity.ok(updatedRepayment);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(loanRepayService.getRepaymentById(id));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -14,10 +15,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.services.BulkNotificationJob;
+import com.emp.proj.employee_register.services.BulkSalaryNotificationService;
+import com.emp.proj.employee_register.services.FieldProjectionService;
 import com.emp.proj.employee_register.services.ISalaryService;
+import com.emp.proj.employee_register.services.TableVersions;
 
 @CrossOrigin("*")
 @RestController
@@ -27,6 +34,15 @@ public class SalaryController {
     @Autowired
     private ISalaryService salaryService;
 
+    @Autowired
+    private BulkSalaryNotificationService bulkSalaryNotificationService;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
     @PostMapping("")
     public ResponseEntity<Salary> addSalary(@RequestBody Salary salary) {
         Salary createdSalary = salaryService.addSalary(salary);
@@ -34,7 +50,13 @@ public class SalaryController {
     }
 
     @GetMapping("")
-    public List<Salary> getAllSalaries() {
+    public List<?> getAllSalaries(@RequestParam(required = false) String fields, WebRequest request) {
+        if (tableVersions.checkNotModified(request, TableVersions.Table.SALARIES, fields)) {
+            return null;
+        }
+        if (fields != null) {
+            return fieldProjectionService.findFields(Salary.class, fields);
+        }
         return salaryService.getAllSalaries();
     }
 
@@ -67,12 +89,29 @@ public class SalaryController {
         return ResponseEntity.ok(statistics);
     }
 
+    @PostMapping("/notifications")
+    public ResponseEntity<BulkNotificationJob> notifySalaries(@RequestBody List<Integer> salaryIds) {
+        BulkNotificationJob job = bulkSalaryNotificationService.notifySalaries(salaryIds);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/notifications/{jobId}")
+    public ResponseEntity<BulkNotificationJob> getNotificationJob(@PathVariable String jobId) {
+        BulkNotificationJob job = bulkSalaryNotificationService.getJob(jobId);
+        if (job != null) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Salary> updateSalary(@PathVariable int id, @RequestBody Salary salary) {
         try {
             salary.setId(id);
             Salary updatedSalary = salaryService.updateSalary(salary);
             return ResponseEntity.ok(updatedSalary);
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(salaryService.getSalaryById(id));
         } catch (RuntimeException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
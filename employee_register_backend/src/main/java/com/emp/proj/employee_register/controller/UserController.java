@@ -3,6 +3,7 @@ package com.emp.proj.employee_register.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -68,6 +69,9 @@ public class UserController {
             System.out.println("User updated with ID: " + updatedUser.getUserId());
 
             return ResponseEntity.ok(updatedUser);
+        } catch (OptimisticLockingFailureException ex) {
+            System.out.println("Conflicting update for user ID: " + id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(userService.getUserById(id));
         } catch (RuntimeException ex) {
             System.out.println("Error updating user: " + ex.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
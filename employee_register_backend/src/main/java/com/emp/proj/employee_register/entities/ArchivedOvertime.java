@@ -0,0 +1,79 @@
+package com.emp.proj.employee_register.entities;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+
+/**
+ * The overtime figures of an attendance row that was moved to the archive files, kept
+ * under the row's original id so overtime analytics can still span closed months in SQL.
+ */
+@Entity
+@AllArgsConstructor
+@Table(name = "archived_overtime", indexes = @Index(name = "idx_archived_overtime_date", columnList = "date"))
+public class ArchivedOvertime {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "emp_id")
+    private Integer employeeId;
+
+    private LocalDate date;
+
+    @Column(name = "overtime_hours")
+    private Double overtimeHours;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "overtime_salary")
+    private Double overtimeSalary;
+
+    public ArchivedOvertime() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Double getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    public void setOvertimeHours(Double overtimeHours) {
+        this.overtimeHours = overtimeHours;
+    }
+
+    public Double getOvertimeSalary() {
+        return overtimeSalary;
+    }
+
+    public void setOvertimeSalary(Double overtimeSalary) {
+        this.overtimeSalary = overtimeSalary;
+    }
+}
@@ -1,20 +1,29 @@
 package com.emp.proj.employee_register.entities;
 
-import java.util.Date;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
 @AllArgsConstructor
-@Table(name = "attendance")
+@Table(name = "attendance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_emp_date", columnNames = { "emp_id", "date" }),
+        indexes = {
+                @Index(name = "idx_attendance_status_date", columnList = "status, date"),
+                @Index(name = "idx_attendance_emp_date_status", columnList = "emp_id, date, status")
+        })
 public class Attendance {
 
     @Id
@@ -24,14 +33,14 @@ public class Attendance {
     @Column(name = "emp_id")
     private Integer employeeId;
 
-    @Temporal(TemporalType.DATE)
-    private Date date;
+    private LocalDate date;
 
     private String status;
 
     @Column(name = "overtime_description")
     private String overtimeDescription;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "overtime_salary")
     private Double overtimeSalary;
 
@@ -40,13 +49,19 @@ public class Attendance {
 
     private String description;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_salary")
     private Double totalSalary;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public Attendance() {
     }
 
-    public Attendance(Integer employeeId, Date date, String status,
+    public Attendance(Integer employeeId, LocalDate date, String status,
                       String overtimeDescription, Double overtimeSalary, Double overtimeHours,
                       String description, Double totalSalary) {
         this.employeeId = employeeId;
@@ -75,11 +90,11 @@ public class Attendance {
         this.employeeId = employeeId;
     }
 
-    public Date getDate() {
+    public LocalDate getDate() {
         return date;
     }
 
-    public void setDate(Date date) {
+    public void setDate(LocalDate date) {
         this.date = date;
     }
 
@@ -130,4 +145,12 @@ public class Attendance {
     public void setTotalSalary(Double totalSalary) {
         this.totalSalary = totalSalary;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
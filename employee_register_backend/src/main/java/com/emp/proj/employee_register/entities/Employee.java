@@ -1,19 +1,33 @@
 package com.emp.proj.employee_register.entities;
 
-import java.util.Date;
+import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EMPLOYEE_REGION)
 @AllArgsConstructor
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_status", columnList = "status"),
+        @Index(name = "idx_employees_role", columnList = "role"),
+        @Index(name = "idx_employees_join_date", columnList = "join_date")
+})
 public class Employee {
 
     @Id
@@ -22,20 +36,25 @@ public class Employee {
 
     private String name;
     private String phoneNo;
+    private String email;
     private String address;
     private String role;
 
-    @Temporal(TemporalType.DATE)
-    private Date joinDate;
+    private LocalDate joinDate;
 
     private Double baseSalary;
     private String status; 
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public Employee() {
     }
 
     public Employee(String name, String phoneNo, String address, String role,
-                    Date joinDate, Double baseSalary, String status) {
+                    LocalDate joinDate, Double baseSalary, String status) {
         this.name = name;
         this.phoneNo = phoneNo;
         this.address = address;
@@ -69,6 +88,14 @@ public class Employee {
         this.phoneNo = phoneNo;
     }
 
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
     public String getAddress() {
         return address;
     }
@@ -85,11 +112,11 @@ public class Employee {
         this.role = role;
     }
 
-    public Date getJoinDate() {
+    public LocalDate getJoinDate() {
         return joinDate;
     }
 
-    public void setJoinDate(Date joinDate) {
+    public void setJoinDate(LocalDate joinDate) {
         this.joinDate = joinDate;
     }
 
@@ -108,4 +135,12 @@ public class Employee {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,262 @@
+package com.emp.proj.employee_register.entities;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Read model behind the employee detail view: one row per employee holding the employee,
+ * their latest salary payment, active loans with the balance still owed, and this month's
+ * attendance. Never written through JPA; IEmployeeOverviewRepository refreshes each group
+ * of columns in SQL after the writes that affect it commit.
+ */
+@Entity
+@Table(name = "employee_overview")
+public class EmployeeOverview {
+
+    @Id
+    @Column(name = "emp_id")
+    private Integer employeeId;
+
+    private String name;
+    private String phoneNo;
+    private String email;
+    private String role;
+    private String status;
+
+    @Column(name = "join_date")
+    private LocalDate joinDate;
+
+    @Column(name = "base_salary")
+    private Double baseSalary;
+
+    @Column(name = "latest_salary_id")
+    private Integer latestSalaryId;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "latest_salary_amount")
+    private Double latestSalaryAmount;
+
+    @Column(name = "latest_salary_date")
+    private LocalDate latestSalaryDate;
+
+    @Column(name = "latest_payment_type")
+    private String latestPaymentType;
+
+    @Column(name = "active_loans")
+    private Integer activeLoans;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "active_loan_amount")
+    private Double activeLoanAmount;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "outstanding_balance")
+    private Double outstandingBalance;
+
+    @Column(name = "mtd_month")
+    private LocalDate mtdMonth;
+
+    @Column(name = "mtd_present")
+    private Integer mtdPresent;
+
+    @Column(name = "mtd_absent")
+    private Integer mtdAbsent;
+
+    @Column(name = "mtd_halfday")
+    private Integer mtdHalfday;
+
+    @Column(name = "mtd_overtime")
+    private Integer mtdOvertime;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "mtd_earned")
+    private Double mtdEarned;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public EmployeeOverview() {
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPhoneNo() {
+        return phoneNo;
+    }
+
+    public void setPhoneNo(String phoneNo) {
+        this.phoneNo = phoneNo;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getJoinDate() {
+        return joinDate;
+    }
+
+    public void setJoinDate(LocalDate joinDate) {
+        this.joinDate = joinDate;
+    }
+
+    public Double getBaseSalary() {
+        return baseSalary;
+    }
+
+    public void setBaseSalary(Double baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+
+    public Integer getLatestSalaryId() {
+        return latestSalaryId;
+    }
+
+    public void setLatestSalaryId(Integer latestSalaryId) {
+        this.latestSalaryId = latestSalaryId;
+    }
+
+    public Double getLatestSalaryAmount() {
+        return latestSalaryAmount;
+    }
+
+    public void setLatestSalaryAmount(Double latestSalaryAmount) {
+        this.latestSalaryAmount = latestSalaryAmount;
+    }
+
+    public LocalDate getLatestSalaryDate() {
+        return latestSalaryDate;
+    }
+
+    public void setLatestSalaryDate(LocalDate latestSalaryDate) {
+        this.latestSalaryDate = latestSalaryDate;
+    }
+
+    public String getLatestPaymentType() {
+        return latestPaymentType;
+    }
+
+    public void setLatestPaymentType(String latestPaymentType) {
+        this.latestPaymentType = latestPaymentType;
+    }
+
+    public Integer getActiveLoans() {
+        return activeLoans;
+    }
+
+    public void setActiveLoans(Integer activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
+    public Double getActiveLoanAmount() {
+        return activeLoanAmount;
+    }
+
+    public void setActiveLoanAmount(Double activeLoanAmount) {
+        this.activeLoanAmount = activeLoanAmount;
+    }
+
+    public Double getOutstandingBalance() {
+        return outstandingBalance;
+    }
+
+    public void setOutstandingBalance(Double outstandingBalance) {
+        this.outstandingBalance = outstandingBalance;
+    }
+
+    public LocalDate getMtdMonth() {
+        return mtdMonth;
+    }
+
+    public void setMtdMonth(LocalDate mtdMonth) {
+        this.mtdMonth = mtdMonth;
+    }
+
+    public Integer getMtdPresent() {
+        return mtdPresent;
+    }
+
+    public void setMtdPresent(Integer mtdPresent) {
+        this.mtdPresent = mtdPresent;
+    }
+
+    public Integer getMtdAbsent() {
+        return mtdAbsent;
+    }
+
+    public void setMtdAbsent(Integer mtdAbsent) {
+        this.mtdAbsent = mtdAbsent;
+    }
+
+    public Integer getMtdHalfday() {
+        return mtdHalfday;
+    }
+
+    public void setMtdHalfday(Integer mtdHalfday) {
+        this.mtdHalfday = mtdHalfday;
+    }
+
+    public Integer getMtdOvertime() {
+        return mtdOvertime;
+    }
+
+    public void setMtdOvertime(Integer mtdOvertime) {
+        this.mtdOvertime = mtdOvertime;
+    }
+
+    public Double getMtdEarned() {
+        return mtdEarned;
+    }
+
+    public void setMtdEarned(Double mtdEarned) {
+        this.mtdEarned = mtdEarned;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,18 +1,27 @@
 package com.emp.proj.employee_register.entities;
 
-import java.util.Date;
+import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.LOAN_REGISTRATION_REGION)
 @AllArgsConstructor
 @Table(name = "loan_registrations")
 public class LoanRegistration {
@@ -25,10 +34,10 @@ public class LoanRegistration {
     @Column(name = "emp_id")
     private Integer employeeId;
 
-    @Temporal(TemporalType.DATE)
     @Column(name = "loan_date")
-    private Date loanDate;
+    private LocalDate loanDate;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "loan_amount")
     private Double loanAmount;
 
@@ -36,10 +45,15 @@ public class LoanRegistration {
 
     private String status; 
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public LoanRegistration() {
     }
 
-    public LoanRegistration(Integer employeeId, Date loanDate,
+    public LoanRegistration(Integer employeeId, LocalDate loanDate,
                             Double loanAmount, String reason, String status) {
         this.employeeId = employeeId;
         this.loanDate = loanDate;
@@ -64,11 +78,11 @@ public class LoanRegistration {
         this.employeeId = employeeId;
     }
 
-    public Date getLoanDate() {
+    public LocalDate getLoanDate() {
         return loanDate;
     }
 
-    public void setLoanDate(Date loanDate) {
+    public void setLoanDate(LocalDate loanDate) {
         this.loanDate = loanDate;
     }
 
@@ -95,4 +109,12 @@ public class LoanRegistration {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
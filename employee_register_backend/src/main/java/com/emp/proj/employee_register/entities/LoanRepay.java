@@ -1,15 +1,17 @@
 package com.emp.proj.employee_register.entities;
 
-import java.util.Date;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
@@ -27,17 +29,22 @@ public class LoanRepay {
     @Column(name = "emp_id")
     private Integer employeeId;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "repay_amount")
     private Double repayAmount;
 
-    @Temporal(TemporalType.DATE)
     @Column(name = "repay_date")
-    private Date repayDate;
+    private LocalDate repayDate;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     public LoanRepay() {
     }
 
-    public LoanRepay(Integer loanId, Integer employeeId, Double repayAmount, Date repayDate) {
+    public LoanRepay(Integer loanId, Integer employeeId, Double repayAmount, LocalDate repayDate) {
         this.loanId = loanId;
         this.employeeId = employeeId;
         this.repayAmount = repayAmount;
@@ -76,11 +83,19 @@ public class LoanRepay {
         this.repayAmount = repayAmount;
     }
 
-    public Date getRepayDate() {
+    public LocalDate getRepayDate() {
         return repayDate;
     }
 
-    public void setRepayDate(Date repayDate) {
+    public void setRepayDate(LocalDate repayDate) {
         this.repayDate = repayDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
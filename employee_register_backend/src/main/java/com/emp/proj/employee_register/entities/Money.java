@@ -0,0 +1,35 @@
+package com.emp.proj.employee_register.entities;
+
+/**
+ * Amounts of money are held in minor units (cents) wherever they are stored or added up:
+ * BIGINT columns through {@link MoneyConverter}, and long sums in the services, so totals
+ * and loan payoff comparisons are exact. Entities and the API keep them as Double in major
+ * units; these methods convert between the two.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /** For sums: a missing amount counts as zero. */
+    public static long centsOf(Double amount) {
+        return amount != null ? toCents(amount) : 0;
+    }
+
+    public static Long toCentsOrNull(Double amount) {
+        return amount != null ? toCents(amount) : null;
+    }
+
+    public static double toAmount(long cents) {
+        return cents / 100.0;
+    }
+
+    /** The amount as it will read back once stored. */
+    public static double round(double amount) {
+        return toAmount(toCents(amount));
+    }
+}
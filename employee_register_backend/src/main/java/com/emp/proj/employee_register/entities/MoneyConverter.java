@@ -0,0 +1,19 @@
+package com.emp.proj.employee_register.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Stores an amount in major units as a BIGINT of minor units; see {@link Money}. */
+@Converter
+public class MoneyConverter implements AttributeConverter<Double, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Double amount) {
+        return Money.toCentsOrNull(amount);
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Long cents) {
+        return cents != null ? Money.toAmount(cents) : null;
+    }
+}
@@ -1,15 +1,17 @@
 package com.emp.proj.employee_register.entities;
 
-import java.util.Date;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
@@ -24,24 +26,28 @@ public class Salary {
     @Column(name = "emp_id")
     private Integer employeeId;
 
-    @Temporal(TemporalType.DATE)
     @Column(name = "date_paid")
-    private Date datePaid;
+    private LocalDate datePaid;
 
     @Column(name = "payment_type")
     private String paymentType;
 
+    @Convert(converter = MoneyConverter.class)
     private Double amount;
 
-    @Temporal(TemporalType.DATE)
     @Column(name = "last_salary_date")
-    private Date lastSalaryDate;
+    private LocalDate lastSalaryDate;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     public Salary() {
     }
 
-    public Salary(Integer employeeId, Date datePaid, String paymentType,
-                  Double amount, Date lastSalaryDate) {
+    public Salary(Integer employeeId, LocalDate datePaid, String paymentType,
+                  Double amount, LocalDate lastSalaryDate) {
         this.employeeId = employeeId;
         this.datePaid = datePaid;
         this.paymentType = paymentType;
@@ -65,11 +71,11 @@ public class Salary {
         this.employeeId = employeeId;
     }
 
-    public Date getDatePaid() {
+    public LocalDate getDatePaid() {
         return datePaid;
     }
 
-    public void setDatePaid(Date datePaid) {
+    public void setDatePaid(LocalDate datePaid) {
         this.datePaid = datePaid;
     }
 
@@ -89,11 +95,19 @@ public class Salary {
         this.amount = amount;
     }
 
-    public Date getLastSalaryDate() {
+    public LocalDate getLastSalaryDate() {
         return lastSalaryDate;
     }
 
-    public void setLastSalaryDate(Date lastSalaryDate) {
+    public void setLastSalaryDate(LocalDate lastSalaryDate) {
         this.lastSalaryDate = lastSalaryDate;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,93 @@
+package com.emp.proj.employee_register.entities;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+
+/**
+ * An employee's base salary from effectiveFrom until the next rate takes over.
+ * Employee.baseSalary mirrors the rate in effect today.
+ */
+@Entity
+@AllArgsConstructor
+@Table(name = "salary_rates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_salary_rates_emp_from", columnNames = { "emp_id", "effective_from" }))
+public class SalaryRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "emp_id")
+    private Integer employeeId;
+
+    @Column(name = "effective_from")
+    private LocalDate effectiveFrom;
+
+    @Column(name = "base_salary")
+    private Double baseSalary;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public SalaryRate() {
+    }
+
+    public SalaryRate(Integer employeeId, LocalDate effectiveFrom, Double baseSalary) {
+        this.employeeId = employeeId;
+        this.effectiveFrom = effectiveFrom;
+        this.baseSalary = baseSalary;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public Double getBaseSalary() {
+        return baseSalary;
+    }
+
+    public void setBaseSalary(Double baseSalary) {
+        this.baseSalary = baseSalary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,42 @@
+package com.emp.proj.employee_register.entities;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Stores an email's template values as a JSON object of strings. */
+@Converter
+public class TemplateValuesConverter implements AttributeConverter<Map<String, String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> TYPE = new TypeReference<>() { };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Template values cannot be stored", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Stored template values are not valid JSON", e);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.emp.proj.employee_register.entities;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 
 @Entity
@@ -28,6 +31,11 @@ public class User {
 
     private String role;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public User() {
     }
 
@@ -77,4 +85,12 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
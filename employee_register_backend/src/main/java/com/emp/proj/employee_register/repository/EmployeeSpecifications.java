@@ -0,0 +1,60 @@
+package com.emp.proj.employee_register.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.emp.proj.employee_register.entities.Employee;
+
+/**
+ * Composable filters for the employee list. Each one maps onto an indexed column
+ * (status, role, join_date) or a plain range check, and a null argument means "no filter".
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Employee> hasRole(String role) {
+        return (root, query, cb) -> role == null ? null : cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<Employee> joinedBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("joinDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("joinDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("joinDate"), to);
+        };
+    }
+
+    public static Specification<Employee> salaryBetween(Double min, Double max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("baseSalary"), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get("baseSalary"), min);
+            }
+            return max == null ? null : cb.lessThanOrEqualTo(root.get("baseSalary"), max);
+        };
+    }
+
+    /** Restrict to the given ids, e.g. the hits of a search; an empty collection matches nothing. */
+    public static Specification<Employee> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> {
+            if (ids == null) {
+                return null;
+            }
+            return ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+        };
+    }
+}
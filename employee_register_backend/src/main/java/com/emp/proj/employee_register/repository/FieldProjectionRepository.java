@@ -0,0 +1,71 @@
+package com.emp.proj.employee_register.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Tuple projections over any entity: selects only the requested attributes, so
+ * unrequested columns are neither read from the database nor serialized.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Set<String> attributeNames(Class<?> entityClass) {
+        return entityManager.getMetamodel().entity(entityClass).getSingularAttributes().stream()
+                .map(Attribute::getName)
+                .collect(Collectors.toSet());
+    }
+
+    public List<Map<String, Object>> findFields(Class<?> entityClass, List<String> fields, Map<String, Object> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            predicates.add(cb.equal(root.get(filter.getKey()), filter.getValue()));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        query.orderBy(cb.asc(root.get(entityType.getId(entityType.getIdType().getJavaType()).getName())));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,32 +1,155 @@
 package com.emp.proj.employee_register.repository;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.emp.proj.employee_register.entities.Attendance;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface IAttendanceRepository extends JpaRepository<Attendance, Integer> {
 
     List<Attendance> findByEmployeeId(Integer employeeId);
 
-    List<Attendance> findByDate(Date date);
+    List<Attendance> findByDate(LocalDate date);
 
-    Attendance findByEmployeeIdAndDate(Integer employeeId, Date date);
+    Attendance findByEmployeeIdAndDate(Integer employeeId, LocalDate date);
 
     List<Attendance> findByEmployeeIdAndStatus(Integer employeeId, String status);
 
     List<Attendance> findByStatus(String status);
 
+    @Query("SELECT a.status FROM Attendance a WHERE a.employeeId = :employeeId AND a.date = :date")
+    String findStatusByEmployeeIdAndDate(@Param("employeeId") Integer employeeId, @Param("date") LocalDate date);
+
+    @Query("SELECT a.date, a.status, a.employeeId FROM Attendance a")
+    List<Object[]> findAllStatuses();
+
+    @Query("SELECT a.status, a.employeeId FROM Attendance a WHERE a.date = :date")
+    List<Object[]> findStatusesByDate(@Param("date") LocalDate date);
+
+    @Query("SELECT a.date, a.status, COUNT(a) FROM Attendance a WHERE a.date >= :from GROUP BY a.date, a.status")
+    List<Object[]> countByDateAndStatusSince(@Param("from") LocalDate from);
+
     @Query("SELECT a FROM Attendance a WHERE a.employeeId = :employeeId AND MONTH(a.date) = :month AND YEAR(a.date) = :year")
     List<Attendance> findByEmployeeIdAndMonthAndYear(
             @Param("employeeId") Integer employeeId,
             @Param("month") Integer month,
             @Param("year") Integer year
     );
+
+    /** Only the columns of idx_attendance_emp_date_status, so the scan never reads the table rows. */
+    @Query("SELECT a.date, a.status FROM Attendance a WHERE a.employeeId = :employeeId AND a.date >= :from AND a.date < :to")
+    List<Object[]> findCalendarEntries(@Param("employeeId") Integer employeeId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(a.date) FROM Attendance a")
+    LocalDate findEarliestDate();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.date >= :from AND a.date < :to")
+    List<Attendance> findForTiering(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Keeps the overtime figures of rows about to be tiered, for analytics over closed months. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "archived_overtime"))
+    @Query(value = "INSERT INTO archived_overtime (id, emp_id, date, overtime_hours, overtime_salary) "
+            + "SELECT a.id, a.emp_id, a.date, a.overtime_hours, a.overtime_salary FROM attendance a "
+            + "WHERE a.status = 'overtime' AND a.date >= :from AND a.date < :to AND a.id <= :maxId "
+            + "AND NOT EXISTS (SELECT 1 FROM archived_overtime o WHERE o.id = a.id)", nativeQuery = true)
+    int copyOvertimeForTiering(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("maxId") Integer maxId);
+
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.date >= :from AND a.date < :to AND a.id <= :maxId")
+    int deleteTiered(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("maxId") Integer maxId);
+
+    /**
+     * Inserts or updates the row for (emp_id, date) in one statement; the unique key
+     * uk_attendance_emp_date makes the MATCHED branch the only one that can apply twice.
+     * An update bumps the row's version, as a JPA update would. Amounts are in cents.
+     * The native-spaces hint keeps Hibernate from evicting unrelated cache regions.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attendance"))
+    @Query(value = "MERGE INTO attendance a "
+            + "USING (VALUES (:employeeId, :date)) s(emp_id, date) "
+            + "ON a.emp_id = s.emp_id AND a.date = s.date "
+            + "WHEN MATCHED THEN UPDATE SET status = :status, description = :description, "
+            + "overtime_description = :overtimeDescription, overtime_salary = :overtimeSalary, "
+            + "overtime_hours = :overtimeHours, total_salary = :totalSalary, version = a.version + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (emp_id, date, status, description, overtime_description, "
+            + "overtime_salary, overtime_hours, total_salary) "
+            + "VALUES (s.emp_id, s.date, :status, :description, :overtimeDescription, "
+            + ":overtimeSalary, :overtimeHours, :totalSalary)", nativeQuery = true)
+    int upsert(@Param("employeeId") Integer employeeId,
+               @Param("date") LocalDate date,
+               @Param("status") String status,
+               @Param("description") String description,
+               @Param("overtimeDescription") String overtimeDescription,
+               @Param("overtimeSalary") Long overtimeSalaryCents,
+               @Param("overtimeHours") Double overtimeHours,
+               @Param("totalSalary") Long totalSalaryCents);
+
+    /**
+     * Gives every active employee without a row for the date the same status, with the
+     * total salary taken in SQL from the salary rate in effect on that date and rounded to
+     * cents. Returns the number of rows inserted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attendance"))
+    @Query(value = "INSERT INTO attendance (emp_id, date, status, description, total_salary) "
+            + "SELECT e.id, :date, :status, :description, CAST(ROUND(COALESCE("
+            + "(SELECT r.base_salary FROM salary_rates r WHERE r.emp_id = e.id AND r.effective_from <= :date "
+            + "ORDER BY r.effective_from DESC LIMIT 1), "
+            + "(SELECT r.base_salary FROM salary_rates r WHERE r.emp_id = e.id ORDER BY r.effective_from LIMIT 1), "
+            + "e.base_salary, 0) * :salaryFactor * 100) AS BIGINT) "
+            + "FROM employees e "
+            + "WHERE e.status = 'active' "
+            + "AND NOT EXISTS (SELECT 1 FROM attendance a WHERE a.emp_id = e.id AND a.date = :date)", nativeQuery = true)
+    int insertForActiveEmployees(@Param("date") LocalDate date,
+                                 @Param("status") String status,
+                                 @Param("description") String description,
+                                 @Param("salaryFactor") double salaryFactor);
+
+    @Query("SELECT a.id FROM Attendance a WHERE a.date >= :from AND a.date < :to "
+            + "AND (:employeeId IS NULL OR a.employeeId = :employeeId) AND a.id > :afterId ORDER BY a.id")
+    List<Integer> findIdsForRecompute(@Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("employeeId") Integer employeeId,
+                                      @Param("afterId") Integer afterId,
+                                      Pageable pageable);
+
+    /**
+     * Rewrites total_salary for the given rows from the salary rate in effect on each
+     * row's date, with the same status rules as AttendanceService. Rates are in major units,
+     * total_salary and overtime_salary in cents. Bumps each row's version, so an edit made
+     * against the old total is rejected.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attendance"))
+    @Query(value = "UPDATE attendance a SET total_salary = CAST(ROUND(COALESCE("
+            + "(SELECT r.base_salary FROM salary_rates r WHERE r.emp_id = a.emp_id AND r.effective_from <= a.date "
+            + "ORDER BY r.effective_from DESC LIMIT 1), "
+            + "(SELECT r.base_salary FROM salary_rates r WHERE r.emp_id = a.emp_id ORDER BY r.effective_from LIMIT 1), "
+            + "(SELECT e.base_salary FROM employees e WHERE e.id = a.emp_id), 0) "
+            + "* CASE a.status WHEN 'present' THEN 1 WHEN 'overtime' THEN 1 WHEN 'halfday' THEN 0.5 ELSE 0 END "
+            + "* 100) AS BIGINT) "
+            + "+ CASE WHEN a.status = 'overtime' THEN COALESCE(a.overtime_salary, 0) ELSE 0 END, "
+            + "version = a.version + 1 "
+            + "WHERE a.id IN (:ids)", nativeQuery = true)
+    int recomputeTotalSalary(@Param("ids") List<Integer> ids);
 }
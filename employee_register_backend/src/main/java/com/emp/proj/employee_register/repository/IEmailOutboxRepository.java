@@ -0,0 +1,23 @@
+package com.emp.proj.employee_register.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.emp.proj.employee_register.entities.EmailOutbox;
+
+@Repository
+public interface IEmailOutboxRepository extends JpaRepository<EmailOutbox, Integer> {
+
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = 'pending' AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<EmailOutbox> findDueMessages(@Param("now") Instant now, Pageable pageable);
+
+    List<EmailOutbox> findByStatus(String status);
+
+    Long countByStatus(String status);
+}
@@ -0,0 +1,99 @@
+package com.emp.proj.employee_register.repository;
+
+import java.time.LocalDate;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.emp.proj.employee_register.entities.EmployeeOverview;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Each refresh rewrites one group of employee_overview columns from the source tables,
+ * for one employee or, with a null employeeId, for all of them. The native-spaces hint
+ * keeps Hibernate from evicting unrelated cache regions.
+ */
+@Repository
+public interface IEmployeeOverviewRepository extends JpaRepository<EmployeeOverview, Integer> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "MERGE INTO employee_overview o "
+            + "USING (SELECT id, name, phone_no, email, role, status, join_date, base_salary FROM employees "
+            + "WHERE CAST(:employeeId AS INTEGER) IS NULL OR id = :employeeId) e "
+            + "ON o.emp_id = e.id "
+            + "WHEN MATCHED THEN UPDATE SET name = e.name, phone_no = e.phone_no, email = e.email, role = e.role, "
+            + "status = e.status, join_date = e.join_date, base_salary = e.base_salary, updated_at = CURRENT_TIMESTAMP "
+            + "WHEN NOT MATCHED THEN INSERT (emp_id, name, phone_no, email, role, status, join_date, base_salary, "
+            + "active_loans, active_loan_amount, outstanding_balance, "
+            + "mtd_present, mtd_absent, mtd_halfday, mtd_overtime, mtd_earned, updated_at) "
+            + "VALUES (e.id, e.name, e.phone_no, e.email, e.role, e.status, e.join_date, e.base_salary, "
+            + "0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int refreshEmployee(@Param("employeeId") Integer employeeId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "DELETE FROM employee_overview o "
+            + "WHERE NOT EXISTS (SELECT 1 FROM employees e WHERE e.id = o.emp_id)", nativeQuery = true)
+    int deleteOrphans();
+
+    /** The latest payment by date paid, as findFirstByEmployeeIdOrderByDatePaidDesc, with the id breaking ties. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "UPDATE employee_overview o SET "
+            + "latest_salary_id = (SELECT s.id FROM salaries s WHERE s.emp_id = o.emp_id "
+            + "ORDER BY s.date_paid DESC, s.id DESC FETCH FIRST 1 ROW ONLY), "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE CAST(:employeeId AS INTEGER) IS NULL OR o.emp_id = :employeeId", nativeQuery = true)
+    int refreshLatestSalaryId(@Param("employeeId") Integer employeeId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "UPDATE employee_overview o SET "
+            + "latest_salary_amount = (SELECT s.amount FROM salaries s WHERE s.id = o.latest_salary_id), "
+            + "latest_salary_date = (SELECT s.date_paid FROM salaries s WHERE s.id = o.latest_salary_id), "
+            + "latest_payment_type = (SELECT s.payment_type FROM salaries s WHERE s.id = o.latest_salary_id) "
+            + "WHERE CAST(:employeeId AS INTEGER) IS NULL OR o.emp_id = :employeeId", nativeQuery = true)
+    int refreshLatestSalaryDetails(@Param("employeeId") Integer employeeId);
+
+    /** Outstanding is what is still owed on active loans: their amounts less their repayments. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "UPDATE employee_overview o SET "
+            + "active_loans = (SELECT COUNT(*) FROM loan_registrations l WHERE l.emp_id = o.emp_id AND l.status = 'active'), "
+            + "active_loan_amount = (SELECT COALESCE(SUM(l.loan_amount), 0) FROM loan_registrations l "
+            + "WHERE l.emp_id = o.emp_id AND l.status = 'active'), "
+            + "outstanding_balance = (SELECT COALESCE(SUM(l.loan_amount), 0) FROM loan_registrations l "
+            + "WHERE l.emp_id = o.emp_id AND l.status = 'active') "
+            + "- (SELECT COALESCE(SUM(r.repay_amount), 0) FROM loan_repayments r JOIN loan_registrations l ON l.loan_id = r.loan_id "
+            + "WHERE l.emp_id = o.emp_id AND l.status = 'active'), "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE CAST(:employeeId AS INTEGER) IS NULL OR o.emp_id = :employeeId", nativeQuery = true)
+    int refreshLoans(@Param("employeeId") Integer employeeId);
+
+    /** Attendance counts and earnings for [month, nextMonth), read through idx_attendance_emp_date_status. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee_overview"))
+    @Query(value = "UPDATE employee_overview o SET mtd_month = :month, "
+            + "mtd_present = (SELECT COUNT(*) FROM attendance a WHERE a.emp_id = o.emp_id "
+            + "AND a.date >= :month AND a.date < :nextMonth AND a.status = 'present'), "
+            + "mtd_absent = (SELECT COUNT(*) FROM attendance a WHERE a.emp_id = o.emp_id "
+            + "AND a.date >= :month AND a.date < :nextMonth AND a.status = 'absent'), "
+            + "mtd_halfday = (SELECT COUNT(*) FROM attendance a WHERE a.emp_id = o.emp_id "
+            + "AND a.date >= :month AND a.date < :nextMonth AND a.status = 'halfday'), "
+            + "mtd_overtime = (SELECT COUNT(*) FROM attendance a WHERE a.emp_id = o.emp_id "
+            + "AND a.date >= :month AND a.date < :nextMonth AND a.status = 'overtime'), "
+            + "mtd_earned = (SELECT COALESCE(SUM(a.total_salary), 0) FROM attendance a WHERE a.emp_id = o.emp_id "
+            + "AND a.date >= :month AND a.date < :nextMonth), "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE CAST(:employeeId AS INTEGER) IS NULL OR o.emp_id = :employeeId", nativeQuery = true)
+    int refreshMonthToDate(@Param("month") LocalDate month,
+                           @Param("nextMonth") LocalDate nextMonth,
+                           @Param("employeeId") Integer employeeId);
+}
@@ -2,14 +2,24 @@ package com.emp.proj.employee_register.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
 import com.emp.proj.employee_register.entities.Employee;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface IEmployeeRepository extends JpaRepository<Employee, Integer> {
+public interface IEmployeeRepository extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee> {
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EMPLOYEE_QUERY_REGION)
+    })
     List<Employee> findByStatus(String status);
 
     List<Employee> findByRole(String role);
@@ -1,24 +1,50 @@
 package com.emp.proj.employee_register.repository;
 
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
 import com.emp.proj.employee_register.entities.LoanRegistration;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ILoanRegistrationRepository extends JpaRepository<LoanRegistration, Integer> {
 
     List<LoanRegistration> findByEmployeeId(Integer employeeId);
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = HibernateCacheConfig.LOAN_QUERY_REGION)
+    })
     List<LoanRegistration> findByEmployeeIdAndStatus(Integer employeeId, String status);
 
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = HibernateCacheConfig.LOAN_QUERY_REGION)
+    })
     List<LoanRegistration> findByStatus(String status);
 
-    List<LoanRegistration> findByLoanDateBetween(Date startDate, Date endDate);
+    List<LoanRegistration> findByLoanDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<LoanRegistration> findByLoanAmountGreaterThanEqual(Double amount);
+
+    /**
+     * The loan, with its version bumped at commit even when it is not changed, so two
+     * transactions posting repayments against it cannot both commit on the same totals.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT l FROM LoanRegistration l WHERE l.loanId = :loanId")
+    Optional<LoanRegistration> findForRepayment(@Param("loanId") Integer loanId);
 }
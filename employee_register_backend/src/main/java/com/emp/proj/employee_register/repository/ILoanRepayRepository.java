@@ -1,6 +1,6 @@
 package com.emp.proj.employee_register.repository;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,12 +17,14 @@ public interface ILoanRepayRepository extends JpaRepository<LoanRepay, Integer>
 
     List<LoanRepay> findByEmployeeId(Integer employeeId);
 
-    List<LoanRepay> findByRepayDate(Date repayDate);
+    List<LoanRepay> findByRepayDate(LocalDate repayDate);
 
-    List<LoanRepay> findByLoanIdAndRepayDate(Integer loanId, Date repayDate);
+    List<LoanRepay> findByLoanIdAndRepayDate(Integer loanId, LocalDate repayDate);
 
-    @Query("SELECT SUM(l.repayAmount) FROM LoanRepay l WHERE l.loanId = :loanId")
-    Double getTotalRepaidAmountForLoan(@Param("loanId") Integer loanId);
+    /** Everything repaid on the loan, in cents. */
+    @Query(value = "SELECT CAST(COALESCE(SUM(repay_amount), 0) AS BIGINT) FROM loan_repayments WHERE loan_id = :loanId",
+            nativeQuery = true)
+    long sumRepaidCents(@Param("loanId") Integer loanId);
 
-    List<LoanRepay> findByRepayDateBetween(Date startDate, Date endDate);
+    List<LoanRepay> findByRepayDateBetween(LocalDate startDate, LocalDate endDate);
 }
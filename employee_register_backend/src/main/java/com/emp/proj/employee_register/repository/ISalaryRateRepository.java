@@ -0,0 +1,44 @@
+package com.emp.proj.employee_register.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.emp.proj.employee_register.entities.SalaryRate;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ISalaryRateRepository extends JpaRepository<SalaryRate, Integer> {
+
+    List<SalaryRate> findByEmployeeIdOrderByEffectiveFromAsc(Integer employeeId);
+
+    SalaryRate findByEmployeeIdAndEffectiveFrom(Integer employeeId, LocalDate effectiveFrom);
+
+    @Query("SELECT MIN(r.effectiveFrom) FROM SalaryRate r WHERE r.employeeId = :employeeId AND r.effectiveFrom > :date")
+    LocalDate findNextEffectiveFrom(@Param("employeeId") Integer employeeId, @Param("date") LocalDate date);
+
+    @Query("SELECT MIN(r.effectiveFrom) FROM SalaryRate r WHERE r.employeeId = :employeeId")
+    LocalDate findFirstEffectiveFrom(@Param("employeeId") Integer employeeId);
+
+    @Modifying
+    @Query("DELETE FROM SalaryRate r WHERE r.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") Integer employeeId);
+
+    /** Gives every employee without any history one rate: today's base salary, effective from the join date. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "salary_rates"))
+    @Query(value = "INSERT INTO salary_rates (emp_id, effective_from, base_salary) "
+            + "SELECT e.id, COALESCE(e.join_date, CURRENT_DATE), e.base_salary FROM employees e "
+            + "WHERE e.base_salary IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM salary_rates r WHERE r.emp_id = e.id)", nativeQuery = true)
+    int backfillMissingRates();
+}
@@ -1,6 +1,6 @@
 package com.emp.proj.employee_register.repository;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,17 +18,19 @@ public interface ISalaryRepository extends JpaRepository<Salary, Integer> {
 
     List<Salary> findByPaymentType(String paymentType);
 
-    List<Salary> findByDatePaid(Date datePaid);
+    List<Salary> findByDatePaid(LocalDate datePaid);
 
     @Query("SELECT s FROM Salary s WHERE s.employeeId = :employeeId ORDER BY s.datePaid DESC")
     List<Salary> findLatestByEmployeeId(@Param("employeeId") Integer employeeId);
 
     Optional<Salary> findFirstByEmployeeIdOrderByDatePaidDesc(Integer employeeId);
 
-    @Query("SELECT SUM(s.amount) FROM Salary s WHERE s.employeeId = :employeeId AND s.datePaid BETWEEN :startDate AND :endDate")
-    Double sumSalaryForEmployeeInPeriod(
+    /** Salary paid to the employee in the period, in cents. */
+    @Query(value = "SELECT CAST(COALESCE(SUM(amount), 0) AS BIGINT) FROM salaries "
+            + "WHERE emp_id = :employeeId AND date_paid BETWEEN :startDate AND :endDate", nativeQuery = true)
+    long sumSalaryCentsForEmployeeInPeriod(
             @Param("employeeId") Integer employeeId,
-            @Param("startDate") Date startDate,
-            @Param("endDate") Date endDate
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 }
@@ -0,0 +1,97 @@
+package com.emp.proj.employee_register.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+
+/**
+ * Overtime aggregates computed in the database. Every query reads the same "ot" rows:
+ * overtime days still in the attendance table plus those kept in archived_overtime for
+ * tiered months, both restricted to [from, to) through their date indexes. Salaries are
+ * summed in cents, which is how they are stored, and only the sums turn into amounts.
+ */
+@Repository
+public class OvertimeAnalyticsRepository {
+
+    // A derived table rather than a WITH clause: H2 reuses a CTE's rows across executions
+    // of a cached statement when it sits inside another derived table.
+    private static final String OVERTIME_ROWS = "(SELECT a.emp_id, a.date, "
+            + "CAST(COALESCE(a.overtime_hours, 0) AS DOUBLE PRECISION) AS hours, "
+            + "COALESCE(a.overtime_salary, 0) AS salary "
+            + "FROM attendance a WHERE a.status = 'overtime' AND a.date >= :from AND a.date < :to "
+            + "UNION ALL "
+            + "SELECT o.emp_id, o.date, CAST(COALESCE(o.overtime_hours, 0) AS DOUBLE PRECISION), "
+            + "COALESCE(o.overtime_salary, 0) "
+            + "FROM archived_overtime o WHERE o.date >= :from AND o.date < :to) ot ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Day, hour and salary totals with the median and 90th percentile of hours per overtime day. */
+    public Map<String, Object> totals(LocalDate from, LocalDate to) {
+        return query("SELECT COUNT(*) AS \"days\", CAST(COALESCE(SUM(hours), 0) AS DOUBLE PRECISION) AS \"hours\", CAST(COALESCE(SUM(salary), 0) AS DOUBLE PRECISION) / 100 AS \"salary\", "
+                + "COUNT(DISTINCT emp_id) AS \"employees\", "
+                + "CAST(PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY hours) AS DOUBLE PRECISION) AS \"p50Hours\", "
+                + "CAST(PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY hours) AS DOUBLE PRECISION) AS \"p90Hours\" "
+                + "FROM " + OVERTIME_ROWS, from, to).get(0);
+    }
+
+    /** Per-employee totals, ranked by hours, with each employee's share of all overtime hours. */
+    public List<Map<String, Object>> byEmployee(LocalDate from, LocalDate to) {
+        return query("SELECT t.emp_id AS \"employeeId\", e.name AS \"name\", COALESCE(e.role, 'unknown') AS \"role\", "
+                + "t.days AS \"days\", t.hours AS \"hours\", t.salary AS \"salary\", "
+                + "RANK() OVER (ORDER BY t.hours DESC) AS \"rank\", "
+                + "CAST(t.hours / NULLIF(SUM(t.hours) OVER (), 0) AS DOUBLE PRECISION) AS \"hoursShare\" "
+                + "FROM (SELECT emp_id, COUNT(*) AS days, CAST(SUM(hours) AS DOUBLE PRECISION) AS hours, "
+                + "CAST(SUM(salary) AS DOUBLE PRECISION) / 100 AS salary "
+                + "FROM " + OVERTIME_ROWS + "GROUP BY emp_id) t "
+                + "LEFT JOIN employees e ON e.id = t.emp_id "
+                + "ORDER BY \"rank\", t.emp_id", from, to);
+    }
+
+    public List<Map<String, Object>> byRole(LocalDate from, LocalDate to) {
+        return query("SELECT COALESCE(e.role, 'unknown') AS \"role\", COUNT(DISTINCT ot.emp_id) AS \"employees\", "
+                + "COUNT(*) AS \"days\", CAST(SUM(ot.hours) AS DOUBLE PRECISION) AS \"hours\", "
+                + "CAST(SUM(ot.salary) AS DOUBLE PRECISION) / 100 AS \"salary\", "
+                + "CAST(SUM(ot.hours) / NULLIF(SUM(SUM(ot.hours)) OVER (), 0) AS DOUBLE PRECISION) AS \"hoursShare\" "
+                + "FROM " + OVERTIME_ROWS + "LEFT JOIN employees e ON e.id = ot.emp_id "
+                + "GROUP BY COALESCE(e.role, 'unknown') "
+                + "ORDER BY \"hours\" DESC, \"role\"", from, to);
+    }
+
+    /** Monthly totals in date order, each with the change in hours against the month before. */
+    public List<Map<String, Object>> monthly(LocalDate from, LocalDate to) {
+        return query("SELECT m.y AS \"year\", m.mo AS \"month\", m.days AS \"days\", m.hours AS \"hours\", m.salary AS \"salary\", "
+                + "CAST((m.hours - LAG(m.hours) OVER (ORDER BY m.y, m.mo)) "
+                + "/ NULLIF(LAG(m.hours) OVER (ORDER BY m.y, m.mo), 0) AS DOUBLE PRECISION) AS \"hoursChange\" "
+                + "FROM (SELECT EXTRACT(YEAR FROM date) AS y, EXTRACT(MONTH FROM date) AS mo, "
+                + "COUNT(*) AS days, CAST(SUM(hours) AS DOUBLE PRECISION) AS hours, CAST(SUM(salary) AS DOUBLE PRECISION) / 100 AS salary "
+                + "FROM " + OVERTIME_ROWS + "GROUP BY EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)) m "
+                + "ORDER BY m.y, m.mo", from, to);
+    }
+
+    private List<Map<String, Object>> query(String sql, LocalDate from, LocalDate to) {
+        Query query = entityManager.createNativeQuery(sql, Tuple.class);
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+
+        @SuppressWarnings("unchecked")
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            tuple.getElements().forEach(element -> row.put(element.getAlias(), tuple.get(element)));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,4 +1,63 @@
 package com.emp.proj.employee_register.services;
 
-public class AdminService {
-}
\ No newline at end of file
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class AdminService implements IAdminService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : HibernateCacheConfig.REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+
+            Map<String, Object> regionData = new LinkedHashMap<>();
+            regionData.put("hits", hits);
+            regionData.put("misses", misses);
+            regionData.put("puts", regionStatistics.getPutCount());
+            regionData.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            regions.put(region, regionData);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> getEventStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>(domainEventBus.statistics());
+        statistics.put("changeFeed", changeFeed.statistics());
+        return statistics;
+    }
+}
@@ -0,0 +1,29 @@
+package com.emp.proj.employee_register.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work until the surrounding transaction commits, and drops it if the transaction
+ * rolls back. Outside a transaction the work runs straight away. In-memory state that
+ * other threads read is changed through here, so they never see a write that is not yet
+ * visible in the database, or one that never will be.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
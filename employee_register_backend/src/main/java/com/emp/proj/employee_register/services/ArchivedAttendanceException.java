@@ -0,0 +1,22 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * A write to attendance in a month that has been moved to the {@link AttendanceArchive}.
+ * The archive is append-only, so its rows cannot be changed or deleted, and a new row for
+ * the month would sit next to an archived one for the same employee and day.
+ */
+public class ArchivedAttendanceException extends IllegalStateException {
+
+    public ArchivedAttendanceException(YearMonth month) {
+        super("Attendance for " + month + " is archived and can no longer be changed");
+    }
+
+    static void check(AttendanceArchive archive, LocalDate date) {
+        if (date != null && archive.contains(YearMonth.from(date))) {
+            throw new ArchivedAttendanceException(YearMonth.from(date));
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.emp.proj.employee_register.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.entities.Attendance;
+
+/**
+ * Cold tier for attendance: one append-only file per closed month, read through
+ * memory-mapped I/O.
+ *
+ * A file is a sequence of segments, one per tiering run. Each segment stores its rows
+ * sorted by employee and day, column by column:
+ * <pre>
+ *   int magic, int rowCount, int bodyLength, int[COLUMNS] column offsets, body
+ *
+ *   EMPLOYEE          run-length pairs (varint emp id, varint run)
+ *   DAY               one byte per row, epoch day minus the month's first epoch day
+ *   ID                zigzag varint delta from the previous row's id
+ *   STATUS            varint dictionary code
+ *   TOTAL_SALARY      run-length pairs (8-byte double bits, varint run)
+ *   OVERTIME_SALARY   "
+ *   OVERTIME_HOURS    "
+ *   DESCRIPTION       varint dictionary code, 0 = null
+ *   OVERTIME_DESC     "
+ *   DICTIONARY        varint count, then (varint length, UTF-8 bytes) per entry
+ * </pre>
+ * Status codes 1-4 are always present, absent, halfday and overtime, so the dictionary
+ * only grows for free-text columns. A torn segment left by a crash is ignored by
+ * readers and truncated by the next append.
+ *
+ * The files belong to the database the rows were moved out of. With an in-memory
+ * database they are kept in a subdirectory named after this process and the database, so
+ * a restart starts from an empty archive, as it does from an empty table, instead of
+ * reading rows whose ids the new database hands out again. Directories left behind by
+ * processes that are no longer running are deleted at startup.
+ */
+@Component
+public class AttendanceArchive {
+
+    private static final int MAGIC = 0x41545331; // "ATS1"
+    private static final int COLUMNS = 10;
+    private static final int HEADER_BYTES = 12 + 4 * COLUMNS;
+
+    private static final int EMPLOYEE = 0, DAY = 1, ID = 2, STATUS = 3, TOTAL_SALARY = 4,
+            OVERTIME_SALARY = 5, OVERTIME_HOURS = 6, DESCRIPTION = 7, OVERTIME_DESC = 8, DICTIONARY = 9;
+
+    private static final List<String> STATUSES = List.of("present", "absent", "halfday", "overtime");
+
+    /** A signalling NaN no arithmetic produces; stands in for a null double. */
+    private static final long NULL_DOUBLE = 0x7FF00000DEADBEEFL;
+
+    private static final String SUFFIX = ".atar";
+
+    private static final String IN_MEMORY_URL = "jdbc:h2:mem:";
+    private static final String IN_MEMORY_PREFIX = "mem-";
+
+    private final Path directory;
+
+    private final Map<YearMonth, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+
+    public AttendanceArchive(@Value("${attendance.archive.dir:attendance-archive}") String directory,
+                             @Value("${spring.datasource.url:}") String datasourceUrl) {
+        Path root = Paths.get(directory);
+        if (datasourceUrl.startsWith(IN_MEMORY_URL)) {
+            deleteAbandoned(root);
+            String database = datasourceUrl.substring(IN_MEMORY_URL.length()).split(";", 2)[0];
+            this.directory = root.resolve(IN_MEMORY_PREFIX + processKey(ProcessHandle.current()) + "-"
+                    + database.replaceAll("[^A-Za-z0-9_.]", "_"));
+        } else {
+            this.directory = root;
+        }
+    }
+
+    /** Whether the month has been tiered; its rows can then only be read. */
+    public boolean contains(YearMonth month) {
+        return Files.exists(file(month));
+    }
+
+    /** The archived row with this id, or null. Scans every month, so only for rare lookups. */
+    public Attendance find(Integer id) {
+        for (YearMonth month : months()) {
+            for (Attendance attendance : read(month, null)) {
+                if (attendance.getId().equals(id)) {
+                    return attendance;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Closed months present in the archive, oldest first. */
+    public List<YearMonth> months() {
+        List<YearMonth> months = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return months;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                months.add(YearMonth.parse(name.substring(0, name.length() - SUFFIX.length())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list attendance archive " + directory, e);
+        }
+        months.sort(Comparator.naturalOrder());
+        return months;
+    }
+
+    public List<Attendance> read(YearMonth month, Integer employeeId) {
+        List<Attendance> rows = new ArrayList<>();
+        scan(month, employeeId, 0, rows);
+        return rows;
+    }
+
+    public List<Attendance> readEmployee(Integer employeeId) {
+        List<Attendance> rows = new ArrayList<>();
+        for (YearMonth month : months()) {
+            scan(month, employeeId, 0, rows);
+        }
+        return rows;
+    }
+
+    public List<Attendance> readDate(LocalDate date) {
+        List<Attendance> rows = new ArrayList<>();
+        scan(YearMonth.from(date), null, date.getDayOfMonth(), rows);
+        return rows;
+    }
+
+    public Set<Integer> archivedIds(YearMonth month) {
+        Set<Integer> ids = new HashSet<>();
+        for (Attendance attendance : read(month, null)) {
+            ids.add(attendance.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Append the rows as a new segment of the month's file and force it to disk before
+     * returning, so the caller can safely delete them from the hot table.
+     */
+    public synchronized void append(YearMonth month, List<Attendance> attendance) {
+        if (attendance.isEmpty()) {
+            return;
+        }
+        List<Attendance> rows = new ArrayList<>(attendance);
+        rows.sort(Comparator.comparing(Attendance::getEmployeeId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Attendance::getDate)
+                .thenComparing(Attendance::getId));
+        ByteBuffer segment = encode(month, rows);
+
+        try {
+            Files.createDirectories(directory);
+            Path file = file(month);
+            long validLength = Files.exists(file) ? validLength(map(month)) : 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.position(validLength);
+                while (segment.hasRemaining()) {
+                    channel.write(segment);
+                }
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to attendance archive for " + month, e);
+        } finally {
+            mappings.remove(month);
+        }
+    }
+
+    private ByteBuffer encode(YearMonth month, List<Attendance> rows) {
+        long firstDay = month.atDay(1).toEpochDay();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>(STATUSES);
+        for (int i = 0; i < STATUSES.size(); i++) {
+            dictionary.put(STATUSES.get(i), i + 1);
+        }
+
+        Column[] columns = new Column[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = new Column();
+        }
+        Runs employees = new Runs(columns[EMPLOYEE]);
+        Runs totalSalaries = new Runs(columns[TOTAL_SALARY]);
+        Runs overtimeSalaries = new Runs(columns[OVERTIME_SALARY]);
+        Runs overtimeHours = new Runs(columns[OVERTIME_HOURS]);
+
+        int previousId = 0;
+        for (Attendance row : rows) {
+            employees.add(row.getEmployeeId() != null ? row.getEmployeeId() : 0, false);
+            columns[DAY].write((int) (row.getDate().toEpochDay() - firstDay));
+            int id = row.getId();
+            columns[ID].writeVarint((id - previousId) << 1 ^ (id - previousId) >> 31);
+            previousId = id;
+            columns[STATUS].writeVarint(code(row.getStatus(), dictionary, entries));
+            totalSalaries.add(bits(row.getTotalSalary()), true);
+            overtimeSalaries.add(bits(row.getOvertimeSalary()), true);
+            overtimeHours.add(bits(row.getOvertimeHours()), true);
+            columns[DESCRIPTION].writeVarint(code(row.getDescription(), dictionary, entries));
+            columns[OVERTIME_DESC].writeVarint(code(row.getOvertimeDescription(), dictionary, entries));
+        }
+        employees.flush();
+        totalSalaries.flush();
+        overtimeSalaries.flush();
+        overtimeHours.flush();
+
+        columns[DICTIONARY].writeVarint(entries.size());
+        for (String entry : entries) {
+            byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+            columns[DICTIONARY].writeVarint(utf8.length);
+            columns[DICTIONARY].write(utf8, 0, utf8.length);
+        }
+
+        int bodyLength = 0;
+        for (Column column : columns) {
+            bodyLength += column.size();
+        }
+        ByteBuffer segment = ByteBuffer.allocate(HEADER_BYTES + bodyLength);
+        segment.putInt(MAGIC).putInt(rows.size()).putInt(bodyLength);
+        int offset = 0;
+        for (Column column : columns) {
+            segment.putInt(offset);
+            offset += column.size();
+        }
+        for (Column column : columns) {
+            segment.put(column.bytes(), 0, column.size());
+        }
+        return segment.flip();
+    }
+
+    private void scan(YearMonth month, Integer employeeId, int dayOfMonth, List<Attendance> sink) {
+        if (!Files.exists(file(month))) {
+            return;
+        }
+        ByteBuffer buffer = map(month);
+        LocalDate firstDay = month.atDay(1);
+        int end = validLength(buffer);
+        int position = 0;
+        while (position < end) {
+            int rowCount = buffer.getInt(position + 4);
+            int body = position + HEADER_BYTES;
+            Cursor[] cursors = new Cursor[COLUMNS];
+            for (int c = 0; c < COLUMNS; c++) {
+                cursors[c] = new Cursor(buffer, body + buffer.getInt(position + 12 + 4 * c));
+            }
+
+            Cursor dictionaryCursor = cursors[DICTIONARY];
+            String[] dictionary = new String[dictionaryCursor.readVarint() + 1];
+            for (int i = 1; i < dictionary.length; i++) {
+                byte[] utf8 = new byte[dictionaryCursor.readVarint()];
+                buffer.get(dictionaryCursor.position, utf8);
+                dictionaryCursor.position += utf8.length;
+                dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            RunReader employees = new RunReader(cursors[EMPLOYEE], false);
+            RunReader totalSalaries = new RunReader(cursors[TOTAL_SALARY], true);
+            RunReader overtimeSalaries = new RunReader(cursors[OVERTIME_SALARY], true);
+            RunReader overtimeHours = new RunReader(cursors[OVERTIME_HOURS], true);
+            int id = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int employee = (int) employees.next();
+                int day = buffer.get(cursors[DAY].position++) + 1;
+                int delta = cursors[ID].readVarint();
+                id += delta >>> 1 ^ -(delta & 1);
+                String status = dictionary[cursors[STATUS].readVarint()];
+                Double totalSalary = fromBits(totalSalaries.next());
+                Double overtimeSalary = fromBits(overtimeSalaries.next());
+                Double hours = fromBits(overtimeHours.next());
+                String description = dictionary[cursors[DESCRIPTION].readVarint()];
+                String overtimeDescription = dictionary[cursors[OVERTIME_DESC].readVarint()];
+
+                if ((employeeId == null || employeeId == employee) && (dayOfMonth == 0 || dayOfMonth == day)) {
+                    Attendance attendance = new Attendance(employee == 0 ? null : employee,
+                            firstDay.withDayOfMonth(day), status,
+                            overtimeDescription, overtimeSalary, hours, description, totalSalary);
+                    attendance.setId(id);
+                    sink.add(attendance);
+                }
+            }
+            position = body + buffer.getInt(position + 8);
+        }
+    }
+
+    private ByteBuffer map(YearMonth month) {
+        return mappings.computeIfAbsent(month, m -> {
+            try (FileChannel channel = FileChannel.open(file(m), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map attendance archive for " + m, e);
+            }
+        }).duplicate();
+    }
+
+    /** Length of the file up to the end of its last complete segment. */
+    private static int validLength(ByteBuffer buffer) {
+        int position = 0;
+        while (buffer.limit() - position >= HEADER_BYTES && buffer.getInt(position) == MAGIC) {
+            long next = (long) position + HEADER_BYTES + buffer.getInt(position + 8);
+            if (next > buffer.limit()) {
+                break;
+            }
+            position = (int) next;
+        }
+        return position;
+    }
+
+    /** Removes the in-memory namespaces of processes that have exited. */
+    private static void deleteAbandoned(Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (DirectoryStream<Path> namespaces = Files.newDirectoryStream(root, IN_MEMORY_PREFIX + "*")) {
+            for (Path namespace : namespaces) {
+                String[] name = namespace.getFileName().toString().split("-", 4);
+                if (name.length == 4 && isRunning(name[1], name[2])) {
+                    continue;
+                }
+                try (Stream<Path> files = Files.walk(namespace)) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clean attendance archive " + root, e);
+        }
+    }
+
+    /** Pid and start time, so a later process that is handed the same pid gets a new namespace. */
+    private static String processKey(ProcessHandle process) {
+        return process.pid() + "-" + process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    private static boolean isRunning(String pid, String started) {
+        try {
+            return ProcessHandle.of(Long.parseLong(pid))
+                    .filter(ProcessHandle::isAlive)
+                    .map(process -> processKey(process).equals(pid + "-" + started))
+                    .orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Path file(YearMonth month) {
+        return directory.resolve(month + SUFFIX);
+    }
+
+    private static int code(String value, Map<String, Integer> dictionary, List<String> entries) {
+        if (value == null) {
+            return 0;
+        }
+        return dictionary.computeIfAbsent(value, v -> {
+            entries.add(v);
+            return entries.size();
+        });
+    }
+
+    private static long bits(Double value) {
+        return value == null ? NULL_DOUBLE : Double.doubleToRawLongBits(value);
+    }
+
+    private static Double fromBits(long bits) {
+        return bits == NULL_DOUBLE ? null : Double.longBitsToDouble(bits);
+    }
+
+    private static final class Column extends ByteArrayOutputStream {
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+
+    /** Run-length encoder: emits (value, run) whenever the value changes. */
+    private static final class Runs {
+        private final Column column;
+        private long value;
+        private int run;
+        private boolean wide;
+
+        Runs(Column column) {
+            this.column = column;
+        }
+
+        void add(long next, boolean wide) {
+            this.wide = wide;
+            if (run > 0 && next == value) {
+                run++;
+                return;
+            }
+            flush();
+            value = next;
+            run = 1;
+        }
+
+        void flush() {
+            if (run == 0) {
+                return;
+            }
+            if (wide) {
+                column.writeLong(value);
+            } else {
+                column.writeVarint((int) value);
+            }
+            column.writeVarint(run);
+            run = 0;
+        }
+    }
+
+    private static final class RunReader {
+        private final Cursor cursor;
+        private final boolean wide;
+        private long value;
+        private int remaining;
+
+        RunReader(Cursor cursor, boolean wide) {
+            this.cursor = cursor;
+            this.wide = wide;
+        }
+
+        long next() {
+            if (remaining == 0) {
+                value = wide ? cursor.readLong() : cursor.readVarint();
+                remaining = cursor.readVarint();
+            }
+            remaining--;
+            return value;
+        }
+    }
+
+    private static final class Cursor {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Cursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        long readLong() {
+            long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+    }
+}
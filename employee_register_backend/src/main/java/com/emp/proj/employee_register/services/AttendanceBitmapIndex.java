@@ -0,0 +1,317 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+
+import static com.emp.proj.employee_register.services.AttendanceCounters.STATUSES;
+
+/**
+ * For every date in the attendance table and the {@link AttendanceArchive}, one
+ * {@link CompressedBitmap} of employee ids per status, so set questions ("absent on both
+ * days", "overtime every Saturday") are answered with bitmap operations instead of loading
+ * entities. Built on startup and kept current from the AttendanceRecorded events on the
+ * {@link DomainEventBus}; rebuilt if the subscriber misses events. When a month is tiered
+ * its dates are re-read from the archive, which no writer changes afterwards. Dates are
+ * keyed by their epoch day.
+ */
+@Component
+public class AttendanceBitmapIndex {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchive attendanceArchive;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    // Values are replaced, never modified, so readers need no locking.
+    private final Map<Integer, CompressedBitmap[]> bitmaps = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        domainEventBus.subscribe("attendance-bitmaps", new DomainEventRing.Handler() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                for (DomainEvent event : events) {
+                    if (event instanceof DomainEvent.AttendanceRecorded recorded) {
+                        apply(recorded);
+                    }
+                }
+            }
+
+            @Override
+            public void onMissed(long count) {
+                rebuild();
+            }
+        });
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Map<Integer, List<List<Integer>>> ids = new HashMap<>();
+        for (YearMonth month : attendanceArchive.months()) {
+            addArchived(month, ids);
+        }
+        for (Object[] row : attendanceRepository.findAllStatuses()) {
+            int status = AttendanceCounters.indexOf((String) row[1]);
+            if (status >= 0) {
+                ids.computeIfAbsent(Dates.epochDay((LocalDate) row[0]), d -> emptyLists())
+                        .get(status).add((Integer) row[2]);
+            }
+        }
+
+        Map<Integer, CompressedBitmap[]> built = new HashMap<>();
+        ids.forEach((day, byStatus) -> built.put(day, toBitmaps(byStatus)));
+        bitmaps.keySet().retainAll(built.keySet());
+        bitmaps.putAll(built);
+    }
+
+    /** Re-read a month's dates from the archive once its rows have moved there. */
+    public void archived(YearMonth month) {
+        AfterCommit.run(() -> reload(month));
+    }
+
+    /**
+     * An employee's row for the date moved between statuses (null for "no row"). A bulk
+     * write to a date names no employee, and the whole date is re-read instead.
+     */
+    private void apply(DomainEvent.AttendanceRecorded recorded) {
+        if (recorded.date() == null || Objects.equals(recorded.previousStatus(), recorded.status())) {
+            return;
+        }
+        int day = Dates.epochDay(recorded.date());
+        if (recorded.employeeId() == null) {
+            reload(day);
+        } else {
+            apply(day, recorded.employeeId(), AttendanceCounters.indexOf(recorded.previousStatus()),
+                    AttendanceCounters.indexOf(recorded.status()));
+        }
+    }
+
+    public Map<String, Object> query(AttendanceSetQuery query) {
+        long started = System.nanoTime();
+        TreeSet<LocalDate> mentioned = new TreeSet<>();
+        validate(query, mentioned);
+
+        CompressedBitmap universe = CompressedBitmap.EMPTY;
+        for (LocalDate day : mentioned) {
+            for (CompressedBitmap bitmap : bitmaps.getOrDefault(Dates.epochDay(day), new CompressedBitmap[0])) {
+                universe = universe.or(bitmap);
+            }
+        }
+        CompressedBitmap result = evaluate(query, universe);
+
+        Map<String, Object> answer = new LinkedHashMap<>();
+        answer.put("count", result.cardinality());
+        answer.put("employeeIds", result.toArray());
+        answer.put("micros", (System.nanoTime() - started) / 1000);
+        return answer;
+    }
+
+    private CompressedBitmap evaluate(AttendanceSetQuery query, CompressedBitmap universe) {
+        if (query.and() != null) {
+            CompressedBitmap result = null;
+            for (AttendanceSetQuery part : query.and()) {
+                result = result == null ? evaluate(part, universe) : result.and(evaluate(part, universe));
+            }
+            return result;
+        }
+        if (query.or() != null) {
+            CompressedBitmap result = CompressedBitmap.EMPTY;
+            for (AttendanceSetQuery part : query.or()) {
+                result = result.or(evaluate(part, universe));
+            }
+            return result;
+        }
+        if (query.not() != null) {
+            return universe.andNot(evaluate(query.not(), universe));
+        }
+
+        int status = AttendanceCounters.indexOf(query.status());
+        List<CompressedBitmap> days = new ArrayList<>();
+        for (LocalDate day : days(query)) {
+            CompressedBitmap[] byStatus = bitmaps.get(Dates.epochDay(day));
+            days.add(byStatus != null ? byStatus[status] : CompressedBitmap.EMPTY);
+        }
+        int min = Boolean.TRUE.equals(query.all()) ? days.size() : query.min() != null ? query.min() : 1;
+        return atLeast(days, min);
+    }
+
+    /** Employees set in at least min of the bitmaps. */
+    private static CompressedBitmap atLeast(List<CompressedBitmap> days, int min) {
+        if (days.isEmpty() || min > days.size()) {
+            return CompressedBitmap.EMPTY;
+        }
+        if (min == days.size()) {
+            CompressedBitmap result = days.get(0);
+            for (CompressedBitmap day : days) {
+                result = result.and(day);
+            }
+            return result;
+        }
+        CompressedBitmap union = CompressedBitmap.EMPTY;
+        for (CompressedBitmap day : days) {
+            union = union.or(day);
+        }
+        if (min <= 1) {
+            return union;
+        }
+
+        int[] ids = union.toArray();
+        int[] counts = new int[ids.length];
+        for (CompressedBitmap day : days) {
+            day.forEach(id -> counts[Arrays.binarySearch(ids, id)]++);
+        }
+        List<Integer> matched = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (counts[i] >= min) {
+                matched.add(ids[i]);
+            }
+        }
+        return CompressedBitmap.of(matched.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void validate(AttendanceSetQuery query, TreeSet<LocalDate> mentioned) {
+        if (query == null) {
+            throw new IllegalArgumentException("A query is required");
+        }
+        int forms = (query.status() != null ? 1 : 0) + (query.and() != null ? 1 : 0)
+                + (query.or() != null ? 1 : 0) + (query.not() != null ? 1 : 0);
+        if (forms != 1) {
+            throw new IllegalArgumentException("Each query needs exactly one of status, and, or, not");
+        }
+        if (query.and() != null || query.or() != null) {
+            List<AttendanceSetQuery> parts = query.and() != null ? query.and() : query.or();
+            if (parts.isEmpty()) {
+                throw new IllegalArgumentException("and / or need at least one query");
+            }
+            parts.forEach(part -> validate(part, mentioned));
+            return;
+        }
+        if (query.not() != null) {
+            validate(query.not(), mentioned);
+            return;
+        }
+
+        if (AttendanceCounters.indexOf(query.status()) < 0) {
+            throw new IllegalArgumentException("Invalid attendance status. Must be present, absent, overtime, or halfday");
+        }
+        if ((query.date() == null) == (query.from() == null || query.to() == null)) {
+            throw new IllegalArgumentException("A status query needs either date or from and to");
+        }
+        if (query.from() != null) {
+            long length = ChronoUnit.DAYS.between(query.from(), query.to()) + 1;
+            if (length < 1 || length > MAX_RANGE_DAYS) {
+                throw new IllegalArgumentException("Date ranges must run forwards and span at most " + MAX_RANGE_DAYS + " days");
+            }
+        }
+        if (query.min() != null && query.min() < 1) {
+            throw new IllegalArgumentException("min must be at least 1");
+        }
+        mentioned.addAll(days(query));
+    }
+
+    private static List<LocalDate> days(AttendanceSetQuery query) {
+        List<LocalDate> days = new ArrayList<>();
+        if (query.date() != null) {
+            days.add(query.date());
+            return days;
+        }
+        for (LocalDate day = query.from(); !day.isAfter(query.to()); day = day.plusDays(1)) {
+            if (query.dayOfWeek() == null || day.getDayOfWeek() == query.dayOfWeek()) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private synchronized void apply(int day, int employeeId, int from, int to) {
+        bitmaps.compute(day, (d, current) -> {
+            CompressedBitmap[] updated = current != null ? current.clone() : toBitmaps(emptyLists());
+            if (from >= 0) {
+                updated[from] = updated[from].remove(employeeId);
+            }
+            if (to >= 0) {
+                updated[to] = updated[to].add(employeeId);
+            }
+            return updated;
+        });
+    }
+
+    private synchronized void reload(int day) {
+        List<List<Integer>> byStatus = emptyLists();
+        for (Object[] row : attendanceRepository.findStatusesByDate(Dates.ofEpochDay(day))) {
+            int status = AttendanceCounters.indexOf((String) row[0]);
+            if (status >= 0) {
+                byStatus.get(status).add((Integer) row[1]);
+            }
+        }
+        bitmaps.put(day, toBitmaps(byStatus));
+    }
+
+    /** A tiering run can leave rows written while it ran in the table, so both tiers are read. */
+    private synchronized void reload(YearMonth month) {
+        Map<Integer, List<List<Integer>>> ids = new HashMap<>();
+        addArchived(month, ids);
+        for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+            for (Object[] row : attendanceRepository.findStatusesByDate(date)) {
+                int status = AttendanceCounters.indexOf((String) row[0]);
+                if (status >= 0) {
+                    ids.computeIfAbsent(Dates.epochDay(date), d -> emptyLists()).get(status).add((Integer) row[1]);
+                }
+            }
+        }
+        int start = Dates.epochDay(month.atDay(1));
+        int end = Dates.epochDay(month.atEndOfMonth());
+        bitmaps.keySet().removeIf(day -> day >= start && day <= end && !ids.containsKey(day));
+        ids.forEach((day, byStatus) -> bitmaps.put(day, toBitmaps(byStatus)));
+    }
+
+    private void addArchived(YearMonth month, Map<Integer, List<List<Integer>>> ids) {
+        for (Attendance attendance : attendanceArchive.read(month, null)) {
+            int status = AttendanceCounters.indexOf(attendance.getStatus());
+            if (status >= 0 && attendance.getEmployeeId() != null) {
+                ids.computeIfAbsent(Dates.epochDay(attendance.getDate()), d -> emptyLists())
+                        .get(status).add(attendance.getEmployeeId());
+            }
+        }
+    }
+
+    private static List<List<Integer>> emptyLists() {
+        List<List<Integer>> lists = new ArrayList<>();
+        for (int i = 0; i < STATUSES.length; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static CompressedBitmap[] toBitmaps(List<List<Integer>> byStatus) {
+        CompressedBitmap[] result = new CompressedBitmap[STATUSES.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = CompressedBitmap.of(byStatus.get(i).stream().mapToInt(Integer::intValue).toArray());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One employee's attendance for a calendar year, packed as two bit arrays indexed by
+ * day of year (0 = 1 January), least significant bit first:
+ * <ul>
+ * <li>a presence bitmap, one bit per day, set when the day has a record;</li>
+ * <li>a status array, two bits per day: 0 present, 1 absent, 2 halfday, 3 overtime.</li>
+ * </ul>
+ * {@link #encoded()} is the presence bytes followed by the status bytes, 138 bytes for
+ * a leap year. A day without a record has status bits 0, so clients check presence first.
+ */
+public final class AttendanceCalendar {
+
+    static final String[] STATUSES = { "present", "absent", "halfday", "overtime" };
+
+    private final Integer employeeId;
+    private final int year;
+    private final int days;
+    private final byte[] presence;
+    private final byte[] status;
+
+    public AttendanceCalendar(Integer employeeId, int year) {
+        this.employeeId = employeeId;
+        this.year = year;
+        this.days = Year.of(year).length();
+        this.presence = new byte[(days + 7) / 8];
+        this.status = new byte[(days + 3) / 4];
+    }
+
+    /** Records the status for a day of this year; unknown statuses are ignored. */
+    public void set(LocalDate date, String statusName) {
+        int code = codeOf(statusName);
+        if (code < 0 || date.getYear() != year) {
+            return;
+        }
+        int day = date.getDayOfYear() - 1;
+        presence[day >> 3] |= (byte) (1 << (day & 7));
+        int shift = (day & 3) * 2;
+        status[day >> 2] = (byte) ((status[day >> 2] & ~(3 << shift)) | (code << shift));
+    }
+
+    public String get(LocalDate date) {
+        if (date.getYear() != year) {
+            return null;
+        }
+        int day = date.getDayOfYear() - 1;
+        if ((presence[day >> 3] & (1 << (day & 7))) == 0) {
+            return null;
+        }
+        return STATUSES[(status[day >> 2] >> ((day & 3) * 2)) & 3];
+    }
+
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public byte[] encoded() {
+        byte[] encoded = new byte[presence.length + status.length];
+        System.arraycopy(presence, 0, encoded, 0, presence.length);
+        System.arraycopy(status, 0, encoded, presence.length, status.length);
+        return encoded;
+    }
+
+    public String base64() {
+        return Base64.getEncoder().encodeToString(encoded());
+    }
+
+    /** The recorded days as ISO date to status, in date order. */
+    public Map<String, String> statusByDate() {
+        Map<String, String> byDate = new LinkedHashMap<>();
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            String statusName = get(date);
+            if (statusName != null) {
+                byDate.put(date.toString(), statusName);
+            }
+        }
+        return byDate;
+    }
+
+    private static int codeOf(String statusName) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (STATUSES[i].equals(statusName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
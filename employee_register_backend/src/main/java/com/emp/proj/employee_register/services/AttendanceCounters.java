@@ -0,0 +1,150 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+
+/**
+ * Live per-status attendance counts for the last few days, so the dashboard's "today"
+ * figures never touch the database. Each committed status transition arrives as an
+ * AttendanceRecorded event from the {@link DomainEventBus} and is applied as a delta; a
+ * periodic pass recounts from the table to correct any drift, e.g. from a delta that
+ * landed while the recount query was running, or events the subscriber missed. Days are
+ * keyed by their epoch day.
+ */
+@Component
+public class AttendanceCounters {
+
+    static final String[] STATUSES = { "present", "absent", "halfday", "overtime" };
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Value("${attendance.counters.days:7}")
+    private int trackedDays;
+
+    private final Map<Integer, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        domainEventBus.subscribe("attendance-counters", new DomainEventRing.Handler() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                for (DomainEvent event : events) {
+                    if (event instanceof DomainEvent.AttendanceRecorded recorded) {
+                        apply(recorded);
+                    }
+                }
+            }
+
+            @Override
+            public void onMissed(long count) {
+                reconcile();
+            }
+        });
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${attendance.counters.reconcile-ms:300000}",
+            fixedDelayString = "${attendance.counters.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        int oldest = oldestTrackedDay();
+        Map<Integer, long[]> actual = new HashMap<>();
+        for (Object[] row : attendanceRepository.countByDateAndStatusSince(Dates.ofEpochDay(oldest))) {
+            int status = indexOf((String) row[1]);
+            if (status >= 0) {
+                actual.computeIfAbsent(Dates.epochDay((LocalDate) row[0]), d -> new long[STATUSES.length])[status]
+                        += ((Number) row[2]).longValue();
+            }
+        }
+
+        counters.keySet().removeIf(day -> day < oldest);
+        for (int day = oldest, today = Dates.epochDay(LocalDate.now()); day <= today; day++) {
+            long[] expected = actual.getOrDefault(day, new long[STATUSES.length]);
+            LongAdder[] current = countersFor(day);
+            for (int i = 0; i < STATUSES.length; i++) {
+                long drift = expected[i] - current[i].sum();
+                if (drift != 0) {
+                    current[i].add(drift);
+                }
+            }
+        }
+    }
+
+    /**
+     * A bulk write moves all of its rows between the same two statuses; null stands for
+     * "no row", so an insert has no previous status and a delete no new one.
+     */
+    private void apply(DomainEvent.AttendanceRecorded recorded) {
+        if (recorded.date() == null || Objects.equals(recorded.previousStatus(), recorded.status())) {
+            return;
+        }
+        int day = Dates.epochDay(recorded.date());
+        if (day < oldestTrackedDay()) {
+            return;
+        }
+        LongAdder[] current = countersFor(day);
+        int from = indexOf(recorded.previousStatus());
+        int to = indexOf(recorded.status());
+        if (from >= 0) {
+            current[from].add(-recorded.rows());
+        }
+        if (to >= 0) {
+            current[to].add(recorded.rows());
+        }
+    }
+
+    public Map<String, Object> counts(LocalDate date) {
+        LongAdder[] current = counters.get(Dates.epochDay(date));
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("date", date.toString());
+        long total = 0;
+        for (int i = 0; i < STATUSES.length; i++) {
+            long count = current != null ? current[i].sum() : 0;
+            counts.put(STATUSES[i], count);
+            total += count;
+        }
+        counts.put("total", total);
+        return counts;
+    }
+
+    private LongAdder[] countersFor(int day) {
+        return counters.computeIfAbsent(day, d -> {
+            LongAdder[] adders = new LongAdder[STATUSES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        });
+    }
+
+    private int oldestTrackedDay() {
+        return Dates.epochDay(LocalDate.now()) - (Math.max(trackedDays, 1) - 1);
+    }
+
+    static int indexOf(String status) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (STATUSES[i].equals(status)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,19 +1,24 @@
 package com.emp.proj.employee_register.services;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.emp.proj.employee_register.entities.Attendance;
 import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.Money;
 import com.emp.proj.employee_register.repository.IAttendanceRepository;
 import com.emp.proj.employee_register.repository.IEmployeeRepository;
+import com.emp.proj.employee_register.repository.OvertimeAnalyticsRepository;
 
 import jakarta.transaction.Transactional;
 
@@ -26,12 +31,38 @@ public class AttendanceService implements IAttendanceService {
     @Autowired
     private IEmployeeRepository employeeRepository;
 
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private AttendanceArchive attendanceArchive;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AttendanceCounters attendanceCounters;
+
+    @Autowired
+    private AttendanceBitmapIndex attendanceBitmapIndex;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
+    @Autowired
+    private OvertimeAnalyticsRepository overtimeAnalyticsRepository;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
 
     @Override
     @Transactional
     public Attendance addAttendance(Attendance attendance) {
-        
+        ArchivedAttendanceException.check(attendanceArchive, attendance.getDate());
+
         Employee employee = employeeRepository.findById(attendance.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + attendance.getEmployeeId()));
 
@@ -39,29 +70,21 @@ public class AttendanceService implements IAttendanceService {
             throw new RuntimeException("Cannot add attendance for inactive employee");
         }
 
-        double baseSalary = employee.getBaseSalary();
-        double totalSalary = 0;
+        attendance.setTotalSalary(calculateTotalSalary(attendance.getStatus(),
+                salaryRateService.baseSalaryAt(employee, attendance.getDate()), attendance.getOvertimeSalary()));
 
-        switch (attendance.getStatus()) {
-            case "present":
-                totalSalary = baseSalary;
-                break;
-            case "halfday":
-                totalSalary = baseSalary / 2;
-                break;
-            case "overtime":
-                totalSalary = baseSalary + (attendance.getOvertimeSalary() != null ? attendance.getOvertimeSalary() : 0);
-                break;
-            case "absent":
-                totalSalary = 0;
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid attendance status. Must be present, absent, overtime, or halfday");
-        }
+        tableVersions.bump(TableVersions.Table.ATTENDANCE);
 
-        attendance.setTotalSalary(totalSalary);
+        Attendance saved = attendanceRepository.save(attendance);
+        domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.CREATED, saved.getId(),
+                saved.getEmployeeId(), saved.getDate(), null, saved.getStatus(), 1));
+        return saved;
+    }
 
-        return attendanceRepository.save(attendance);
+    @Override
+    public Attendance getAttendanceById(Integer attendanceId) {
+        return attendanceRepository.findById(attendanceId)
+                .orElseThrow(() -> new RuntimeException("Attendance record not found with id: " + attendanceId));
     }
 
     @Override
@@ -69,7 +92,13 @@ public class AttendanceService implements IAttendanceService {
     public Attendance updateAttendance(Attendance attendance) {
         
         Attendance existingAttendance = attendanceRepository.findById(attendance.getId())
-                .orElseThrow(() -> new RuntimeException("Attendance record not found with id: " + attendance.getId()));
+                .orElseThrow(() -> notFound(attendance.getId()));
+        StaleVersionException.check(Attendance.class, attendance.getId(), attendance.getVersion(), existingAttendance.getVersion());
+
+        domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.UPDATED,
+                existingAttendance.getId(), existingAttendance.getEmployeeId(),
+                existingAttendance.getDate(),
+                existingAttendance.getStatus(), attendance.getStatus(), 1));
 
         existingAttendance.setStatus(attendance.getStatus());
         existingAttendance.setDescription(attendance.getDescription());
@@ -89,34 +118,20 @@ public class AttendanceService implements IAttendanceService {
         Employee employee = employeeRepository.findById(existingAttendance.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        double baseSalary = employee.getBaseSalary();
-        double totalSalary = 0;
+        existingAttendance.setTotalSalary(calculateTotalSalary(
+                existingAttendance.getStatus(), salaryRateService.baseSalaryAt(employee, existingAttendance.getDate()),
+                existingAttendance.getOvertimeSalary()));
 
-        switch (existingAttendance.getStatus()) {
-            case "present":
-                totalSalary = baseSalary;
-                break;
-            case "halfday":
-                totalSalary = baseSalary / 2;
-                break;
-            case "overtime":
-                totalSalary = baseSalary + (existingAttendance.getOvertimeSalary() != null ? existingAttendance.getOvertimeSalary() : 0);
-                break;
-            case "absent":
-                totalSalary = 0;
-                break;
-        }
+        tableVersions.bump(TableVersions.Table.ATTENDANCE);
 
-        existingAttendance.setTotalSalary(totalSalary);
-
-        return attendanceRepository.save(existingAttendance);
+        return attendanceRepository.saveAndFlush(existingAttendance);
     }
 
     @Override
     @Transactional
     public Attendance updateOvertimeDetails(Integer attendanceId, String overtimeDescription, Double overtimeSalary, Double overtimeHours) {
         Attendance attendance = attendanceRepository.findById(attendanceId)
-                .orElseThrow(() -> new RuntimeException("Attendance record not found with id: " + attendanceId));
+                .orElseThrow(() -> notFound(attendanceId));
 
         if (!"overtime".equals(attendance.getStatus())) {
             throw new IllegalStateException("Cannot update overtime details for non-overtime attendance");
@@ -129,42 +144,238 @@ public class AttendanceService implements IAttendanceService {
         Employee employee = employeeRepository.findById(attendance.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        double baseSalary = employee.getBaseSalary();
-        double totalSalary = baseSalary + overtimeSalary;
+        double baseSalary = salaryRateService.baseSalaryAt(employee, attendance.getDate());
+        double totalSalary = Money.round(baseSalary + overtimeSalary);
 
         attendance.setTotalSalary(totalSalary);
 
+        tableVersions.bump(TableVersions.Table.ATTENDANCE);
+        domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.UPDATED,
+                attendance.getId(), attendance.getEmployeeId(), attendance.getDate(),
+                attendance.getStatus(), attendance.getStatus(), 1));
+
         return attendanceRepository.save(attendance);
     }
 
+    @Override
+    public Attendance upsertAttendance(Integer employeeId, String dateStr, Attendance attendance) {
+        LocalDate date = Dates.parse(dateStr);
+        ArchivedAttendanceException.check(attendanceArchive, date);
+
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+
+        if (!"active".equals(employee.getStatus())) {
+            throw new RuntimeException("Cannot add attendance for inactive employee");
+        }
+
+        double totalSalary = calculateTotalSalary(attendance.getStatus(), salaryRateService.baseSalaryAt(employee, date),
+                attendance.getOvertimeSalary());
+
+        // Two first-time saves for the same day can both take the NOT MATCHED branch; the
+        // unique key rejects the second one, and on retry it finds the row and updates it.
+        try {
+            mergeAttendance(employeeId, date, attendance, totalSalary);
+        } catch (DataIntegrityViolationException e) {
+            mergeAttendance(employeeId, date, attendance, totalSalary);
+        }
+
+        return attendanceRepository.findByEmployeeIdAndDate(employeeId, date);
+    }
+
+    @Override
+    public Map<String, Object> markAllAttendance(String dateStr, MarkAllRequest request) {
+        LocalDate date = Dates.parse(dateStr);
+        ArchivedAttendanceException.check(attendanceArchive, date);
+        String status = request.status() != null ? request.status() : "present";
+        // The default rows carry no overtime, so each one is base_salary times this factor.
+        double salaryFactor = calculateTotalSalary(status, 1.0, null);
+
+        List<Attendance> exceptions = request.exceptions() != null ? request.exceptions() : List.of();
+        Map<Integer, Double> exceptionSalaries = new HashMap<>();
+        for (Attendance exception : exceptions) {
+            Employee employee = employeeRepository.findById(exception.getEmployeeId())
+                    .orElseThrow(() -> new RuntimeException("Employee not found with id: " + exception.getEmployeeId()));
+            if (!"active".equals(employee.getStatus())) {
+                throw new RuntimeException("Cannot add attendance for inactive employee");
+            }
+            exceptionSalaries.put(employee.getId(), calculateTotalSalary(
+                    exception.getStatus(), salaryRateService.baseSalaryAt(employee, date), exception.getOvertimeSalary()));
+        }
+
+        // A concurrent single save can claim a row between the NOT EXISTS check and the
+        // insert; the unique key then fails the batch, and the retry skips that employee.
+        int inserted;
+        try {
+            inserted = markAll(date, status, request.description(), salaryFactor, exceptions, exceptionSalaries);
+        } catch (DataIntegrityViolationException e) {
+            inserted = markAll(date, status, request.description(), salaryFactor, exceptions, exceptionSalaries);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("date", dateStr);
+        result.put("status", status);
+        result.put("inserted", inserted);
+        result.put("exceptions", exceptions.size());
+        return result;
+    }
+
+    private int markAll(LocalDate date, String status, String description, double salaryFactor,
+                        List<Attendance> exceptions, Map<Integer, Double> exceptionSalaries) {
+        return transactionTemplate.execute(tx -> {
+            Map<Integer, String> previousStatuses = new HashMap<>();
+            for (Attendance exception : exceptions) {
+                previousStatuses.put(exception.getEmployeeId(),
+                        attendanceRepository.findStatusByEmployeeIdAndDate(exception.getEmployeeId(), date));
+            }
+
+            int inserted = attendanceRepository.insertForActiveEmployees(date, status, description, salaryFactor);
+            if (inserted > 0) {
+                domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.CREATED,
+                        null, null, date, null, status, inserted));
+            }
+            for (Attendance exception : exceptions) {
+                String previous = previousStatuses.get(exception.getEmployeeId());
+                domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.UPDATED, null,
+                        exception.getEmployeeId(), date, previous != null ? previous : status, exception.getStatus(), 1));
+                attendanceRepository.upsert(exception.getEmployeeId(), date, exception.getStatus(),
+                        exception.getDescription(), exception.getOvertimeDescription(),
+                        Money.toCentsOrNull(exception.getOvertimeSalary()), exception.getOvertimeHours(),
+                        Money.toCents(exceptionSalaries.get(exception.getEmployeeId())));
+            }
+            tableVersions.bump(TableVersions.Table.ATTENDANCE);
+            return inserted;
+        });
+    }
+
+    private void mergeAttendance(Integer employeeId, LocalDate date, Attendance attendance, double totalSalary) {
+        transactionTemplate.executeWithoutResult(status -> {
+            String previous = attendanceRepository.findStatusByEmployeeIdAndDate(employeeId, date);
+            attendanceRepository.upsert(employeeId, date, attendance.getStatus(), attendance.getDescription(),
+                    attendance.getOvertimeDescription(), Money.toCentsOrNull(attendance.getOvertimeSalary()),
+                    attendance.getOvertimeHours(), Money.toCents(totalSalary));
+            domainEventBus.publish(new DomainEvent.AttendanceRecorded(
+                    previous == null ? DomainEvent.Operation.CREATED : DomainEvent.Operation.UPDATED,
+                    null, employeeId, date, previous, attendance.getStatus(), 1));
+            tableVersions.bump(TableVersions.Table.ATTENDANCE);
+        });
+    }
+
+    /** Rounded to cents, so the entity holds the total as it will be stored. */
+    private double calculateTotalSalary(String status, double baseSalary, Double overtimeSalary) {
+        switch (status == null ? "" : status) {
+            case "present":
+                return Money.round(baseSalary);
+            case "halfday":
+                return Money.round(baseSalary / 2);
+            case "overtime":
+                return Money.round(baseSalary + (overtimeSalary != null ? overtimeSalary : 0));
+            case "absent":
+                return 0;
+            default:
+                throw new IllegalArgumentException("Invalid attendance status. Must be present, absent, overtime, or halfday");
+        }
+    }
+
+    @Override
+    public Map<String, Object> getTodayCounts() {
+        return attendanceCounters.counts(LocalDate.now());
+    }
+
     @Override
     public List<Attendance> findAll() {
-        return attendanceRepository.findAll();
+        List<Attendance> attendance = readArchive(null, null);
+        attendance.addAll(attendanceRepository.findAll());
+        return attendance;
+    }
+
+    /**
+     * A ?fields= projection over both tiers: archived rows first, as the unprojected
+     * listings return them, then the table's rows selected as a tuple projection.
+     */
+    @Override
+    public List<Map<String, Object>> findAttendanceFields(String fields, Integer employeeId, LocalDate date) {
+        List<Map<String, Object>> rows = fieldProjectionService.project(Attendance.class, fields,
+                readArchive(employeeId, date));
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        if (employeeId != null) {
+            filters.put("employeeId", employeeId);
+        }
+        if (date != null) {
+            filters.put("date", date);
+        }
+        rows.addAll(fieldProjectionService.findFields(Attendance.class, fields, filters));
+        return rows;
+    }
+
+    private List<Attendance> readArchive(Integer employeeId, LocalDate date) {
+        if (date != null) {
+            List<Attendance> attendance = attendanceArchive.readDate(date);
+            if (employeeId != null) {
+                attendance.removeIf(a -> !employeeId.equals(a.getEmployeeId()));
+            }
+            return attendance;
+        }
+        if (employeeId != null) {
+            return attendanceArchive.readEmployee(employeeId);
+        }
+        List<Attendance> attendance = new ArrayList<>();
+        for (YearMonth month : attendanceArchive.months()) {
+            attendance.addAll(attendanceArchive.read(month, null));
+        }
+        return attendance;
     }
 
     @Override
     public List<Attendance> getAttendanceByEmployeeId(Integer employeeId) {
-        return attendanceRepository.findByEmployeeId(employeeId);
+        List<Attendance> history = attendanceArchive.readEmployee(employeeId);
+        history.addAll(attendanceRepository.findByEmployeeId(employeeId));
+        return history;
     }
 
     @Override
     public List<Attendance> getAttendanceByDate(String dateStr) {
-        try {
-            Date date = dateFormat.parse(dateStr);
-            return attendanceRepository.findByDate(date);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
-        }
+        LocalDate date = Dates.parse(dateStr);
+        List<Attendance> attendance = attendanceArchive.readDate(date);
+        attendance.addAll(attendanceRepository.findByDate(date));
+        return attendance;
     }
 
     @Override
     public Attendance getAttendanceByEmployeeIdAndDate(Integer employeeId, String dateStr) {
-        try {
-            Date date = dateFormat.parse(dateStr);
-            return attendanceRepository.findByEmployeeIdAndDate(employeeId, date);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        LocalDate date = Dates.parse(dateStr);
+        Attendance attendance = attendanceRepository.findByEmployeeIdAndDate(employeeId, date);
+        if (attendance != null) {
+            return attendance;
         }
+        return attendanceArchive.readDate(date).stream()
+                .filter(a -> employeeId.equals(a.getEmployeeId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Map<String, Object> queryAttendanceSets(AttendanceSetQuery query) {
+        return attendanceBitmapIndex.query(query);
+    }
+
+    @Override
+    public AttendanceCalendar getAttendanceCalendar(Integer employeeId, int year) {
+        AttendanceCalendar calendar = new AttendanceCalendar(employeeId, year);
+        for (YearMonth month : attendanceArchive.months()) {
+            if (month.getYear() == year) {
+                for (Attendance attendance : attendanceArchive.read(month, employeeId)) {
+                    calendar.set(attendance.getDate(), attendance.getStatus());
+                }
+            }
+        }
+        List<Object[]> entries = attendanceRepository.findCalendarEntries(employeeId,
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+        for (Object[] entry : entries) {
+            calendar.set((LocalDate) entry[0], (String) entry[1]);
+        }
+        return calendar;
     }
 
     @Override
@@ -173,14 +384,16 @@ public class AttendanceService implements IAttendanceService {
         employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
 
-        List<Attendance> attendanceList = attendanceRepository.findByEmployeeIdAndMonthAndYear(employeeId, month, year);
+        List<Attendance> attendanceList = attendanceArchive.read(YearMonth.of(year, month), employeeId);
+        attendanceList.addAll(attendanceRepository.findByEmployeeIdAndMonthAndYear(employeeId, month, year));
 
         int presentDays = 0;
         int absentDays = 0;
         int halfDays = 0;
         int overtimeDays = 0;
-        double totalSalary = 0;
-        double totalOvertimeSalary = 0;
+        // Added up in cents: no boxing and no floating-point drift over a month of rows.
+        long totalSalaryCents = 0;
+        long totalOvertimeSalaryCents = 0;
         double totalOvertimeHours = 0;
 
         for (Attendance attendance : attendanceList) {
@@ -196,12 +409,12 @@ public class AttendanceService implements IAttendanceService {
                     break;
                 case "overtime":
                     overtimeDays++;
-                    totalOvertimeSalary += (attendance.getOvertimeSalary() != null ? attendance.getOvertimeSalary() : 0);
+                    totalOvertimeSalaryCents += Money.centsOf(attendance.getOvertimeSalary());
                     totalOvertimeHours += (attendance.getOvertimeHours() != null ? attendance.getOvertimeHours() : 0);
                     break;
             }
 
-            totalSalary += (attendance.getTotalSalary() != null ? attendance.getTotalSalary() : 0);
+            totalSalaryCents += Money.centsOf(attendance.getTotalSalary());
         }
 
         Map<String, Object> summary = new HashMap<>();
@@ -213,20 +426,59 @@ public class AttendanceService implements IAttendanceService {
         summary.put("halfDays", halfDays);
         summary.put("overtimeDays", overtimeDays);
         summary.put("totalDays", attendanceList.size());
-        summary.put("totalSalary", totalSalary);
-        summary.put("totalOvertimeSalary", totalOvertimeSalary);
+        summary.put("totalSalary", Money.toAmount(totalSalaryCents));
+        summary.put("totalOvertimeSalary", Money.toAmount(totalOvertimeSalaryCents));
         summary.put("totalOvertimeHours", totalOvertimeHours);
 
         return summary;
     }
 
+    @Override
+    @Transactional
+    public Map<String, Object> getOvertimeAnalytics(LocalDate from, LocalDate to, int top) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        LocalDate end = to.plusDays(1);
+
+        List<Map<String, Object>> byEmployee = overtimeAnalyticsRepository.byEmployee(from, end);
+
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("from", from.toString());
+        analytics.put("to", to.toString());
+        analytics.put("totals", overtimeAnalyticsRepository.totals(from, end));
+        analytics.put("byRole", overtimeAnalyticsRepository.byRole(from, end));
+        analytics.put("monthly", overtimeAnalyticsRepository.monthly(from, end));
+        analytics.put("topEmployees", byEmployee.subList(0, Math.min(top, byEmployee.size())));
+        analytics.put("byEmployee", byEmployee);
+        return analytics;
+    }
+
     @Override
     @Transactional
     public boolean deleteAttendance(Integer attendanceId) {
-        if (attendanceRepository.existsById(attendanceId)) {
-            attendanceRepository.deleteById(attendanceId);
+        Attendance attendance = attendanceRepository.findById(attendanceId).orElse(null);
+        if (attendance != null) {
+            attendanceRepository.delete(attendance);
+            domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.DELETED,
+                    attendance.getId(), attendance.getEmployeeId(), attendance.getDate(),
+                    attendance.getStatus(), null, 1));
+            tableVersions.bump(TableVersions.Table.ATTENDANCE);
             return true;
         }
+        Attendance archived = attendanceArchive.find(attendanceId);
+        if (archived != null) {
+            throw new ArchivedAttendanceException(YearMonth.from(archived.getDate()));
+        }
         return false;
     }
+
+    /** A row that was moved to the archive still exists, but can no longer be written. */
+    private RuntimeException notFound(Integer attendanceId) {
+        Attendance archived = attendanceArchive.find(attendanceId);
+        if (archived != null) {
+            return new ArchivedAttendanceException(YearMonth.from(archived.getDate()));
+        }
+        return new RuntimeException("Attendance record not found with id: " + attendanceId);
+    }
 }
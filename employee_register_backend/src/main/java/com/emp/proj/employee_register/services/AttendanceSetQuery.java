@@ -0,0 +1,24 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body of an attendance set query; each node sets exactly one of:
+ * <ul>
+ * <li>{@code status}: employees with that status on {@code date}, or on at least
+ * {@code min} (default 1, or every day with {@code all}) of the days from {@code from}
+ * to {@code to} inclusive, optionally only those falling on {@code dayOfWeek};</li>
+ * <li>{@code and} / {@code or}: the intersection or union of the nested queries;</li>
+ * <li>{@code not}: employees with a record on any day the whole query mentions, minus
+ * those matching the nested query.</li>
+ * </ul>
+ * For example, absent on both of two dates is
+ * {@code {"and": [{"status": "absent", "date": "2024-05-02"}, {"status": "absent", "date": "2024-05-09"}]}}.
+ */
+public record AttendanceSetQuery(String status, LocalDate date, LocalDate from, LocalDate to,
+                                 DayOfWeek dayOfWeek, Integer min, Boolean all,
+                                 List<AttendanceSetQuery> and, List<AttendanceSetQuery> or,
+                                 AttendanceSetQuery not) {
+}
@@ -0,0 +1,89 @@
+package com.emp.proj.employee_register.services;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves closed months out of the attendance table into the {@link AttendanceArchive}.
+ * The newest attendance.archive.hot-months months (current and previous by default)
+ * always stay in the database, since that is what summaries and payroll work on.
+ */
+@Service
+public class AttendanceTieringService {
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchive attendanceArchive;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private AttendanceBitmapIndex attendanceBitmapIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${attendance.archive.hot-months:2}")
+    private int hotMonths;
+
+    /** Returns the number of rows moved to the archive. */
+    @Scheduled(cron = "${attendance.archive.cron:0 30 2 * * *}")
+    public synchronized int tierClosedMonths() {
+        LocalDate earliest = attendanceRepository.findEarliestDate();
+        if (earliest == null) {
+            return 0;
+        }
+
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(Math.max(hotMonths, 1) - 1);
+        int moved = 0;
+        for (YearMonth month = YearMonth.from(earliest);
+             month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            YearMonth closedMonth = month;
+            moved += transactionTemplate.execute(status -> tierMonth(closedMonth));
+        }
+
+        if (moved > 0) {
+            System.out.println("Moved " + moved + " attendance rows to the archive");
+        }
+        return moved;
+    }
+
+    /**
+     * Rows are locked while they are copied, so a concurrent update either lands before
+     * the copy or fails because the row is gone. The archive is forced to disk before the
+     * delete commits; if the commit then fails, the next run finds the same rows and skips
+     * the ids already archived.
+     */
+    private int tierMonth(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        List<Attendance> rows = attendanceRepository.findForTiering(from, to);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Set<Integer> archived = attendanceArchive.archivedIds(month);
+        attendanceArchive.append(month, rows.stream().filter(a -> !archived.contains(a.getId())).toList());
+
+        int maxId = rows.stream().mapToInt(Attendance::getId).max().getAsInt();
+        attendanceRepository.copyOvertimeForTiering(from, to, maxId);
+        attendanceRepository.deleteTiered(from, to, maxId);
+        attendanceBitmapIndex.archived(month);
+        tableVersions.bump(TableVersions.Table.ATTENDANCE);
+        return rows.size();
+    }
+}
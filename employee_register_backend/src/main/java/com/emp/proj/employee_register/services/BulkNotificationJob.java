@@ -0,0 +1,101 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk salary notification run, with a status per recipient.
+ */
+public class BulkNotificationJob {
+
+    public record RecipientStatus(Integer salaryId, Integer employeeId, String email, String status, String error) {
+    }
+
+    private final String jobId;
+    private final int total;
+    private final Date startedAt = new Date();
+    private volatile Date completedAt;
+
+    private final Map<Integer, RecipientStatus> recipients = new ConcurrentHashMap<>();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    public BulkNotificationJob(String jobId, int total) {
+        this.jobId = jobId;
+        this.total = total;
+        // A run with nothing to send is finished as soon as it starts
+        checkCompleted();
+    }
+
+    void pending(Integer salaryId, Integer employeeId, String email) {
+        recipients.put(salaryId, new RecipientStatus(salaryId, employeeId, email, "pending", null));
+    }
+
+    void sent(Integer salaryId) {
+        recipients.computeIfPresent(salaryId, (id, r) -> new RecipientStatus(id, r.employeeId(), r.email(), "sent", null));
+        sent.incrementAndGet();
+        checkCompleted();
+    }
+
+    void failed(Integer salaryId, String error) {
+        recipients.computeIfPresent(salaryId, (id, r) -> new RecipientStatus(id, r.employeeId(), r.email(), "failed", error));
+        failed.incrementAndGet();
+        checkCompleted();
+    }
+
+    void skipped(Integer salaryId, Integer employeeId, String reason) {
+        recipients.put(salaryId, new RecipientStatus(salaryId, employeeId, null, "skipped", reason));
+        skipped.incrementAndGet();
+        checkCompleted();
+    }
+
+    private void checkCompleted() {
+        if (getPending() == 0 && completedAt == null) {
+            completedAt = new Date();
+        }
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getSent() {
+        return sent.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getPending() {
+        return total - sent.get() - failed.get() - skipped.get();
+    }
+
+    public boolean isCompleted() {
+        return getPending() == 0;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public Date getCompletedAt() {
+        return completedAt;
+    }
+
+    public Collection<RecipientStatus> getRecipients() {
+        return recipients.values();
+    }
+}
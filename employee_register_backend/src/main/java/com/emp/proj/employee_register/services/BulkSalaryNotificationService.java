@@ -0,0 +1,176 @@
+package com.emp.proj.employee_register.services;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.repository.IEmployeeRepository;
+import com.emp.proj.employee_register.repository.ISalaryRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends salary notifications for a payroll run in parallel over pooled SMTP
+ * connections, honouring the pool's send rate, and tracks progress per recipient.
+ * Finished jobs can be looked up for a retention period, then they are dropped.
+ */
+@Service
+public class BulkSalaryNotificationService {
+
+    private record PreparedMessage(Integer salaryId, String toEmail, String htmlContent) {
+    }
+
+    @Autowired
+    private ISalaryRepository salaryRepository;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    @Lazy
+    private EmailService emailService;
+
+    @Autowired
+    private SmtpTransportPool transportPool;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.bulk.job-retention-ms:3600000}")
+    private long jobRetentionMs;
+
+    private final Map<String, BulkNotificationJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+
+    public BulkNotificationJob notifySalaries(List<Integer> requestedIds) {
+        List<Integer> salaryIds = requestedIds.stream().distinct().toList();
+        List<Salary> salaries = salaryRepository.findAllById(salaryIds);
+        Map<Integer, Employee> employees = employeeRepository.findAllById(
+                        salaries.stream().map(Salary::getEmployeeId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        BulkNotificationJob job = new BulkNotificationJob(UUID.randomUUID().toString(), salaryIds.size());
+        jobs.put(job.getJobId(), job);
+
+        List<SalaryNotification> notifications = new ArrayList<>();
+        List<Integer> notificationSalaryIds = new ArrayList<>();
+        for (Salary salary : salaries) {
+            Employee employee = employees.get(salary.getEmployeeId());
+            if (employee == null || employee.getEmail() == null || employee.getEmail().isEmpty()) {
+                job.skipped(salary.getId(), salary.getEmployeeId(), "Employee has no email address");
+                continue;
+            }
+            if (salary.getAmount() == null || salary.getDatePaid() == null) {
+                job.skipped(salary.getId(), salary.getEmployeeId(), "Salary record has no amount or payment date");
+                continue;
+            }
+            job.pending(salary.getId(), employee.getId(), employee.getEmail());
+            notifications.add(new SalaryNotification(employee.getEmail(), employee.getName(),
+                    salary.getAmount(), salary.getDatePaid()));
+            notificationSalaryIds.add(salary.getId());
+        }
+
+        Set<Integer> foundIds = salaries.stream().map(Salary::getId).collect(Collectors.toSet());
+        for (Integer salaryId : salaryIds) {
+            if (!foundIds.contains(salaryId)) {
+                job.skipped(salaryId, null, "Salary record not found");
+            }
+        }
+
+        Queue<PreparedMessage> queue = new ConcurrentLinkedQueue<>();
+        int[] index = {0};
+        emailService.renderSalaryNotifications(notifications, (notification, html) ->
+                queue.add(new PreparedMessage(notificationSalaryIds.get(index[0]++), notification.toEmail(), html.toString())));
+
+        int workerCount = Math.min(transportPool.getPoolSize(), queue.size());
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(() -> drain(job, queue));
+        }
+
+        System.out.println("Bulk salary notification job " + job.getJobId() + " started for "
+                + queue.size() + " recipients with " + workerCount + " connections");
+        return job;
+    }
+
+    public BulkNotificationJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Drop jobs that finished longer ago than the retention period. Each one holds the
+     * status and email address of every recipient, so they are not kept for good.
+     */
+    @Scheduled(fixedDelayString = "${email.bulk.job-sweep-ms:60000}")
+    public void evictCompletedJobs() {
+        long cutoff = System.currentTimeMillis() - jobRetentionMs;
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().getTime() < cutoff);
+    }
+
+    private void drain(BulkNotificationJob job, Queue<PreparedMessage> queue) {
+        SmtpTransportPool.Lease lease;
+        try {
+            lease = transportPool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            PreparedMessage message;
+            while ((message = queue.poll()) != null) {
+                try {
+                    lease.send(buildMessage(message));
+                    job.sent(message.salaryId());
+                } catch (SendFailedException e) {
+                    job.failed(message.salaryId(), e.getMessage());
+                } catch (MessagingException | RuntimeException e) {
+                    job.failed(message.salaryId(), e.getMessage());
+                    lease.disconnect();
+                } catch (InterruptedException e) {
+                    job.failed(message.salaryId(), "Interrupted");
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            transportPool.release(lease);
+        }
+    }
+
+    private MimeMessage buildMessage(PreparedMessage message) throws MessagingException {
+        MimeMessage mimeMessage = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+        helper.setTo(message.toEmail());
+        helper.setSubject("Salary Payment Notification");
+        helper.setText(message.htmlContent(), true);
+        helper.setFrom(fromEmail);
+
+        return mimeMessage;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
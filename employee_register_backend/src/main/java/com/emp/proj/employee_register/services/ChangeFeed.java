@@ -0,0 +1,247 @@
+package com.emp.proj.employee_register.services;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed changes to dashboards over Server-Sent Events. Each domain event is
+ * turned into a compact notification and serialised once into a shared buffer of recent
+ * frames; every connected client only keeps a cursor into it. Idle connections are
+ * asynchronous requests and hold no thread. Clients with frames to send are drained by a
+ * small pool of sender threads, one drain per client at a time. A client more than
+ * max-lag frames behind, or one resuming from an id that has left the buffer, is sent a
+ * single "resync" event and closed, and is expected to reload before reconnecting.
+ */
+@Component
+public class ChangeFeed {
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int bufferSize;
+    private final int maxLag;
+    private final long timeoutMillis;
+    // frames[seq % bufferSize] holds the frame with id seq; only the event subscriber writes.
+    private final AtomicReferenceArray<String> frames;
+    private final AtomicLong head = new AtomicLong();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public ChangeFeed(@Value("${stream.changes.buffer-size:4096}") int bufferSize,
+                      @Value("${stream.changes.max-lag:1024}") int maxLag,
+                      @Value("${stream.changes.timeout-ms:1800000}") long timeoutMillis,
+                      @Value("${stream.changes.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.maxLag = Math.min(maxLag, bufferSize);
+        this.timeoutMillis = timeoutMillis;
+        this.frames = new AtomicReferenceArray<>(bufferSize);
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        domainEventBus.subscribe("change-feed", new DomainEventRing.Handler() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                append(events);
+            }
+
+            @Override
+            public void onMissed(long count) {
+                // Clients can no longer be brought up to date frame by frame.
+                clients.forEach(client -> client.resync = true);
+                wakeAll();
+            }
+        });
+    }
+
+    /**
+     * Opens a stream. A client reconnecting with the id of the last frame it saw resumes
+     * after it, if that is still buffered; anyone else starts from the next change.
+     */
+    public SseEmitter connect(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        long current = head.get();
+        Client client = new Client(emitter, lastEventId != null ? lastEventId + 1 : current);
+        if (client.cursor > current || current - client.cursor > maxLag) {
+            client.resync = true;
+        }
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(error -> clients.remove(client));
+        clients.add(client);
+        wake(client);
+        return emitter;
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("clients", clients.size());
+        statistics.put("frames", head.get());
+        statistics.put("resyncs", resyncs.get());
+        return statistics;
+    }
+
+    /** Keeps idle connections open through proxies, and finds the ones that have gone. */
+    @Scheduled(fixedDelayString = "${stream.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        clients.forEach(client -> client.heartbeat = true);
+        wakeAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+        clients.clear();
+    }
+
+    private void append(List<DomainEvent> events) {
+        long next = head.get();
+        for (DomainEvent event : events) {
+            try {
+                frames.set((int) (next % bufferSize), objectMapper.writeValueAsString(notification(event)));
+            } catch (JsonProcessingException e) {
+                System.out.println("Could not serialise change notification: " + e.getMessage());
+                frames.set((int) (next % bufferSize), "{}");
+            }
+            next++;
+        }
+        head.set(next);
+        wakeAll();
+    }
+
+    /** The entity, its id, what happened and the values a counter needs to follow the change. */
+    static Map<String, Object> notification(DomainEvent event) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        Map<String, Object> delta = new LinkedHashMap<>();
+        if (event instanceof DomainEvent.AttendanceRecorded recorded) {
+            notification.put("type", "attendance");
+            notification.put("id", recorded.attendanceId());
+            delta.put("date", recorded.date() != null ? recorded.date().toString() : null);
+            delta.put("from", recorded.previousStatus());
+            delta.put("to", recorded.status());
+            delta.put("rows", recorded.rows());
+        } else if (event instanceof DomainEvent.SalaryPaid paid) {
+            notification.put("type", "salary");
+            notification.put("id", paid.salaryId());
+            delta.put("amount", paid.amount());
+        } else if (event instanceof DomainEvent.LoanRegistered loan) {
+            notification.put("type", "loan");
+            notification.put("id", loan.loanId());
+            delta.put("loanAmount", loan.loanAmount());
+            delta.put("status", loan.status());
+        } else if (event instanceof DomainEvent.RepaymentPosted repayment) {
+            notification.put("type", "repayment");
+            notification.put("id", repayment.repaymentId());
+            delta.put("loanId", repayment.loanId());
+            delta.put("repayAmount", repayment.repayAmount());
+        } else if (event instanceof DomainEvent.EmployeeChanged changed) {
+            notification.put("type", "employee");
+            notification.put("id", changed.employeeId());
+            delta.put("status", changed.status());
+        }
+        notification.put("employeeId", event.employeeId());
+        notification.put("operation", event.operation().name().toLowerCase());
+        notification.put("delta", delta);
+        return notification;
+    }
+
+    private void wakeAll() {
+        clients.forEach(this::wake);
+    }
+
+    private void wake(Client client) {
+        if (client.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(client));
+            } catch (RuntimeException e) {
+                client.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            while (true) {
+                long end = head.get();
+                if (!client.resync && end - client.cursor > maxLag) {
+                    client.resync = true;
+                }
+                if (client.resync) {
+                    resyncs.incrementAndGet();
+                    clients.remove(client);
+                    client.emitter.send(SseEmitter.event().name("resync").data("{}"));
+                    client.emitter.complete();
+                    return;
+                }
+                if (client.cursor < end) {
+                    for (long seq = client.cursor; seq < end; seq++) {
+                        client.emitter.send(SseEmitter.event().id(Long.toString(seq)).name("change")
+                                .data(frames.get((int) (seq % bufferSize))));
+                    }
+                    client.cursor = end;
+                    client.heartbeat = false;
+                } else if (client.heartbeat) {
+                    client.heartbeat = false;
+                    client.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                client.draining.set(false);
+                // Frames appended after the last look would otherwise wait for the next change.
+                if ((head.get() == client.cursor && !client.resync && !client.heartbeat)
+                        || !client.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            clients.remove(client);
+            client.draining.set(false);
+            client.emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Client {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean resync;
+        private volatile boolean heartbeat;
+
+        private Client(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable set of non-negative ints laid out like a Roaring bitmap: ids are grouped
+ * by their high 16 bits, and each group's low 16 bits are kept either as a sorted array
+ * (up to 4096 values) or as a 65536-bit bitmap, whichever is smaller. Set operations work
+ * group by group, so a sparse set costs a few bytes per id and a dense one a bit per id.
+ */
+public final class CompressedBitmap {
+
+    public static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Object[0]);
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    // Parallel arrays: keys[i] is a group's high 16 bits; containers[i] is either a sorted
+    // char[] of its low bits or a long[WORDS] bitmap of them. Empty groups are never stored.
+    private final char[] keys;
+    private final Object[] containers;
+
+    private CompressedBitmap(char[] keys, Object[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    public static CompressedBitmap of(int... ids) {
+        int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+        char[] keys = new char[sorted.length];
+        Object[] containers = new Object[sorted.length];
+        int groups = 0;
+        for (int start = 0; start < sorted.length;) {
+            checkId(sorted[start]);
+            char key = high(sorted[start]);
+            int end = start;
+            while (end < sorted.length && high(sorted[end]) == key) {
+                end++;
+            }
+            char[] values = new char[end - start];
+            for (int i = start; i < end; i++) {
+                values[i - start] = low(sorted[i]);
+            }
+            keys[groups] = key;
+            containers[groups++] = values.length > ARRAY_LIMIT ? toWords(values) : values;
+            start = end;
+        }
+        return new CompressedBitmap(Arrays.copyOf(keys, groups), Arrays.copyOf(containers, groups));
+    }
+
+    public boolean contains(int id) {
+        int group = id < 0 ? -1 : Arrays.binarySearch(keys, high(id));
+        return group >= 0 && containsLow(containers[group], low(id));
+    }
+
+    public CompressedBitmap add(int id) {
+        checkId(id);
+        return or(of(id));
+    }
+
+    public CompressedBitmap remove(int id) {
+        return contains(id) ? andNot(of(id)) : this;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (Object container : containers) {
+            cardinality += cardinality(container);
+        }
+        return cardinality;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        char[] resultKeys = new char[Math.min(keys.length, other.keys.length)];
+        Object[] result = new Object[resultKeys.length];
+        int groups = 0;
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length;) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object container = and(containers[i], other.containers[j]);
+                if (container != null) {
+                    resultKeys[groups] = keys[i];
+                    result[groups++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new CompressedBitmap(Arrays.copyOf(resultKeys, groups), Arrays.copyOf(result, groups));
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        char[] resultKeys = new char[keys.length + other.keys.length];
+        Object[] result = new Object[resultKeys.length];
+        int groups = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                resultKeys[groups] = keys[i];
+                result[groups++] = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                resultKeys[groups] = other.keys[j];
+                result[groups++] = other.containers[j++];
+            } else {
+                resultKeys[groups] = keys[i];
+                result[groups++] = or(containers[i++], other.containers[j++]);
+            }
+        }
+        return new CompressedBitmap(Arrays.copyOf(resultKeys, groups), Arrays.copyOf(result, groups));
+    }
+
+    public CompressedBitmap andNot(CompressedBitmap other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        char[] resultKeys = new char[keys.length];
+        Object[] result = new Object[keys.length];
+        int groups = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int j = Arrays.binarySearch(other.keys, keys[i]);
+            Object container = j < 0 ? containers[i] : andNot(containers[i], other.containers[j]);
+            if (container != null) {
+                resultKeys[groups] = keys[i];
+                result[groups++] = container;
+            }
+        }
+        return new CompressedBitmap(Arrays.copyOf(resultKeys, groups), Arrays.copyOf(result, groups));
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int base = keys[i] << 16;
+            if (containers[i] instanceof char[] values) {
+                for (char value : values) {
+                    action.accept(base | value);
+                }
+            } else {
+                long[] words = (long[]) containers[i];
+                for (int w = 0; w < WORDS; w++) {
+                    for (long word = words[w]; word != 0; word &= word - 1) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    }
+                }
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] ids = new int[cardinality()];
+        int[] next = { 0 };
+        forEach(id -> ids[next[0]++] = id);
+        return ids;
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y) {
+            char[] values = new char[Math.min(x.length, y.length)];
+            int n = 0;
+            for (int i = 0, j = 0; i < x.length && j < y.length;) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    values[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(values, n);
+        }
+        if (a instanceof char[] x) {
+            return filter(x, (long[]) b, true);
+        }
+        if (b instanceof char[] y) {
+            return filter(y, (long[]) a, true);
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        long[] words = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            words[w] = x[w] & y[w];
+        }
+        return shrink(words);
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y) {
+            char[] values = new char[x.length + y.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j == y.length || (i < x.length && x[i] < y[j])) {
+                    values[n++] = x[i++];
+                } else if (i == x.length || x[i] > y[j]) {
+                    values[n++] = y[j++];
+                } else {
+                    values[n++] = x[i++];
+                    j++;
+                }
+            }
+            return n > ARRAY_LIMIT ? toWords(Arrays.copyOf(values, n)) : Arrays.copyOf(values, n);
+        }
+        long[] words = a instanceof char[] x ? toWords(x) : ((long[]) a).clone();
+        if (b instanceof char[] y) {
+            for (char value : y) {
+                words[value >>> 6] |= 1L << value;
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                words[w] |= y[w];
+            }
+        }
+        return words;
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[] x) {
+            if (b instanceof char[] y) {
+                char[] values = new char[x.length];
+                int n = 0;
+                for (char value : x) {
+                    if (Arrays.binarySearch(y, value) < 0) {
+                        values[n++] = value;
+                    }
+                }
+                return n == 0 ? null : Arrays.copyOf(values, n);
+            }
+            return filter(x, (long[]) b, false);
+        }
+        long[] words = ((long[]) a).clone();
+        if (b instanceof char[] y) {
+            for (char value : y) {
+                words[value >>> 6] &= ~(1L << value);
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                words[w] &= ~y[w];
+            }
+        }
+        return shrink(words);
+    }
+
+    /** The values of an array container that are (or are not) set in a bitmap container. */
+    private static char[] filter(char[] values, long[] words, boolean keep) {
+        char[] kept = new char[values.length];
+        int n = 0;
+        for (char value : values) {
+            if (((words[value >>> 6] & (1L << value)) != 0) == keep) {
+                kept[n++] = value;
+            }
+        }
+        return n == 0 ? null : Arrays.copyOf(kept, n);
+    }
+
+    /** A bitmap container back as an array once it is sparse enough, or null when empty. */
+    private static Object shrink(long[] words) {
+        int cardinality = cardinality(words);
+        if (cardinality == 0) {
+            return null;
+        }
+        if (cardinality > ARRAY_LIMIT) {
+            return words;
+        }
+        char[] values = new char[cardinality];
+        int n = 0;
+        for (int w = 0; w < WORDS; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return values;
+    }
+
+    private static long[] toWords(char[] values) {
+        long[] words = new long[WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static boolean containsLow(Object container, char value) {
+        if (container instanceof char[] values) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+        return (((long[]) container)[value >>> 6] & (1L << value)) != 0;
+    }
+
+    private static int cardinality(Object container) {
+        if (container instanceof char[] values) {
+            return values.length;
+        }
+        int cardinality = 0;
+        for (long word : (long[]) container) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Bitmap ids must not be negative: " + id);
+        }
+    }
+
+    private static char high(int id) {
+        return (char) (id >>> 16);
+    }
+
+    private static char low(int id) {
+        return (char) id;
+    }
+}
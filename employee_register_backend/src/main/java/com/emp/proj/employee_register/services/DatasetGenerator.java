@@ -0,0 +1,174 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+
+/**
+ * Produces a synthetic but internally consistent dataset for benchmarks: employees, their
+ * daily attendance over the configured years, a salary at the end of every month equal to
+ * that month's attendance totals, and loans repaid in monthly installments. Each employee
+ * draws from a random source seeded with the dataset seed and the employee's number, so
+ * the same settings always give the same rows, in the same order, however they are loaded.
+ */
+public class DatasetGenerator {
+
+    private static final String[] ROLES = { "worker", "worker", "worker", "worker", "worker", "worker",
+            "driver", "driver", "supervisor", "cleaner" };
+    private static final String[] LOAN_REASONS = { "medical", "education", "housing", "vehicle", "wedding", "personal" };
+
+    /** Where the rows go. Ids are assigned by the generator, starting after the given offsets. */
+    public interface Rows {
+        void employee(int id, String name, String phoneNo, String email, String address, String role,
+                      LocalDate joinDate, double baseSalary, String status);
+
+        void attendance(int employeeId, LocalDate date, String status, double overtimeHours,
+                        double overtimeSalary, double totalSalary);
+
+        void salary(int employeeId, LocalDate datePaid, double amount, LocalDate lastSalaryDate);
+
+        void loan(int loanId, int employeeId, LocalDate loanDate, double loanAmount, String reason, String status);
+
+        void repayment(int loanId, int employeeId, LocalDate repayDate, double repayAmount);
+    }
+
+    /**
+     * absenceRate, halfdayRate and overtimeRate are per working day; loanRate is the chance
+     * of a new loan per employee and year. Loan sizes are log-uniform between loanMin and
+     * loanMax, so small loans are the most common.
+     */
+    public record Settings(long seed, int employees, int years, LocalDate endDate, boolean sundaysOff,
+                           double absenceRate, double halfdayRate, double overtimeRate, int overtimeMaxHours,
+                           double loanRate, double loanMin, double loanMax, int repayMonths) {
+    }
+
+    /** Rows produced, per table. */
+    public record Counts(long employees, long attendance, long salaries, long loans, long repayments) {
+
+        public long total() {
+            return employees + attendance + salaries + loans + repayments;
+        }
+    }
+
+    private final Settings settings;
+
+    public DatasetGenerator(Settings settings) {
+        this.settings = settings;
+    }
+
+    public Counts generate(int firstEmployeeId, int firstLoanId, Rows rows) {
+        LocalDate start = settings.endDate().minusYears(settings.years()).plusDays(1);
+        long[] counts = new long[5];
+        int loanId = firstLoanId;
+        for (int n = 0; n < settings.employees(); n++) {
+            loanId = employee(n, firstEmployeeId + n, loanId, start, rows, counts);
+        }
+        return new Counts(counts[0], counts[1], counts[2], counts[3], counts[4]);
+    }
+
+    private int employee(int n, int id, int loanId, LocalDate start, Rows rows, long[] counts) {
+        SplittableRandom random = new SplittableRandom(settings.seed() * 1_000_003L + n);
+        LocalDate end = settings.endDate();
+
+        // Most employees were there before the dataset starts; the rest join during it.
+        LocalDate joinDate = random.nextInt(10) < 7
+                ? start.minusDays(1 + random.nextInt(3650))
+                : start.plusDays(random.nextInt((int) (end.toEpochDay() - start.toEpochDay()) + 1));
+        // One in twenty has left, and has no attendance after leaving.
+        LocalDate lastDay = random.nextInt(20) == 0 && joinDate.isBefore(end)
+                ? joinDate.plusDays(random.nextLong(end.toEpochDay() - joinDate.toEpochDay()) + 1)
+                : end;
+        double baseSalary = Math.max(300, Math.round((600 + gaussian(random) * 120) / 10) * 10.0);
+        String number = String.format("%05d", n + 1);
+        rows.employee(id, "Employee " + number, "555" + number, "employee" + number + "@example.com",
+                "Street " + (n % 500 + 1), ROLES[random.nextInt(ROLES.length)], joinDate, baseSalary,
+                lastDay.isBefore(end) ? "inactive" : "active");
+        counts[0]++;
+
+        LocalDate first = joinDate.isAfter(start) ? joinDate : start;
+        LocalDate lastSalaryDate = null;
+        long monthCents = 0;
+        int monthDays = 0;
+        for (LocalDate day = first; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!(settings.sundaysOff() && day.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                monthCents += attendance(id, day, baseSalary, random, rows);
+                monthDays++;
+                counts[1]++;
+            }
+            // Paid at the end of every complete month the employee worked in.
+            if (day.equals(YearMonth.from(day).atEndOfMonth()) && monthDays > 0) {
+                rows.salary(id, day, monthCents / 100.0, lastSalaryDate);
+                counts[2]++;
+                lastSalaryDate = day;
+                monthCents = 0;
+                monthDays = 0;
+            }
+        }
+
+        for (LocalDate year = first; !year.isAfter(lastDay); year = year.plusYears(1)) {
+            if (random.nextDouble() < settings.loanRate()) {
+                long span = Math.min(365, lastDay.toEpochDay() - year.toEpochDay() + 1);
+                loan(loanId++, id, year.plusDays(random.nextLong(span)), lastDay, random, rows, counts);
+            }
+        }
+        return loanId;
+    }
+
+    /** Returns the day's total salary in cents. */
+    private long attendance(int employeeId, LocalDate day, double baseSalary, SplittableRandom random, Rows rows) {
+        double draw = random.nextDouble();
+        String status;
+        double hours = 0;
+        double overtimeSalary = 0;
+        double total;
+        if (draw < settings.absenceRate()) {
+            status = "absent";
+            total = 0;
+        } else if (draw < settings.absenceRate() + settings.halfdayRate()) {
+            status = "halfday";
+            total = baseSalary / 2;
+        } else if (draw < settings.absenceRate() + settings.halfdayRate() + settings.overtimeRate()) {
+            status = "overtime";
+            hours = 1 + random.nextInt(Math.max(settings.overtimeMaxHours(), 1));
+            // Time and a half on an eight-hour day's rate.
+            overtimeSalary = Math.round(hours * baseSalary / 8 * 1.5);
+            total = baseSalary + overtimeSalary;
+        } else {
+            status = "present";
+            total = baseSalary;
+        }
+        rows.attendance(employeeId, day, status, hours, overtimeSalary, total);
+        return Math.round(total * 100);
+    }
+
+    private void loan(int loanId, int employeeId, LocalDate loanDate, LocalDate lastDay, SplittableRandom random,
+                      Rows rows, long[] counts) {
+        double logMin = Math.log(settings.loanMin());
+        double logMax = Math.log(settings.loanMax());
+        long amountCents = Math.round(Math.exp(logMin + random.nextDouble() * (logMax - logMin)) / 100) * 100 * 100;
+        int months = Math.max(settings.repayMonths(), 1);
+        long installmentCents = amountCents / months;
+
+        // Installments in whole cents; the last one takes the remainder, so a repaid loan sums exactly.
+        long repaidCents = 0;
+        for (int month = 1; month <= months; month++) {
+            LocalDate repayDate = loanDate.plusMonths(month);
+            if (repayDate.isAfter(lastDay)) {
+                break;
+            }
+            long cents = month == months ? amountCents - repaidCents : installmentCents;
+            rows.repayment(loanId, employeeId, repayDate, cents / 100.0);
+            counts[4]++;
+            repaidCents += cents;
+        }
+        rows.loan(loanId, employeeId, loanDate, amountCents / 100.0, LOAN_REASONS[random.nextInt(LOAN_REASONS.length)],
+                repaidCents == amountCents ? "inactive" : "active");
+        counts[3]++;
+    }
+
+    /** Standard normal, from two uniform draws (Box-Muller). */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,216 @@
+package com.emp.proj.employee_register.services;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.entities.Money;
+
+/**
+ * Loads a {@link DatasetGenerator} dataset when the "dataset" profile is active, e.g.
+ * gradle bootRun --args='--spring.profiles.active=dataset --dataset.employees=2000'.
+ * Rows go straight to the tables in JDBC batches, before the application is ready, so the
+ * caches, indexes and read models that are built at startup already include them. With
+ * dataset.exit=true the application stops once the data is written, which is only useful
+ * with a file database.
+ */
+@Component
+@Profile("dataset")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatasetLoader implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.employees:10000}")
+    private int employees;
+
+    @Value("${dataset.years:5}")
+    private int years;
+
+    @Value("${dataset.end-date:}")
+    private String endDate;
+
+    @Value("${dataset.sundays-off:true}")
+    private boolean sundaysOff;
+
+    @Value("${dataset.absence-rate:0.04}")
+    private double absenceRate;
+
+    @Value("${dataset.halfday-rate:0.03}")
+    private double halfdayRate;
+
+    @Value("${dataset.overtime-rate:0.10}")
+    private double overtimeRate;
+
+    @Value("${dataset.overtime-max-hours:4}")
+    private int overtimeMaxHours;
+
+    @Value("${dataset.loan-rate:0.15}")
+    private double loanRate;
+
+    @Value("${dataset.loan-min:1000}")
+    private double loanMin;
+
+    @Value("${dataset.loan-max:50000}")
+    private double loanMax;
+
+    @Value("${dataset.repay-months:12}")
+    private int repayMonths;
+
+    @Value("${dataset.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${dataset.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load(settings());
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    public DatasetGenerator.Settings settings() {
+        return new DatasetGenerator.Settings(seed, employees, years,
+                endDate.isBlank() ? LocalDate.now().minusDays(1) : LocalDate.parse(endDate), sundaysOff,
+                absenceRate, halfdayRate, overtimeRate, overtimeMaxHours, loanRate, loanMin, loanMax, repayMonths);
+    }
+
+    /** Appends the dataset to whatever the tables already hold; ids continue after the highest ones. */
+    public DatasetGenerator.Counts load(DatasetGenerator.Settings settings) {
+        long started = System.nanoTime();
+        int firstEmployeeId = nextId("employees", "id");
+        int firstLoanId = nextId("loan_registrations", "loan_id");
+
+        BatchRows rows = new BatchRows();
+        DatasetGenerator.Counts counts = new DatasetGenerator(settings).generate(firstEmployeeId, firstLoanId, rows);
+        rows.flush();
+
+        // The ids were given explicitly, so the identity columns have to be moved past them.
+        restartIdentity("employees", "id");
+        restartIdentity("loan_registrations", "loan_id");
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Dataset loaded in %.1f s (%.0f rows/s): %d employees, %d attendance, %d salaries, "
+                        + "%d loans, %d repayments%n", seconds, counts.total() / seconds, counts.employees(),
+                counts.attendance(), counts.salaries(), counts.loans(), counts.repayments());
+        return counts;
+    }
+
+    private int nextId(String table, String column) {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Integer.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    private void restartIdentity(String table, String column) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + nextId(table, column));
+    }
+
+    /** Buffers each table's rows and writes them as one JDBC batch per batch-size rows; amounts go in as cents. */
+    private final class BatchRows implements DatasetGenerator.Rows {
+
+        private final Batch employeeRows = new Batch("INSERT INTO employees (id, name, phone_no, email, address, role, "
+                + "join_date, base_salary, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DATE,
+                Types.DOUBLE, Types.VARCHAR);
+        private final Batch attendanceRows = new Batch("INSERT INTO attendance (emp_id, date, status, "
+                + "overtime_description, overtime_hours, overtime_salary, total_salary) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                Types.INTEGER, Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.BIGINT, Types.BIGINT);
+        private final Batch salaryRows = new Batch("INSERT INTO salaries (emp_id, date_paid, payment_type, amount, "
+                + "last_salary_date) VALUES (?, ?, 'salary', ?, ?)",
+                Types.INTEGER, Types.DATE, Types.BIGINT, Types.DATE);
+        private final Batch loanRows = new Batch("INSERT INTO loan_registrations (loan_id, emp_id, loan_date, "
+                + "loan_amount, reason, status) VALUES (?, ?, ?, ?, ?, ?)",
+                Types.INTEGER, Types.INTEGER, Types.DATE, Types.BIGINT, Types.VARCHAR, Types.VARCHAR);
+        private final Batch repaymentRows = new Batch("INSERT INTO loan_repayments (loan_id, emp_id, repay_date, "
+                + "repay_amount) VALUES (?, ?, ?, ?)",
+                Types.INTEGER, Types.INTEGER, Types.DATE, Types.BIGINT);
+
+        @Override
+        public void employee(int id, String name, String phoneNo, String email, String address, String role,
+                             LocalDate joinDate, double baseSalary, String status) {
+            employeeRows.add(id, name, phoneNo, email, address, role, Date.valueOf(joinDate), baseSalary, status);
+        }
+
+        @Override
+        public void attendance(int employeeId, LocalDate date, String status, double overtimeHours,
+                               double overtimeSalary, double totalSalary) {
+            boolean overtime = "overtime".equals(status);
+            attendanceRows.add(employeeId, Date.valueOf(date), status, overtime ? "Extra shift" : null,
+                    overtime ? overtimeHours : null, overtime ? Money.toCents(overtimeSalary) : null, Money.toCents(totalSalary));
+        }
+
+        @Override
+        public void salary(int employeeId, LocalDate datePaid, double amount, LocalDate lastSalaryDate) {
+            salaryRows.add(employeeId, Date.valueOf(datePaid), Money.toCents(amount),
+                    lastSalaryDate != null ? Date.valueOf(lastSalaryDate) : null);
+        }
+
+        @Override
+        public void loan(int loanId, int employeeId, LocalDate loanDate, double loanAmount, String reason, String status) {
+            loanRows.add(loanId, employeeId, Date.valueOf(loanDate), Money.toCents(loanAmount), reason, status);
+        }
+
+        @Override
+        public void repayment(int loanId, int employeeId, LocalDate repayDate, double repayAmount) {
+            repaymentRows.add(loanId, employeeId, Date.valueOf(repayDate), Money.toCents(repayAmount));
+        }
+
+        void flush() {
+            employeeRows.flush();
+            loanRows.flush();
+            attendanceRows.flush();
+            salaryRows.flush();
+            repaymentRows.flush();
+        }
+
+        private final class Batch {
+
+            private final String sql;
+            // Given up front, so the driver is not asked for the type of every null.
+            private final int[] types;
+            private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+            private Batch(String sql, int... types) {
+                this.sql = sql;
+                this.types = types;
+            }
+
+            void add(Object... row) {
+                rows.add(row);
+                if (rows.size() >= batchSize) {
+                    flush();
+                }
+            }
+
+            void flush() {
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, rows, types);
+                    rows.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Calendar days as the API and the in-memory indexes see them. The formatter is immutable,
+ * so one instance serves every request thread; strict resolution rejects dates such as
+ * 2024-02-30 that a lenient parser would roll over into the next month. In-memory keys use
+ * the epoch day as an int, which orders and subtracts like the date itself.
+ */
+public final class Dates {
+
+    public static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private Dates() {
+    }
+
+    public static LocalDate parse(String text) {
+        try {
+            return LocalDate.parse(text, ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+    }
+
+    public static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    public static LocalDate ofEpochDay(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+}
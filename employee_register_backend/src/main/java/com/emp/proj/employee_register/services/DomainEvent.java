@@ -0,0 +1,43 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+
+/**
+ * Something that happened to the data, published on the {@link DomainEventBus} once the
+ * write that caused it commits. Events carry ids and the few values subscribers need to
+ * decide whether to act, not whole entities.
+ */
+public sealed interface DomainEvent {
+
+    enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    Operation operation();
+
+    /** The employee the change belongs to, or null when it spans many of them. */
+    Integer employeeId();
+
+    /**
+     * An attendance row moved from previousStatus to status (null for "no row"). A bulk
+     * write has no attendanceId and, when it covers many employees, no employeeId; rows
+     * is the number of rows it touched. date is null for changes spanning many days.
+     */
+    record AttendanceRecorded(Operation operation, Integer attendanceId, Integer employeeId, LocalDate date,
+                              String previousStatus, String status, int rows) implements DomainEvent {
+    }
+
+    record SalaryPaid(Operation operation, Integer salaryId, Integer employeeId, Double amount) implements DomainEvent {
+    }
+
+    record LoanRegistered(Operation operation, Integer loanId, Integer employeeId, Double loanAmount,
+                          String status) implements DomainEvent {
+    }
+
+    record RepaymentPosted(Operation operation, Integer repaymentId, Integer loanId, Integer employeeId,
+                           Double repayAmount) implements DomainEvent {
+    }
+
+    record EmployeeChanged(Operation operation, Integer employeeId, String status) implements DomainEvent {
+    }
+}
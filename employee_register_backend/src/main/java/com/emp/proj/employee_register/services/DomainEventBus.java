@@ -0,0 +1,43 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The application's {@link DomainEventRing}. Services publish from inside their write
+ * transactions; the event only enters the ring once the transaction commits, and is
+ * dropped if it rolls back. Publishing never waits for subscribers.
+ */
+@Component
+public class DomainEventBus {
+
+    private final DomainEventRing ring;
+    private final int batchSize;
+
+    public DomainEventBus(@Value("${events.ring.capacity:8192}") int capacity,
+                          @Value("${events.ring.batch-size:256}") int batchSize) {
+        this.ring = new DomainEventRing(capacity);
+        this.batchSize = batchSize;
+    }
+
+    public void publish(DomainEvent event) {
+        AfterCommit.run(() -> ring.publish(event));
+    }
+
+    public void subscribe(String name, DomainEventRing.Handler handler) {
+        ring.subscribe(name, batchSize, handler);
+    }
+
+    public Map<String, Object> statistics() {
+        return ring.statistics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ring.close();
+    }
+}
@@ -0,0 +1,219 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fixed-size ring of events shared by any number of publishers and subscribers, without
+ * locks. Publishers claim a sequence number, write the slot it maps to and mark it
+ * published; they never wait for subscribers. Each subscriber has its own thread and
+ * cursor and takes whatever has been published since its last batch, up to a batch size.
+ * A subscriber that falls a whole ring behind has been lapped: it skips to the oldest
+ * event still in the ring and is told how many it missed, so it can resynchronise.
+ */
+public final class DomainEventRing implements AutoCloseable {
+
+    /** Receives events in publication order, in batches, on the subscriber's own thread. */
+    public interface Handler {
+
+        void onEvents(List<DomainEvent> events);
+
+        /** Events were overwritten before this subscriber read them. */
+        default void onMissed(long count) {
+        }
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<DomainEvent> slots;
+    // Per slot, the sequence it holds once published, or -sequence - 1 while it is being written.
+    private final AtomicLongArray published;
+    private final AtomicLong next = new AtomicLong();
+    private final LongAdder overtaken = new LongAdder();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public DomainEventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    public void publish(DomainEvent event) {
+        long sequence = next.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        long current;
+        do {
+            current = published.get(slot);
+            // A publisher a whole ring ahead already took the slot; this event is lost.
+            if (claimed(current) > sequence) {
+                overtaken.increment();
+                return;
+            }
+        } while (!published.compareAndSet(slot, current, -sequence - 1));
+        slots.set(slot, event);
+        published.compareAndSet(slot, -sequence - 1, sequence);
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+    }
+
+    /** Starts a subscriber that sees every event published from now on. */
+    public void subscribe(String name, int batchSize, Handler handler) {
+        Subscriber subscriber = new Subscriber(name, Math.max(batchSize, 1), handler, next.get());
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+    }
+
+    public Map<String, Object> statistics() {
+        long head = next.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("capacity", capacity);
+        statistics.put("published", head);
+        statistics.put("overtaken", overtaken.sum());
+        Map<String, Object> bySubscriber = new LinkedHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("delivered", subscriber.delivered.sum());
+            stats.put("batches", subscriber.batches.sum());
+            stats.put("missed", subscriber.missed.sum());
+            stats.put("failed", subscriber.failed.sum());
+            stats.put("lag", Math.max(head - subscriber.cursor, 0));
+            bySubscriber.put(subscriber.name, stats);
+        }
+        statistics.put("subscribers", bySubscriber);
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.running = false;
+            LockSupport.unpark(subscriber.thread);
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        subscribers.clear();
+    }
+
+    private static long claimed(long marker) {
+        return marker >= 0 ? marker : -marker - 1;
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final String name;
+        private final int batchSize;
+        private final Handler handler;
+        private final Thread thread;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder missed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private volatile long cursor;
+        private volatile boolean waiting;
+        private volatile boolean running = true;
+
+        private Subscriber(String name, int batchSize, Handler handler, long cursor) {
+            this.name = name;
+            this.batchSize = batchSize;
+            this.handler = handler;
+            this.cursor = cursor;
+            this.thread = new Thread(this, "domain-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void wake() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<DomainEvent> batch = new ArrayList<>(batchSize);
+            while (running) {
+                long sequence = cursor;
+                long skipped = 0;
+                while (batch.size() < batchSize) {
+                    int slot = (int) (sequence & mask);
+                    long marker = published.get(slot);
+                    if (marker == sequence) {
+                        DomainEvent event = slots.get(slot);
+                        if (published.get(slot) == sequence) {
+                            batch.add(event);
+                            sequence++;
+                            continue;
+                        }
+                        marker = published.get(slot);
+                    }
+                    if (claimed(marker) <= sequence) {
+                        break;
+                    }
+                    // The slot has moved on to a later lap.
+                    long oldest = Math.max(sequence + 1, next.get() - capacity);
+                    skipped += oldest - sequence;
+                    sequence = oldest;
+                }
+                cursor = sequence;
+
+                if (skipped > 0) {
+                    long lost = skipped;
+                    missed.add(lost);
+                    handle(() -> handler.onMissed(lost));
+                }
+                if (!batch.isEmpty()) {
+                    List<DomainEvent> events = List.copyOf(batch);
+                    batch.clear();
+                    delivered.add(events.size());
+                    batches.increment();
+                    handle(() -> handler.onEvents(events));
+                    continue;
+                }
+
+                waiting = true;
+                if (next.get() > cursor) {
+                    // Claimed but not yet published; the publisher is mid-write.
+                    waiting = false;
+                    Thread.onSpinWait();
+                    continue;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                waiting = false;
+            }
+        }
+
+        private void handle(Runnable call) {
+            try {
+                call.run();
+            } catch (RuntimeException e) {
+                failed.increment();
+                System.out.println("Domain event subscriber " + name + " failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.emp.proj.employee_register.services;
+
+import com.emp.proj.employee_register.entities.EmailOutbox;
+import com.emp.proj.employee_register.repository.IEmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in the background. Due messages are sent in batches, each
+ * batch over a single SMTP connection. Failed messages are retried with exponential
+ * backoff and moved to the "dead" state once the attempt limit is reached. Bodies are
+ * rendered from the stored template when sent; the values are cleared once a message is
+ * sent or dead, so the outbox keeps no message content it no longer needs.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    @Autowired
+    private IEmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Lazy
+    private EmailService emailService;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.claim-ms:300000}")
+    private long claimMs;
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public synchronized void dispatchPending() {
+        List<EmailOutbox> batch;
+        do {
+            Instant now = Instant.now();
+            batch = emailOutboxRepository.findDueMessages(now, PageRequest.of(0, batchSize));
+            if (!batch.isEmpty()) {
+                dispatchBatch(claim(batch, now));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Moves the next attempt of each message past the claim period before it is sent, so
+     * other dispatchers on the same table pass over it. The version check lets only one
+     * dispatcher claim a message; the others drop it from their batch.
+     */
+    private List<EmailOutbox> claim(List<EmailOutbox> batch, Instant now) {
+        Instant claimedUntil = now.plusMillis(claimMs);
+        batch.forEach(email -> email.setNextAttemptAt(claimedUntil));
+        try {
+            return emailOutboxRepository.saveAll(batch);
+        } catch (OptimisticLockingFailureException e) {
+            List<EmailOutbox> claimed = new ArrayList<>();
+            for (EmailOutbox email : batch) {
+                try {
+                    claimed.add(emailOutboxRepository.save(email));
+                } catch (OptimisticLockingFailureException conflict) {
+                    System.out.println("Email outbox message " + email.getId() + " was claimed by another dispatcher");
+                }
+            }
+            return claimed;
+        }
+    }
+
+    private void dispatchBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                MimeMessage mimeMessage = buildMessage(email);
+                byMessage.put(mimeMessage, email);
+                messages.add(mimeMessage);
+            } catch (MessagingException | RuntimeException e) {
+                markFailed(email, e);
+            }
+        }
+
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failedMessages.putAll(e.getFailedMessages());
+            } catch (MailException e) {
+                for (MimeMessage mimeMessage : messages) {
+                    failedMessages.put(mimeMessage, e);
+                }
+            }
+        }
+
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : byMessage.entrySet()) {
+            Exception failure = failedMessages.get(entry.getKey());
+            if (failure != null) {
+                markFailed(entry.getValue(), failure);
+            } else {
+                markSent(entry.getValue());
+            }
+        }
+
+        try {
+            emailOutboxRepository.saveAll(batch);
+        } catch (OptimisticLockingFailureException e) {
+            // A claim that ran out mid-send; whoever recorded a result first keeps it.
+            for (EmailOutbox email : batch) {
+                try {
+                    emailOutboxRepository.save(email);
+                } catch (OptimisticLockingFailureException conflict) {
+                    System.out.println("Email outbox message " + email.getId() + " was already updated by another dispatcher");
+                }
+            }
+        }
+
+        System.out.println("Email outbox batch dispatched: " + (byMessage.size() - failedMessages.size())
+                + " sent, " + (batch.size() - byMessage.size() + failedMessages.size()) + " failed");
+    }
+
+    private MimeMessage buildMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(emailService.render(email.getTemplate(), email.getTemplateValues()), true);
+        helper.setFrom(fromEmail);
+
+        return mimeMessage;
+    }
+
+    private void markSent(EmailOutbox email) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setStatus("sent");
+        email.setSentAt(Instant.now());
+        email.setLastError(null);
+        email.setTemplateValues(null);
+    }
+
+    private void markFailed(EmailOutbox email, Exception failure) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus("dead");
+            email.setTemplateValues(null);
+            System.err.println("Email " + email.getId() + " to " + email.getRecipient()
+                    + " moved to dead letters after " + attempts + " attempts: " + failure.getMessage());
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        email.setNextAttemptAt(Instant.now().plusMillis(backoff));
+        System.err.println("Email " + email.getId() + " to " + email.getRecipient()
+                + " failed (attempt " + attempts + "), retrying in " + backoff + " ms: " + failure.getMessage());
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,203 +1,155 @@
 package com.emp.proj.employee_register.services;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.emp.proj.employee_register.entities.EmailOutbox;
+import com.emp.proj.employee_register.repository.IEmailOutboxRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Queues outgoing mail. Created on first use rather than at startup: it is injected lazily
+ * everywhere, since most requests never send mail.
+ */
 @Service
+@Lazy
 public class EmailService {
 
+    private static final String USER_REGISTRATION_TEMPLATE = "user-registration";
+    private static final String SALARY_NOTIFICATION_TEMPLATE = "salary-notification";
+
+    private static final DateTimeFormatter PAYMENT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+
     @Autowired
-    private JavaMailSender mailSender;
+    private IEmailOutboxRepository emailOutboxRepository;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private EmailTemplateCache templateCache;
 
     /**
-     * Send a user registration confirmation email.
+     * Queue a user registration confirmation email. The message is written to the
+     * email outbox in the caller's transaction and delivered by {@link EmailOutboxDispatcher}.
+     * It carries the username only: the initial password never reaches the outbox.
      *
      * @param toEmail     The recipient's email address.
      * @param userName    The username of the registered user.
-     * @param password    The user's initial password.
-     * @throws MessagingException If there is an error with the email sending process.
      */
-    public void sendUserRegistrationEmail(String toEmail, String userName, String password) throws MessagingException {
-        try {
-            System.out.println("Preparing to send user registration email to: " + toEmail);
-
-            String subject = "Welcome to Employee Management System";
-            String htmlContent = constructUserRegistrationEmailContent(userName, password);
-
-            sendEmail(toEmail, subject, htmlContent);
-
-            System.out.println("Email content prepared successfully for: " + toEmail);
-        } catch (MessagingException e) {
-            System.err.println("Error sending user registration email to " + toEmail + ": " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        } catch (Exception e) {
-            System.err.println("Unexpected error during email preparation: " + e.getMessage());
-            e.printStackTrace();
-            throw new MessagingException("Failed to prepare email: " + e.getMessage(), e);
-        }
+    @Transactional
+    public void sendUserRegistrationEmail(String toEmail, String userName) {
+        System.out.println("Queueing user registration email to: " + toEmail);
+
+        String subject = "Welcome to Employee Management System";
+        enqueueEmail(toEmail, subject, USER_REGISTRATION_TEMPLATE, Map.of("userName", userName));
     }
 
     /**
-     * Send a salary payment notification email.
+     * Queue a salary payment notification email. The message is written to the
+     * email outbox in the caller's transaction and delivered by {@link EmailOutboxDispatcher}.
      *
      * @param toEmail     The recipient's email address.
      * @param userName    The name of the user.
      * @param amount      The salary amount paid.
      * @param paymentDate The date of payment.
-     * @throws MessagingException If there is an error with the email sending process.
      */
-    public void sendSalaryNotificationEmail(String toEmail, String userName, double amount, Date paymentDate) throws MessagingException {
-        try {
-            System.out.println("Preparing to send salary notification email to: " + toEmail);
-
-            String dateStr = new SimpleDateFormat("dd MMM yyyy").format(paymentDate);
-            String subject = "Salary Payment Notification";
-            String htmlContent = constructSalaryNotificationContent(userName, amount, dateStr);
-
-            sendEmail(toEmail, subject, htmlContent);
-
-            System.out.println("Email content prepared successfully for: " + toEmail);
-        } catch (MessagingException e) {
-            System.err.println("Error sending salary notification email to " + toEmail + ": " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-        } catch (Exception e) {
-            System.err.println("Unexpected error during email preparation: " + e.getMessage());
-            e.printStackTrace();
-            throw new MessagingException("Failed to prepare email: " + e.getMessage(), e);
-        }
+    @Transactional
+    public void sendSalaryNotificationEmail(String toEmail, String userName, double amount, LocalDate paymentDate) {
+        System.out.println("Queueing salary notification email to: " + toEmail);
+
+        String subject = "Salary Payment Notification";
+        StringBuilder amountStr = new StringBuilder(16);
+        appendAmount(amountStr, amount);
+
+        enqueueEmail(toEmail, subject, SALARY_NOTIFICATION_TEMPLATE, Map.of(
+                "userName", userName,
+                "amount", amountStr.toString(),
+                "paymentDate", PAYMENT_DATE_FORMAT.format(paymentDate)));
     }
 
     /**
-     * Construct HTML content for the user registration email.
+     * Render a queued email from its template name and values, when it is sent.
      */
-    private String constructUserRegistrationEmailContent(String userName, String password) {
-        String currentYear = new SimpleDateFormat("yyyy").format(new Date());
-
-        return "<!DOCTYPE html>" +
-                "<html lang=\"en\">" +
-                "<head>" +
-                "    <meta charset=\"UTF-8\">" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                "    <title>Welcome to Employee Management System</title>" +
-                "    <style>" +
-                "        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                "        .container { max-width: 600px; margin: 0 auto; padding: 20px; }" +
-                "        .header { background-color: #4a7acd; color: white; padding: 20px; text-align: center; }" +
-                "        .content { padding: 20px; background-color: #f9f9f9; }" +
-                "        .credentials { background-color: #e9ecef; padding: 15px; margin: 20px 0; border-radius: 5px; }" +
-                "        .footer { font-size: 12px; text-align: center; margin-top: 30px; color: #777; }" +
-                "    </style>" +
-                "</head>" +
-                "<body>" +
-                "    <div class=\"container\">" +
-                "        <div class=\"header\">" +
-                "            <h1>Welcome to Employee Management System</h1>" +
-                "        </div>" +
-                "        <div class=\"content\">" +
-                "            <p>Hello " + userName + ",</p>" +
-                "            <p>Your account has been successfully created in our Employee Management System.</p>" +
-                "            <p>Here are your login credentials:</p>" +
-                "            <div class=\"credentials\">" +
-                "                <p><strong>Username:</strong> " + userName + "</p>" +
-                "                <p><strong>Password:</strong> " + password + "</p>" +
-                "            </div>" +
-                "            <p>Please login to the system and change your password as soon as possible.</p>" +
-                "            <p>If you have any questions, please contact your administrator.</p>" +
-                "        </div>" +
-                "        <div class=\"footer\">" +
-                "            <p>&copy; " + currentYear + " Employee Management System. All rights reserved.</p>" +
-                "        </div>" +
-                "    </div>" +
-                "</body>" +
-                "</html>";
-    }
+    public String render(String templateName, Map<String, String> templateValues) {
+        EmailTemplate template = templateCache.get(templateName);
 
-    /**
-     * Construct HTML content for the salary notification email.
-     */
-    private String constructSalaryNotificationContent(String userName, double amount, String dateStr) {
-        String currentYear = new SimpleDateFormat("yyyy").format(new Date());
-
-        return "<!DOCTYPE html>" +
-                "<html lang=\"en\">" +
-                "<head>" +
-                "    <meta charset=\"UTF-8\">" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                "    <title>Salary Payment Notification</title>" +
-                "    <style>" +
-                "        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
-                "        .container { max-width: 600px; margin: 0 auto; padding: 20px; }" +
-                "        .header { background-color: #28a745; color: white; padding: 20px; text-align: center; }" +
-                "        .content { padding: 20px; background-color: #f9f9f9; }" +
-                "        .payment-details { background-color: #e9ecef; padding: 15px; margin: 20px 0; border-radius: 5px; }" +
-                "        .amount { font-size: 24px; font-weight: bold; color: #28a745; }" +
-                "        .footer { font-size: 12px; text-align: center; margin-top: 30px; color: #777; }" +
-                "    </style>" +
-                "</head>" +
-                "<body>" +
-                "    <div class=\"container\">" +
-                "        <div class=\"header\">" +
-                "            <h1>Salary Payment Notification</h1>" +
-                "        </div>" +
-                "        <div class=\"content\">" +
-                "            <p>Dear " + userName + ",</p>" +
-                "            <p>We are pleased to inform you that your salary has been processed.</p>" +
-                "            <div class=\"payment-details\">" +
-                "                <p><strong>Amount:</strong> <span class=\"amount\">$" + String.format("%.2f", amount) + "</span></p>" +
-                "                <p><strong>Date:</strong> " + dateStr + "</p>" +
-                "                <p><strong>Payment Method:</strong> Direct Deposit</p>" +
-                "            </div>" +
-                "            <p>This amount should be reflected in your bank account within the next 24-48 hours.</p>" +
-                "            <p>If you have any questions regarding your payment, please contact the HR department.</p>" +
-                "        </div>" +
-                "        <div class=\"footer\">" +
-                "            <p>&copy; " + currentYear + " Employee Management System. All rights reserved.</p>" +
-                "        </div>" +
-                "    </div>" +
-                "</body>" +
-                "</html>";
+        CharSequence[] values = new CharSequence[template.slotCount()];
+        templateValues.forEach((name, value) -> values[template.slot(name)] = value);
+        values[template.slot("currentYear")] = Year.now().toString();
+
+        return template.render(values);
     }
 
     /**
-     * Send an email using the specified parameters.
+     * Render salary notifications for a whole payroll run. The template, value slots and
+     * output buffer are reused across messages, so the content handed to the sink is only
+     * valid until the sink returns.
+     *
+     * @param notifications The notifications to render.
+     * @param sink          Receives each notification with its rendered HTML.
      */
-    private void sendEmail(String toEmail, String subject, String htmlContent) throws MessagingException {
-        try {
-            System.out.println("Configuring email message...");
-
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+    public void renderSalaryNotifications(List<SalaryNotification> notifications,
+                                          BiConsumer<SalaryNotification, CharSequence> sink) {
+        EmailTemplate template = templateCache.get(SALARY_NOTIFICATION_TEMPLATE);
+        int userNameSlot = template.slot("userName");
+        int amountSlot = template.slot("amount");
+        int paymentDateSlot = template.slot("paymentDate");
+
+        CharSequence[] values = new CharSequence[template.slotCount()];
+        values[template.slot("currentYear")] = Year.now().toString();
+
+        StringBuilder amountBuffer = new StringBuilder(16);
+        StringBuilder out = new StringBuilder(template.estimatedLength());
+        long lastPaymentDay = Long.MIN_VALUE;
+        String paymentDateStr = null;
+
+        for (SalaryNotification notification : notifications) {
+            long paymentDay = notification.paymentDate().toEpochDay();
+            if (paymentDay != lastPaymentDay) {
+                paymentDateStr = PAYMENT_DATE_FORMAT.format(notification.paymentDate());
+                lastPaymentDay = paymentDay;
+            }
 
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            helper.setFrom(fromEmail);
+            amountBuffer.setLength(0);
+            appendAmount(amountBuffer, notification.amount());
 
-            System.out.println("Sending email from: " + fromEmail + " to: " + toEmail);
+            values[userNameSlot] = notification.userName();
+            values[amountSlot] = amountBuffer;
+            values[paymentDateSlot] = paymentDateStr;
 
-            mailSender.send(mimeMessage);
+            out.setLength(0);
+            template.renderTo(out, values);
+            sink.accept(notification, out);
+        }
+    }
 
-            System.out.println("Email sent successfully to: " + toEmail);
-        } catch (MessagingException e) {
-            System.err.println("Failed to send email: " + e.getMessage());
-            if (e.getCause() != null) {
-                System.err.println("Cause: " + e.getCause().getMessage());
-                e.getCause().printStackTrace();
-            }
-            throw e;
+    /**
+     * Append an amount with two decimal places without going through String.format.
+     */
+    static void appendAmount(StringBuilder out, double amount) {
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.append('0');
         }
+        out.append(fraction);
+    }
+
+    /**
+     * Write an email to the outbox for asynchronous delivery.
+     */
+    private EmailOutbox enqueueEmail(String toEmail, String subject, String template, Map<String, String> values) {
+        return emailOutboxRepository.save(new EmailOutbox(toEmail, subject, template, values));
     }
 }
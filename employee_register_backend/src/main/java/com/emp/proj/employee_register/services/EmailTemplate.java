@@ -0,0 +1,120 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An email template compiled into literal segments and numbered placeholder slots.
+ * Placeholders are written as {{name}}; every value is HTML-escaped on render.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class EmailTemplate {
+
+    private final String[] literals;
+    private final int[] slotRefs;
+    private final List<String> slotNames;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, int[] slotRefs, List<String> slotNames) {
+        this.literals = literals;
+        this.slotRefs = slotRefs;
+        this.slotNames = slotNames;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slotRefs = new ArrayList<>();
+        List<String> slotNames = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + open);
+            }
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+
+            int slot = slotNames.indexOf(name);
+            if (slot < 0) {
+                slot = slotNames.size();
+                slotNames.add(name);
+            }
+
+            literals.add(source.substring(position, open));
+            slotRefs.add(slot);
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+
+        return new EmailTemplate(
+                literals.toArray(new String[0]),
+                slotRefs.stream().mapToInt(Integer::intValue).toArray(),
+                List.copyOf(slotNames));
+    }
+
+    /**
+     * Index of the named placeholder in the values array passed to {@link #renderTo}.
+     */
+    public int slot(String name) {
+        int slot = slotNames.indexOf(name);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Template has no placeholder named " + name);
+        }
+        return slot;
+    }
+
+    public int slotCount() {
+        return slotNames.size();
+    }
+
+    public int estimatedLength() {
+        return literalLength + slotRefs.length * 16;
+    }
+
+    /**
+     * Append the rendered template to the given buffer. Values are indexed by slot.
+     */
+    public void renderTo(StringBuilder out, CharSequence[] values) {
+        for (int i = 0; i < slotRefs.length; i++) {
+            out.append(literals[i]);
+            appendEscaped(out, values[slotRefs[i]]);
+        }
+        out.append(literals[slotRefs.length]);
+    }
+
+    public String render(CharSequence[] values) {
+        StringBuilder out = new StringBuilder(estimatedLength());
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    static void appendEscaped(StringBuilder out, CharSequence value) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
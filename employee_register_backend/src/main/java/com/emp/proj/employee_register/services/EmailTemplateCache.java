@@ -0,0 +1,38 @@
+package com.emp.proj.employee_register.services;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads email templates from classpath:templates/email and keeps the compiled form,
+ * so each template is read and parsed once per application run.
+ */
+@Component
+@Lazy
+public class EmailTemplateCache {
+
+    private static final String TEMPLATE_LOCATION = "templates/email/";
+
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    public EmailTemplate get(String name) {
+        return templates.computeIfAbsent(name, this::load);
+    }
+
+    private EmailTemplate load(String name) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + name + ".html");
+        try (InputStream in = resource.getInputStream()) {
+            return EmailTemplate.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email template: " + name, e);
+        }
+    }
+}
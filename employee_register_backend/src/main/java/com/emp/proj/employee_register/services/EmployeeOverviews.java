@@ -0,0 +1,180 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.emp.proj.employee_register.entities.EmployeeOverview;
+import com.emp.proj.employee_register.repository.IEmployeeOverviewRepository;
+
+/**
+ * Keeps the employee_overview read model current from the {@link DomainEventBus}: for
+ * each committed change only the affected group of columns of that employee's row is
+ * rewritten, so the detail view is a single primary-key read. The whole table is rebuilt
+ * on startup, to pick up anything written while it was down, and whenever the subscriber
+ * falls so far behind that events are lost.
+ */
+@Component
+public class EmployeeOverviews {
+
+    @Autowired
+    private IEmployeeOverviewRepository overviewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        domainEventBus.subscribe("employee-overview", new DomainEventRing.Handler() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                apply(events);
+            }
+
+            @Override
+            public void onMissed(long count) {
+                rebuild();
+            }
+        });
+        rebuild();
+    }
+
+    public void rebuild() {
+        refresh(() -> {
+            overviewRepository.deleteOrphans();
+            overviewRepository.refreshEmployee(null);
+            refreshLatestSalary(null);
+            overviewRepository.refreshLoans(null);
+            refreshMonthToDate(null);
+        });
+    }
+
+    /**
+     * Each employee's affected column groups are rewritten once per batch, however many
+     * events touched them. A null employee id in a set stands for every employee.
+     */
+    private void apply(List<DomainEvent> events) {
+        Set<Integer> employees = new LinkedHashSet<>();
+        Set<Integer> deleted = new LinkedHashSet<>();
+        Set<Integer> salaries = new LinkedHashSet<>();
+        Set<Integer> loans = new LinkedHashSet<>();
+        Set<Integer> attendance = new LinkedHashSet<>();
+        YearMonth month = YearMonth.now();
+
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EmployeeChanged changed) {
+                if (changed.operation() == DomainEvent.Operation.DELETED) {
+                    deleted.add(changed.employeeId());
+                } else {
+                    employees.add(changed.employeeId());
+                }
+            } else if (event instanceof DomainEvent.SalaryPaid) {
+                salaries.add(event.employeeId());
+            } else if (event instanceof DomainEvent.LoanRegistered || event instanceof DomainEvent.RepaymentPosted) {
+                loans.add(event.employeeId());
+            } else if (event instanceof DomainEvent.AttendanceRecorded recorded) {
+                // Only the current month is kept; a change without a date may span it.
+                if (recorded.date() == null || YearMonth.from(recorded.date()).equals(month)) {
+                    attendance.add(recorded.employeeId());
+                }
+            }
+        }
+
+        refresh(() -> {
+            refreshEach(employees, overviewRepository::refreshEmployee);
+            refreshEach(salaries, this::refreshLatestSalary);
+            refreshEach(loans, overviewRepository::refreshLoans);
+            refreshEach(attendance, this::refreshMonthToDate);
+            deleted.forEach(overviewRepository::deleteById);
+        });
+    }
+
+    private static void refreshEach(Set<Integer> employeeIds, Consumer<Integer> refresh) {
+        if (employeeIds.contains(null)) {
+            refresh.accept(null);
+        } else {
+            employeeIds.forEach(refresh);
+        }
+    }
+
+    /** The overview as served to clients, or null for an unknown employee. */
+    public Map<String, Object> get(Integer employeeId) {
+        EmployeeOverview overview = overviewRepository.findById(employeeId).orElse(null);
+        if (overview == null) {
+            return null;
+        }
+
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("id", overview.getEmployeeId());
+        employee.put("name", overview.getName());
+        employee.put("phoneNo", overview.getPhoneNo());
+        employee.put("email", overview.getEmail());
+        employee.put("role", overview.getRole());
+        employee.put("status", overview.getStatus());
+        employee.put("joinDate", overview.getJoinDate());
+        employee.put("baseSalary", overview.getBaseSalary());
+
+        Map<String, Object> latestSalary = null;
+        if (overview.getLatestSalaryId() != null) {
+            latestSalary = new LinkedHashMap<>();
+            latestSalary.put("id", overview.getLatestSalaryId());
+            latestSalary.put("amount", overview.getLatestSalaryAmount());
+            latestSalary.put("datePaid", overview.getLatestSalaryDate());
+            latestSalary.put("paymentType", overview.getLatestPaymentType());
+        }
+
+        Map<String, Object> loans = new LinkedHashMap<>();
+        loans.put("active", overview.getActiveLoans());
+        loans.put("activeAmount", overview.getActiveLoanAmount());
+        loans.put("outstanding", overview.getOutstandingBalance());
+
+        // A row last refreshed in an earlier month has had no attendance written this month.
+        YearMonth month = YearMonth.now();
+        boolean current = overview.getMtdMonth() != null
+                && YearMonth.from(overview.getMtdMonth()).equals(month);
+        Map<String, Object> attendance = new LinkedHashMap<>();
+        attendance.put("month", month.toString());
+        attendance.put("present", current ? overview.getMtdPresent() : 0);
+        attendance.put("absent", current ? overview.getMtdAbsent() : 0);
+        attendance.put("halfday", current ? overview.getMtdHalfday() : 0);
+        attendance.put("overtime", current ? overview.getMtdOvertime() : 0);
+        attendance.put("earned", current ? overview.getMtdEarned() : 0.0);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employee", employee);
+        result.put("latestSalary", latestSalary);
+        result.put("loans", loans);
+        result.put("monthToDate", attendance);
+        result.put("updatedAt", overview.getUpdatedAt());
+        return result;
+    }
+
+    private void refreshLatestSalary(Integer employeeId) {
+        overviewRepository.refreshLatestSalaryId(employeeId);
+        overviewRepository.refreshLatestSalaryDetails(employeeId);
+    }
+
+    private void refreshMonthToDate(Integer employeeId) {
+        LocalDate month = YearMonth.now().atDay(1);
+        overviewRepository.refreshMonthToDate(month, month.plusMonths(1), employeeId);
+    }
+
+    private void refresh(Runnable change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> change.run());
+    }
+}
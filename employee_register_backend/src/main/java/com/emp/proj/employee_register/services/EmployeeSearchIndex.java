@@ -0,0 +1,609 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.repository.IEmployeeRepository;
+
+/**
+ * In-memory search over employee name, role and phone number.
+ *
+ * Two levels: a vocabulary of distinct terms with a trigram index over it, and per-term
+ * posting lists of document slots. A query token is first resolved to matching terms
+ * (exact, prefix or digit substring, and, when that finds little, terms within a small
+ * edit distance, with the trigram index keeping the candidate set small), then the
+ * postings of those terms are merged.
+ * Every query token must match; documents are ranked by the summed quality of their
+ * best match per token, weighted by field.
+ *
+ * Slots are append-only so posting lists stay sorted. Updating or deleting an employee
+ * tombstones its slot, and the lists are compacted once tombstones outnumber live slots.
+ *
+ * The index follows committed employee writes from the {@link DomainEventBus}, re-reading
+ * each employee an event names, so a search sees a write shortly after it commits. It is
+ * loaded on startup, and reloaded whenever the subscriber falls so far behind that events
+ * are lost.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    public record Hits(int total, List<Integer> employeeIds) {
+    }
+
+    private record TermMatch(int termId, float quality) {
+    }
+
+    private static final int NAME = 0, ROLE = 1, PHONE = 2, FIELDS = 3;
+    private static final float[] FIELD_WEIGHTS = { 1.0f, 0.6f, 0.8f };
+
+    private static final int FUZZY_FALLBACK_POSTINGS = 100;
+
+    private static final float EXACT = 1.0f, PREFIX = 0.9f, SUBSTRING = 0.8f, ONE_EDIT = 0.7f, TWO_EDITS = 0.5f;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final Map<String, IntList> termsByGram = new HashMap<>();
+    private final List<IntList[]> postings = new ArrayList<>();
+
+    /** Per-thread accumulators, reset after each query by clearing only the slots it touched. */
+    private final ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(Scratch::new);
+
+    private final Map<Integer, Integer> slotByEmployee = new HashMap<>();
+    private int[] employeeBySlot = new int[1024];
+    private int slotCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        domainEventBus.subscribe("employee-search", new DomainEventRing.Handler() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                apply(events);
+            }
+
+            @Override
+            public void onMissed(long count) {
+                load();
+            }
+        });
+        load();
+    }
+
+    /** Indexes every employee, and drops any the index holds that no longer exist. */
+    public void load() {
+        List<Employee> employees = employeeRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            Set<Integer> gone = new HashSet<>(slotByEmployee.keySet());
+            for (Employee employee : employees) {
+                gone.remove(employee.getId());
+                index(employee);
+            }
+            gone.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Employee search index loaded with " + employees.size() + " employees");
+    }
+
+    /** Add or replace an employee, immediately. */
+    public void index(Employee employee) {
+        put(employee.getId(), employee.getName(), employee.getRole(), employee.getPhoneNo());
+    }
+
+    public void remove(Integer employeeId) {
+        tombstone(employeeId);
+    }
+
+    /** Employees named by a batch are re-read once; those no longer found are removed. */
+    private void apply(List<DomainEvent> events) {
+        Set<Integer> changed = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.EmployeeChanged && event.employeeId() != null) {
+                changed.add(event.employeeId());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (Employee employee : employeeRepository.findAllById(changed)) {
+            index(employee);
+            changed.remove(employee.getId());
+        }
+        changed.forEach(this::remove);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByEmployee.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        Scratch scratch = scratches.get();
+        scratch.ensure(slotCount);
+        float[] score = scratch.score;
+        float[] tokenBest = scratch.tokenBest;
+        int[] matchedTokens = scratch.matchedTokens;
+        IntList touched = scratch.touched;
+        IntList seen = scratch.seen;
+        try {
+            for (int t = 0; t < tokens.length; t++) {
+                touched.size = 0;
+                for (TermMatch match : matchTerms(tokens[t], scratch)) {
+                    IntList[] fields = postings.get(match.termId());
+                    for (int field = 0; field < FIELDS; field++) {
+                        IntList slots = fields[field];
+                        if (slots == null) {
+                            continue;
+                        }
+                        float weight = match.quality() * FIELD_WEIGHTS[field];
+                        for (int i = 0; i < slots.size; i++) {
+                            int slot = slots.values[i];
+                            if (employeeBySlot[slot] == 0 || matchedTokens[slot] != t) {
+                                continue;
+                            }
+                            if (tokenBest[slot] == 0) {
+                                touched.add(slot);
+                            }
+                            tokenBest[slot] = Math.max(tokenBest[slot], weight);
+                        }
+                    }
+                }
+                for (int i = 0; i < touched.size; i++) {
+                    int slot = touched.values[i];
+                    score[slot] += tokenBest[slot];
+                    tokenBest[slot] = 0;
+                    matchedTokens[slot]++;
+                }
+                if (t == 0) {
+                    seen.copyOf(touched);
+                }
+            }
+
+            // Slots touched by the last token matched every token. Keep the best offset + limit
+            // in a bounded min-heap whose root is the worst hit kept so far.
+            int keep = Math.min(offset + limit, touched.size);
+            int[] heap = new int[keep];
+            int heapSize = 0;
+            for (int i = 0; i < touched.size; i++) {
+                int slot = touched.values[i];
+                if (heapSize < keep) {
+                    heap[heapSize] = slot;
+                    siftUp(heap, heapSize++, score);
+                } else if (keep > 0 && ranksBefore(slot, heap[0], score)) {
+                    heap[0] = slot;
+                    siftDown(heap, heapSize, score);
+                }
+            }
+
+            Integer[] ranked = new Integer[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = employeeBySlot[heap[0]];
+                heap[0] = heap[i];
+                siftDown(heap, i, score);
+            }
+            List<Integer> page = offset >= ranked.length
+                    ? List.of()
+                    : Arrays.asList(ranked).subList(offset, ranked.length);
+            return new Hits(touched.size, page);
+        } finally {
+            for (int i = 0; i < seen.size; i++) {
+                score[seen.values[i]] = 0;
+                matchedTokens[seen.values[i]] = 0;
+            }
+            seen.size = 0;
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean ranksBefore(int a, int b, float[] score) {
+        return score[a] != score[b] ? score[a] > score[b] : a < b;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] score) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], slot, score)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] score) {
+        int index = 0;
+        int slot = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], score)) {
+                child++;
+            }
+            if (!ranksBefore(slot, heap[child], score)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    private List<TermMatch> matchTerms(String token, Scratch scratch) {
+        boolean digits = isDigits(token);
+        List<TermMatch> matches = new ArrayList<>();
+
+        if (digits && token.length() >= 3) {
+            // Phone numbers are matched anywhere, so every trigram of the token must be present.
+            IntList candidates = null;
+            for (String gram : new LinkedHashSet<>(grams(token, false))) {
+                IntList termList = termsByGram.get(gram);
+                if (termList == null) {
+                    return matches;
+                }
+                candidates = candidates == null ? termList : candidates.intersect(termList);
+            }
+            for (int i = 0; i < candidates.size; i++) {
+                String term = terms.get(candidates.values[i]);
+                if (term.contains(token)) {
+                    matches.add(new TermMatch(candidates.values[i], term.equals(token) ? EXACT
+                            : term.startsWith(token) ? PREFIX : SUBSTRING));
+                }
+            }
+            return matches;
+        }
+
+        List<String> grams = new ArrayList<>(new LinkedHashSet<>(grams(token, true)));
+        int maxEdits = digits || token.length() <= 4 ? 0 : token.length() <= 8 ? 1 : 2;
+
+        // Exact and prefix matches: every such term is in each gram's list, so scan the shortest.
+        IntList shortest = null;
+        for (String gram : grams) {
+            IntList termList = termsByGram.get(gram);
+            if (termList == null) {
+                shortest = null;
+                break;
+            }
+            if (shortest == null || termList.size < shortest.size) {
+                shortest = termList;
+            }
+        }
+        int prefixPostings = 0;
+        for (int i = 0; shortest != null && i < shortest.size; i++) {
+            int termId = shortest.values[i];
+            String term = terms.get(termId);
+            if (term.startsWith(token)) {
+                matches.add(new TermMatch(termId, term.length() == token.length() ? EXACT : PREFIX));
+                for (IntList slots : postings.get(termId)) {
+                    prefixPostings += slots == null ? 0 : slots.size;
+                }
+            }
+        }
+
+        // Typo tolerance is a fallback for tokens that found (almost) nothing as typed; fuzzy
+        // hits would rank below the exact ones anyway and are the expensive part of a lookup.
+        if (maxEdits == 0 || prefixPostings >= FUZZY_FALLBACK_POSTINGS) {
+            return matches;
+        }
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+
+        // Count shared grams per term in vocabulary-sized counters, remembering which terms
+        // were touched so that only those counters need resetting.
+        int[] shared = scratch.termCounts(terms.size());
+        IntList candidates = scratch.candidates;
+        candidates.size = 0;
+        for (String gram : grams) {
+            IntList termList = termsByGram.get(gram);
+            if (termList == null) {
+                continue;
+            }
+            for (int i = 0; i < termList.size; i++) {
+                if (shared[termList.values[i]]++ == 0) {
+                    candidates.add(termList.values[i]);
+                }
+            }
+        }
+
+        for (int c = 0; c < candidates.size; c++) {
+            int termId = candidates.values[c];
+            int termShared = shared[termId];
+            shared[termId] = 0;
+            String term = terms.get(termId);
+            if (!term.startsWith(token) && termShared >= minShared && term.length() >= token.length() - maxEdits) {
+                // Compare with the whole term, and with its leading part for a mistyped prefix
+                // (which, as in most fuzzy matchers, has to get the first letter right).
+                int distance = term.length() <= token.length() + maxEdits
+                        ? editDistance(token, term, term.length(), maxEdits, scratch.rows)
+                        : maxEdits + 1;
+                if (distance > maxEdits && term.length() > token.length() && term.charAt(0) == token.charAt(0)) {
+                    distance = editDistance(token, term, token.length(), maxEdits, scratch.rows);
+                }
+                if (distance <= maxEdits) {
+                    matches.add(new TermMatch(termId, distance == 1 ? ONE_EDIT : TWO_EDITS));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void put(Integer employeeId, String name, String role, String phone) {
+        lock.writeLock().lock();
+        try {
+            tombstone(employeeId);
+
+            if (slotCount == employeeBySlot.length) {
+                employeeBySlot = Arrays.copyOf(employeeBySlot, slotCount * 2);
+            }
+            int slot = slotCount++;
+            employeeBySlot[slot] = employeeId;
+            slotByEmployee.put(employeeId, slot);
+
+            addPostings(slot, NAME, tokenize(name));
+            addPostings(slot, ROLE, tokenize(role));
+            if (phone != null) {
+                String digits = phone.replaceAll("\\D", "");
+                if (!digits.isEmpty()) {
+                    addPostings(slot, PHONE, new String[] { digits });
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void tombstone(Integer employeeId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByEmployee.remove(employeeId);
+            if (slot == null) {
+                return;
+            }
+            employeeBySlot[slot] = 0;
+            if (slotCount > 1024 && slotCount > 2 * slotByEmployee.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPostings(int slot, int field, String[] tokens) {
+        for (String token : tokens) {
+            IntList[] fields = postings.get(termId(token));
+            if (fields[field] == null) {
+                fields[field] = new IntList();
+            }
+            IntList slots = fields[field];
+            if (slots.size == 0 || slots.values[slots.size - 1] != slot) {
+                slots.add(slot);
+            }
+        }
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int newId = terms.size();
+        terms.add(term);
+        termIds.put(term, newId);
+        postings.add(new IntList[FIELDS]);
+        // Anchored grams include every interior gram, so this one set serves both lookups.
+        for (String gram : new LinkedHashSet<>(grams(term, true))) {
+            termsByGram.computeIfAbsent(gram, g -> new IntList()).add(newId);
+        }
+        return newId;
+    }
+
+    /** Renumber live slots densely and drop tombstones from every posting list. */
+    private void compact() {
+        int[] remap = new int[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (employeeBySlot[slot] != 0) {
+                remap[slot] = live;
+                employeeBySlot[live] = employeeBySlot[slot];
+                slotByEmployee.put(employeeBySlot[live], live);
+                live++;
+            } else {
+                remap[slot] = -1;
+            }
+        }
+        Arrays.fill(employeeBySlot, live, slotCount, 0);
+        slotCount = live;
+
+        for (IntList[] fields : postings) {
+            for (IntList slots : fields) {
+                if (slots == null) {
+                    continue;
+                }
+                int kept = 0;
+                for (int i = 0; i < slots.size; i++) {
+                    int target = remap[slots.values[i]];
+                    if (target >= 0) {
+                        slots.values[kept++] = target;
+                    }
+                }
+                slots.size = kept;
+            }
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Trigrams of a term. With leading padding the first grams anchor the start of the
+     * term, which is what makes prefix lookups exact; without it only interior grams are
+     * produced, for substring lookups.
+     */
+    private static List<String> grams(String term, boolean anchored) {
+        String padded = anchored ? "  " + term : term;
+        List<String> grams = new ArrayList<>(Math.max(0, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance between a and the first bLength characters of b,
+     * giving up as soon as it exceeds max. rows is scratch space, grown as needed.
+     */
+    static int editDistance(String a, String b, int bLength, int max, int[][] rows) {
+        if (Math.abs(a.length() - bLength) > max) {
+            return max + 1;
+        }
+        if (rows[0].length <= bLength) {
+            for (int r = 0; r < rows.length; r++) {
+                rows[r] = new int[bLength + 1];
+            }
+        }
+        int[] previous2 = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j <= bLength; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= bLength; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[bLength];
+    }
+
+    private static boolean isDigits(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Scratch {
+        private float[] score = new float[0];
+        private float[] tokenBest = new float[0];
+        private int[] matchedTokens = new int[0];
+        private final IntList touched = new IntList();
+        private final IntList seen = new IntList();
+        private final int[][] rows = new int[3][16];
+        private final IntList candidates = new IntList();
+        private int[] termCounts = new int[0];
+
+        int[] termCounts(int terms) {
+            if (termCounts.length < terms) {
+                termCounts = new int[Math.max(terms, termCounts.length * 2)];
+            }
+            return termCounts;
+        }
+
+        void ensure(int slots) {
+            if (score.length < slots) {
+                int capacity = Math.max(slots, score.length * 2);
+                score = new float[capacity];
+                tokenBest = new float[capacity];
+                matchedTokens = new int[capacity];
+            }
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void copyOf(IntList other) {
+            if (values.length < other.size) {
+                values = new int[other.values.length];
+            }
+            System.arraycopy(other.values, 0, values, 0, other.size);
+            size = other.size;
+        }
+
+        IntList intersect(IntList other) {
+            IntList result = new IntList();
+            int i = 0, j = 0;
+            while (i < size && j < other.size) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    result.add(values[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.emp.proj.employee_register.services;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.repository.EmployeeSpecifications;
 import com.emp.proj.employee_register.repository.IEmployeeRepository;
 
 import jakarta.transaction.Transactional;
@@ -13,9 +23,27 @@ import jakarta.transaction.Transactional;
 @Service
 public class EmployeeService implements IEmployeeService {
 
+    /** Search hits beyond this many are not considered when search is combined with other filters. */
+    private static final int SEARCH_FILTER_LIMIT = 10_000;
+
     @Autowired
     private IEmployeeRepository employeeRepository;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
+    @Autowired
+    private EmployeeOverviews employeeOverviews;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
     @Override
     @Transactional
     public Employee addEmployee(Employee employee) {
@@ -28,7 +56,16 @@ public class EmployeeService implements IEmployeeService {
             employee.setStatus("active");
         }
 
-        return employeeRepository.save(employee);
+        tableVersions.bump(TableVersions.Table.EMPLOYEES);
+
+        Employee savedEmployee = employeeRepository.save(employee);
+        domainEventBus.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.CREATED,
+                savedEmployee.getId(), savedEmployee.getStatus()));
+        if (savedEmployee.getBaseSalary() != null) {
+            LocalDate effectiveFrom = savedEmployee.getJoinDate() != null ? savedEmployee.getJoinDate() : LocalDate.now();
+            salaryRateService.setRate(savedEmployee.getId(), effectiveFrom, savedEmployee.getBaseSalary());
+        }
+        return savedEmployee;
     }
 
     @Override
@@ -53,19 +90,30 @@ public class EmployeeService implements IEmployeeService {
         
         Employee existingEmployee = employeeRepository.findById(employee.getId())
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employee.getId()));
+        StaleVersionException.check(Employee.class, employee.getId(), employee.getVersion(), existingEmployee.getVersion());
 
         existingEmployee.setName(employee.getName());
         existingEmployee.setPhoneNo(employee.getPhoneNo());
+        existingEmployee.setEmail(employee.getEmail());
         existingEmployee.setAddress(employee.getAddress());
         existingEmployee.setRole(employee.getRole());
-        existingEmployee.setBaseSalary(employee.getBaseSalary());
         existingEmployee.setStatus(employee.getStatus());
 
         if (employee.getJoinDate() != null) {
             existingEmployee.setJoinDate(employee.getJoinDate());
         }
 
-        return employeeRepository.save(existingEmployee);
+        tableVersions.bump(TableVersions.Table.EMPLOYEES);
+
+        // A salary change starts a new rate today; setRate also updates the employee.
+        if (employee.getBaseSalary() != null && !employee.getBaseSalary().equals(existingEmployee.getBaseSalary())) {
+            salaryRateService.setRate(existingEmployee.getId(), LocalDate.now(), employee.getBaseSalary());
+        }
+
+        Employee savedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        domainEventBus.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.UPDATED,
+                savedEmployee.getId(), savedEmployee.getStatus()));
+        return savedEmployee;
     }
 
     @Override
@@ -81,6 +129,9 @@ public class EmployeeService implements IEmployeeService {
 
         employee.setStatus(status);
 
+        tableVersions.bump(TableVersions.Table.EMPLOYEES);
+        domainEventBus.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.UPDATED, id, status));
+
         return employeeRepository.save(employee);
     }
 
@@ -89,13 +140,59 @@ public class EmployeeService implements IEmployeeService {
     public boolean deleteEmployee(Integer id) {
         if (employeeRepository.existsById(id)) {
             employeeRepository.deleteById(id);
+            salaryRateService.deleteRates(id);
+            tableVersions.bump(TableVersions.Table.EMPLOYEES);
+            domainEventBus.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.DELETED, id, null));
             return true;
         }
         return false;
     }
 
+    @Override
+    public Map<String, Object> getEmployeeOverview(Integer id) {
+        Map<String, Object> overview = employeeOverviews.get(id);
+        if (overview == null) {
+            throw new RuntimeException("Employee not found with id: " + id);
+        }
+        return overview;
+    }
+
     @Override
     public int getActiveEmployeesCount() {
         return employeeRepository.countByStatus("active").intValue();
     }
+
+    @Override
+    public Page<Employee> searchEmployees(String query, Pageable pageable) {
+        EmployeeSearchIndex.Hits hits = employeeSearchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        Map<Integer, Employee> byId = employeeRepository.findAllById(hits.employeeIds()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        List<Employee> ranked = new ArrayList<>(hits.employeeIds().size());
+        for (Integer id : hits.employeeIds()) {
+            Employee employee = byId.get(id);
+            if (employee != null) {
+                ranked.add(employee);
+            }
+        }
+        return new PageImpl<>(ranked, pageable, hits.total());
+    }
+
+    @Override
+    public Page<Employee> filterEmployees(String status, String role, String search, LocalDate joinedFrom, LocalDate joinedTo,
+                                          Double minSalary, Double maxSalary, Pageable pageable) {
+        List<Integer> searchHits = null;
+        if (search != null && !search.isBlank()) {
+            searchHits = employeeSearchIndex.search(search, 0, SEARCH_FILTER_LIMIT).employeeIds();
+        }
+
+        Specification<Employee> specification = Specification.allOf(
+                EmployeeSpecifications.hasStatus(status),
+                EmployeeSpecifications.hasRole(role),
+                EmployeeSpecifications.joinedBetween(joinedFrom, joinedTo),
+                EmployeeSpecifications.salaryBetween(minSalary, maxSalary),
+                EmployeeSpecifications.idIn(searchHits));
+
+        return employeeRepository.findAll(specification, pageable);
+    }
 }
@@ -0,0 +1,76 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.emp.proj.employee_register.repository.FieldProjectionRepository;
+
+/**
+ * Backs the ?fields= parameter of the list endpoints. The requested fields are
+ * validated against the entity's attributes and selected as a tuple projection.
+ */
+@Service
+public class FieldProjectionService {
+
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    private final Map<Class<?>, Set<String>> attributeNames = new ConcurrentHashMap<>();
+
+    public List<Map<String, Object>> findFields(Class<?> entityClass, String fields) {
+        return findFields(entityClass, fields, Map.of());
+    }
+
+    public List<Map<String, Object>> findFields(Class<?> entityClass, String fields, Map<String, Object> filters) {
+        return fieldProjectionRepository.findFields(entityClass, parseFields(entityClass, fields), filters);
+    }
+
+    /** The same projection over entities that are not in the database, such as archived rows. */
+    public List<Map<String, Object>> project(Class<?> entityClass, String fields, List<?> entities) {
+        List<String> names = parseFields(entityClass, fields);
+        List<Map<String, Object>> rows = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            BeanWrapper bean = new BeanWrapperImpl(entity);
+            Map<String, Object> row = new LinkedHashMap<>(names.size() * 2);
+            for (String name : names) {
+                row.put(name, bean.getPropertyValue(name));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<String> parseFields(Class<?> entityClass, String fields) {
+        Set<String> allowed = attributeNames.computeIfAbsent(entityClass, fieldProjectionRepository::attributeNames);
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "'. Allowed fields: " + allowed);
+            }
+            requested.add(name);
+        }
+
+        if (requested.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field must be requested");
+        }
+        return new ArrayList<>(requested);
+    }
+}
@@ -1,4 +1,8 @@
 package com.emp.proj.employee_register.services;
 
+import java.util.Map;
+
 public interface IAdminService {
+    Map<String, Object> getCacheStatistics();
+    Map<String, Object> getEventStatistics();
 }
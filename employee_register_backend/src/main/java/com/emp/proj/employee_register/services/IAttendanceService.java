@@ -1,5 +1,6 @@
 package com.emp.proj.employee_register.services;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -7,12 +8,20 @@ import com.emp.proj.employee_register.entities.Attendance;
 
 public interface IAttendanceService {
     Attendance addAttendance(Attendance attendance);
+    Attendance getAttendanceById(Integer attendanceId);
     Attendance updateAttendance(Attendance attendance);
+    Attendance upsertAttendance(Integer employeeId, String date, Attendance attendance);
+    Map<String, Object> markAllAttendance(String date, MarkAllRequest request);
     Attendance updateOvertimeDetails(Integer attendanceId, String overtimeDescription, Double overtimeSalary, Double overtimeHours);
     List<Attendance> findAll();
+    List<Map<String, Object>> findAttendanceFields(String fields, Integer employeeId, LocalDate date);
     List<Attendance> getAttendanceByEmployeeId(Integer employeeId);
     List<Attendance> getAttendanceByDate(String date);
     Attendance getAttendanceByEmployeeIdAndDate(Integer employeeId, String date);
+    Map<String, Object> getTodayCounts();
+    Map<String, Object> queryAttendanceSets(AttendanceSetQuery query);
+    AttendanceCalendar getAttendanceCalendar(Integer employeeId, int year);
     Map<String, Object> getMonthlyAttendanceSummary(Integer employeeId, Integer month, Integer year);
+    Map<String, Object> getOvertimeAnalytics(LocalDate from, LocalDate to, int top);
     boolean deleteAttendance(Integer attendanceId);
 }
@@ -1,6 +1,11 @@
 package com.emp.proj.employee_register.services;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import com.emp.proj.employee_register.entities.Employee;
 
@@ -12,5 +17,9 @@ public interface IEmployeeService {
     Employee updateEmployee(Employee employee);
     Employee updateEmployeeStatus(Integer id, String status);
     boolean deleteEmployee(Integer id);
+    Map<String, Object> getEmployeeOverview(Integer id);
     int getActiveEmployeesCount();
+    Page<Employee> searchEmployees(String query, Pageable pageable);
+    Page<Employee> filterEmployees(String status, String role, String search, LocalDate joinedFrom, LocalDate joinedTo,
+                                   Double minSalary, Double maxSalary, Pageable pageable);
 }
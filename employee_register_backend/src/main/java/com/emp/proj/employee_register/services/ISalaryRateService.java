@@ -0,0 +1,15 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.SalaryRate;
+
+public interface ISalaryRateService {
+    List<SalaryRate> getRates(Integer employeeId);
+    SalaryRate setRate(Integer employeeId, LocalDate effectiveFrom, Double baseSalary);
+    void deleteRates(Integer employeeId);
+    double baseSalaryAt(Employee employee, LocalDate date);
+    int recomputeTotals(LocalDate from, LocalDate to, Integer employeeId);
+}
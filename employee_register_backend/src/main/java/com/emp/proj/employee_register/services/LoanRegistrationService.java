@@ -8,7 +8,7 @@ import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -20,6 +20,12 @@ public class LoanRegistrationService implements ILoanRegistrationService {
     @Autowired
     private IEmployeeRepository employeeRepository;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
     @Override
     @Transactional
     public LoanRegistration registerLoan(LoanRegistration loanRegistration) {
@@ -32,7 +38,7 @@ public class LoanRegistrationService implements ILoanRegistrationService {
         }
 
         if (loanRegistration.getLoanDate() == null) {
-            loanRegistration.setLoanDate(new Date());
+            loanRegistration.setLoanDate(LocalDate.now());
         }
 
         if (loanRegistration.getStatus() == null) {
@@ -43,7 +49,11 @@ public class LoanRegistrationService implements ILoanRegistrationService {
             throw new IllegalArgumentException("Loan amount must be greater than zero");
         }
 
-        return loanRegistrationRepository.save(loanRegistration);
+        tableVersions.bump(TableVersions.Table.LOANS);
+
+        LoanRegistration savedLoan = loanRegistrationRepository.save(loanRegistration);
+        publish(DomainEvent.Operation.CREATED, savedLoan);
+        return savedLoan;
     }
 
     @Override
@@ -78,6 +88,7 @@ public class LoanRegistrationService implements ILoanRegistrationService {
         
         LoanRegistration existingLoan = loanRegistrationRepository.findById(loan.getLoanId())
                 .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loan.getLoanId()));
+        StaleVersionException.check(LoanRegistration.class, loan.getLoanId(), loan.getVersion(), existingLoan.getVersion());
 
         existingLoan.setLoanAmount(loan.getLoanAmount());
         existingLoan.setReason(loan.getReason());
@@ -87,7 +98,10 @@ public class LoanRegistrationService implements ILoanRegistrationService {
             existingLoan.setLoanDate(loan.getLoanDate());
         }
 
-        return loanRegistrationRepository.save(existingLoan);
+        tableVersions.bump(TableVersions.Table.LOANS);
+        publish(DomainEvent.Operation.UPDATED, existingLoan);
+
+        return loanRegistrationRepository.saveAndFlush(existingLoan);
     }
 
     @Override
@@ -103,16 +117,27 @@ public class LoanRegistrationService implements ILoanRegistrationService {
 
         loan.setStatus(status);
 
+        tableVersions.bump(TableVersions.Table.LOANS);
+        publish(DomainEvent.Operation.UPDATED, loan);
+
         return loanRegistrationRepository.save(loan);
     }
 
     @Override
     @Transactional
     public boolean deleteLoan(Integer id) {
-        if (loanRegistrationRepository.existsById(id)) {
-            loanRegistrationRepository.deleteById(id);
+        LoanRegistration loan = loanRegistrationRepository.findById(id).orElse(null);
+        if (loan != null) {
+            loanRegistrationRepository.delete(loan);
+            tableVersions.bump(TableVersions.Table.LOANS);
+            publish(DomainEvent.Operation.DELETED, loan);
             return true;
         }
         return false;
     }
+
+    private void publish(DomainEvent.Operation operation, LoanRegistration loan) {
+        domainEventBus.publish(new DomainEvent.LoanRegistered(operation, loan.getLoanId(), loan.getEmployeeId(),
+                loan.getLoanAmount(), loan.getStatus()));
+    }
 }
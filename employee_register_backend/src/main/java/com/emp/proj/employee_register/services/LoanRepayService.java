@@ -2,14 +2,17 @@ package com.emp.proj.employee_register.services;
 
 import com.emp.proj.employee_register.entities.LoanRepay;
 import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.entities.Money;
 import com.emp.proj.employee_register.repository.ILoanRepayRepository;
 import com.emp.proj.employee_register.repository.ILoanRegistrationRepository;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class LoanRepayService implements ILoanRepayService {
@@ -20,11 +23,21 @@ public class LoanRepayService implements ILoanRepayService {
     @Autowired
     private ILoanRegistrationRepository loanRegistrationRepository;
 
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
     @Transactional
+    @RetryOnConflict
     public LoanRepay addRepayment(LoanRepay loanRepay) {
         
-        LoanRegistration loan = loanRegistrationRepository.findById(loanRepay.getLoanId())
+        LoanRegistration loan = lockLoan(loanRepay.getLoanId())
                 .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loanRepay.getLoanId()));
 
         if (!"active".equals(loan.getStatus())) {
@@ -36,28 +49,36 @@ public class LoanRepayService implements ILoanRepayService {
         }
 
         if (loanRepay.getRepayDate() == null) {
-            loanRepay.setRepayDate(new Date());
+            loanRepay.setRepayDate(LocalDate.now());
         }
 
-        if (loanRepay.getRepayAmount() == null || loanRepay.getRepayAmount() <= 0) {
+        if (loanRepay.getRepayAmount() == null || Money.toCents(loanRepay.getRepayAmount()) <= 0) {
             throw new IllegalArgumentException("Repay amount must be greater than zero");
         }
 
-        Double totalRepaid = loanRepayRepository.getTotalRepaidAmountForLoan(loanRepay.getLoanId());
-        if (totalRepaid == null) totalRepaid = 0.0;
+        // In cents, so the last installment of a loan pays it off exactly.
+        long loanCents = Money.centsOf(loan.getLoanAmount());
+        long alreadyRepaidCents = loanRepayRepository.sumRepaidCents(loanRepay.getLoanId());
+        long repaidCents = alreadyRepaidCents + Money.toCents(loanRepay.getRepayAmount());
 
-        if (totalRepaid + loanRepay.getRepayAmount() > loan.getLoanAmount()) {
+        if (repaidCents > loanCents) {
             throw new IllegalArgumentException(
                     "Repayment would exceed loan amount. Maximum allowed: " +
-                            (loan.getLoanAmount() - totalRepaid)
+                            Money.toAmount(loanCents - alreadyRepaidCents)
             );
         }
 
-        LoanRepay savedRepayment = loanRepayRepository.save(loanRepay);
+        // A new entity each attempt: a rolled-back save would leave its id on the argument.
+        LoanRepay savedRepayment = loanRepayRepository.save(new LoanRepay(loanRepay.getLoanId(),
+                loanRepay.getEmployeeId(), Money.round(loanRepay.getRepayAmount()), loanRepay.getRepayDate()));
+        tableVersions.bump(TableVersions.Table.LOAN_REPAYMENTS);
+        publish(DomainEvent.Operation.CREATED, savedRepayment);
 
-        if (totalRepaid + loanRepay.getRepayAmount() >= loan.getLoanAmount()) {
+        if (repaidCents == loanCents) {
             loan.setStatus("inactive");
             loanRegistrationRepository.save(loan);
+            tableVersions.bump(TableVersions.Table.LOANS);
+            publish(loan);
         }
 
         return savedRepayment;
@@ -86,46 +107,53 @@ public class LoanRepayService implements ILoanRepayService {
 
     @Override
     @Transactional
+    @RetryOnConflict
     public LoanRepay updateRepayment(LoanRepay loanRepay) {
         
         LoanRepay existingRepayment = loanRepayRepository.findById(loanRepay.getId())
                 .orElseThrow(() -> new RuntimeException("Repayment not found with id: " + loanRepay.getId()));
+        StaleVersionException.check(LoanRepay.class, loanRepay.getId(), loanRepay.getVersion(), existingRepayment.getVersion());
 
-        LoanRegistration loan = loanRegistrationRepository.findById(existingRepayment.getLoanId())
+        LoanRegistration loan = lockLoan(existingRepayment.getLoanId())
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
 
-        Double totalRepaid = loanRepayRepository.getTotalRepaidAmountForLoan(existingRepayment.getLoanId());
-        if (totalRepaid == null) totalRepaid = 0.0;
-        totalRepaid -= existingRepayment.getRepayAmount();
+        long loanCents = Money.centsOf(loan.getLoanAmount());
+        long otherRepaidCents = loanRepayRepository.sumRepaidCents(existingRepayment.getLoanId())
+                - Money.centsOf(existingRepayment.getRepayAmount());
+        long repaidCents = otherRepaidCents + Money.centsOf(loanRepay.getRepayAmount());
 
-        if (totalRepaid + loanRepay.getRepayAmount() > loan.getLoanAmount()) {
+        if (repaidCents > loanCents) {
             throw new IllegalArgumentException(
                     "Repayment would exceed loan amount. Maximum allowed: " +
-                            (loan.getLoanAmount() - totalRepaid)
+                            Money.toAmount(loanCents - otherRepaidCents)
             );
         }
 
-        existingRepayment.setRepayAmount(loanRepay.getRepayAmount());
+        existingRepayment.setRepayAmount(Money.round(loanRepay.getRepayAmount()));
 
         if (loanRepay.getRepayDate() != null) {
             existingRepayment.setRepayDate(loanRepay.getRepayDate());
         }
 
         LoanRepay updatedRepayment = loanRepayRepository.save(existingRepayment);
+        tableVersions.bump(TableVersions.Table.LOAN_REPAYMENTS);
+        publish(DomainEvent.Operation.UPDATED, updatedRepayment);
 
-        totalRepaid += loanRepay.getRepayAmount();
-        if (totalRepaid >= loan.getLoanAmount()) {
+        if (repaidCents == loanCents) {
             loan.setStatus("inactive");
         } else {
             loan.setStatus("active");
         }
         loanRegistrationRepository.save(loan);
+        tableVersions.bump(TableVersions.Table.LOANS);
+        publish(loan);
 
         return updatedRepayment;
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public boolean deleteRepayment(Integer id) {
         
         LoanRepay repayment = loanRepayRepository.findById(id)
@@ -135,18 +163,21 @@ public class LoanRepayService implements ILoanRepayService {
             return false;
         }
 
-        LoanRegistration loan = loanRegistrationRepository.findById(repayment.getLoanId())
+        LoanRegistration loan = lockLoan(repayment.getLoanId())
                 .orElse(null);
 
         loanRepayRepository.deleteById(id);
+        tableVersions.bump(TableVersions.Table.LOAN_REPAYMENTS);
+        publish(DomainEvent.Operation.DELETED, repayment);
 
         if (loan != null) {
-            Double totalRepaid = loanRepayRepository.getTotalRepaidAmountForLoan(loan.getLoanId());
-            if (totalRepaid == null) totalRepaid = 0.0;
+            long repaidCents = loanRepayRepository.sumRepaidCents(loan.getLoanId());
 
-            if (totalRepaid < loan.getLoanAmount() && "inactive".equals(loan.getStatus())) {
+            if (repaidCents < Money.centsOf(loan.getLoanAmount()) && "inactive".equals(loan.getStatus())) {
                 loan.setStatus("active");
                 loanRegistrationRepository.save(loan);
+                tableVersions.bump(TableVersions.Table.LOANS);
+                publish(loan);
             }
         }
 
@@ -155,7 +186,28 @@ public class LoanRepayService implements ILoanRepayService {
 
     @Override
     public Double getTotalRepaidForLoan(Integer loanId) {
-        Double total = loanRepayRepository.getTotalRepaidAmountForLoan(loanId);
-        return total != null ? total : 0.0;
+        return Money.toAmount(loanRepayRepository.sumRepaidCents(loanId));
+    }
+
+    /**
+     * Loads the loan for a repayment. Its forced version increment does not reach the
+     * second-level cache, whose entry would keep offering the old version to the next
+     * update of the loan, so the entry is dropped once the increment has committed.
+     */
+    private Optional<LoanRegistration> lockLoan(Integer loanId) {
+        Optional<LoanRegistration> loan = loanRegistrationRepository.findForRepayment(loanId);
+        AfterCommit.run(() -> entityManagerFactory.getCache().evict(LoanRegistration.class, loanId));
+        return loan;
+    }
+
+    private void publish(DomainEvent.Operation operation, LoanRepay repayment) {
+        domainEventBus.publish(new DomainEvent.RepaymentPosted(operation, repayment.getId(), repayment.getLoanId(),
+                repayment.getEmployeeId(), repayment.getRepayAmount()));
+    }
+
+    /** Repayments can close or reopen their loan. */
+    private void publish(LoanRegistration loan) {
+        domainEventBus.publish(new DomainEvent.LoanRegistered(DomainEvent.Operation.UPDATED, loan.getLoanId(),
+                loan.getEmployeeId(), loan.getLoanAmount(), loan.getStatus()));
     }
 }
@@ -0,0 +1,12 @@
+package com.emp.proj.employee_register.services;
+
+import java.util.List;
+
+import com.emp.proj.employee_register.entities.Attendance;
+
+/**
+ * Body of the mark-all call: the status every active employee without a record gets
+ * (present when omitted), and the few employees whose day differs from it.
+ */
+public record MarkAllRequest(String status, String description, List<Attendance> exceptions) {
+}
@@ -0,0 +1,28 @@
+package com.emp.proj.employee_register.services;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method again, in a new transaction, when it loses an optimistic-lock race.
+ * Only for writes that recompute their result from what they read, so a fresh attempt
+ * is correct; never for updates carrying a version the client read, where the conflict
+ * belongs to the client. A call joining an outer transaction is not retried itself:
+ * the rollback applies to the whole transaction, so only its outermost method can retry.
+ * An attempt must not leave anything of its own in the arguments, such as the generated
+ * id of an entity it saved, since the next attempt starts from them again.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    /** Attempts in total, including the first. */
+    int attempts() default 10;
+
+    /** Pause before the second attempt, doubled before each later one, with jitter. */
+    long backoffMillis() default 5;
+}
@@ -0,0 +1,6 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+
+public record SalaryNotification(String toEmail, String userName, double amount, LocalDate paymentDate) {
+}
@@ -0,0 +1,67 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.emp.proj.employee_register.entities.SalaryRate;
+import com.emp.proj.employee_register.repository.ISalaryRateRepository;
+
+/**
+ * Each employee's salary history as a map ordered by epoch day, so the base salary on a
+ * given day is one floor lookup. Maps are replaced rather than mutated, so readers never lock;
+ * writers publish a new copy after their transaction commits.
+ */
+@Component
+public class SalaryRateCache {
+
+    @Autowired
+    private ISalaryRateRepository salaryRateRepository;
+
+    private final Map<Integer, NavigableMap<Integer, Double>> rates = new ConcurrentHashMap<>();
+
+    public void load() {
+        Map<Integer, NavigableMap<Integer, Double>> loaded = new ConcurrentHashMap<>();
+        for (SalaryRate rate : salaryRateRepository.findAll()) {
+            loaded.computeIfAbsent(rate.getEmployeeId(), id -> new TreeMap<>())
+                    .put(Dates.epochDay(rate.getEffectiveFrom()), rate.getBaseSalary());
+        }
+        rates.clear();
+        loaded.forEach((id, history) -> rates.put(id, Collections.unmodifiableNavigableMap(history)));
+    }
+
+    /**
+     * The rate in effect on the date, or the employee's first rate for days before it.
+     * Null when the employee has no history at all.
+     */
+    public Double baseSalaryAt(Integer employeeId, LocalDate date) {
+        NavigableMap<Integer, Double> history = rates.get(employeeId);
+        if (history == null || history.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, Double> rate = history.floorEntry(Dates.epochDay(date));
+        return rate != null ? rate.getValue() : history.firstEntry().getValue();
+    }
+
+    public NavigableMap<Integer, Double> history(Integer employeeId) {
+        return rates.getOrDefault(employeeId, Collections.emptyNavigableMap());
+    }
+
+    public void put(Integer employeeId, LocalDate effectiveFrom, Double baseSalary) {
+        AfterCommit.run(() -> rates.compute(employeeId, (id, history) -> {
+            TreeMap<Integer, Double> copy = history != null ? new TreeMap<>(history) : new TreeMap<>();
+            copy.put(Dates.epochDay(effectiveFrom), baseSalary);
+            return Collections.unmodifiableNavigableMap(copy);
+        }));
+    }
+
+    public void remove(Integer employeeId) {
+        AfterCommit.run(() -> rates.remove(employeeId));
+    }
+}
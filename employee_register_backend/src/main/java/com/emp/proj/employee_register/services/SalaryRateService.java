@@ -0,0 +1,167 @@
+package com.emp.proj.employee_register.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.SalaryRate;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import com.emp.proj.employee_register.repository.IEmployeeRepository;
+import com.emp.proj.employee_register.repository.ISalaryRateRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class SalaryRateService implements ISalaryRateService {
+
+    private static final LocalDate OPEN_START = LocalDate.of(1, 1, 1);
+    private static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private ISalaryRateRepository salaryRateRepository;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private SalaryRateCache salaryRateCache;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${salary.rates.recompute-batch-size:5000}")
+    private int recomputeBatchSize;
+
+    /** Employees that predate the history table get their current salary as their only rate. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int backfilled = new TransactionTemplate(transactionManager)
+                .execute(status -> salaryRateRepository.backfillMissingRates());
+        if (backfilled > 0) {
+            System.out.println("Backfilled salary rates for " + backfilled + " employees");
+        }
+        salaryRateCache.load();
+    }
+
+    @Override
+    public List<SalaryRate> getRates(Integer employeeId) {
+        return salaryRateRepository.findByEmployeeIdOrderByEffectiveFromAsc(employeeId);
+    }
+
+    /**
+     * Adds or corrects the rate starting on effectiveFrom, and recomputes the attendance
+     * rows it governs (up to the next rate, and everything before it if it is now the first
+     * rate) in the same transaction.
+     */
+    @Override
+    @Transactional
+    @RetryOnConflict
+    public SalaryRate setRate(Integer employeeId, LocalDate effectiveFrom, Double baseSalary) {
+        if (baseSalary == null || baseSalary < 0) {
+            throw new IllegalArgumentException("Base salary must be zero or more");
+        }
+
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+
+        SalaryRate rate = salaryRateRepository.findByEmployeeIdAndEffectiveFrom(employeeId, effectiveFrom);
+        if (rate == null) {
+            rate = new SalaryRate(employeeId, effectiveFrom, baseSalary);
+        }
+        rate.setBaseSalary(baseSalary);
+        SalaryRate savedRate = salaryRateRepository.save(rate);
+        salaryRateCache.put(employeeId, effectiveFrom, baseSalary);
+
+        LocalDate nextFrom = salaryRateRepository.findNextEffectiveFrom(employeeId, effectiveFrom);
+        LocalDate today = LocalDate.now();
+        if (!effectiveFrom.isAfter(today) && (nextFrom == null || nextFrom.isAfter(today))
+                && !baseSalary.equals(employee.getBaseSalary())) {
+            employee.setBaseSalary(baseSalary);
+            employeeRepository.save(employee);
+            tableVersions.bump(TableVersions.Table.EMPLOYEES);
+            domainEventBus.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.UPDATED,
+                    employeeId, employee.getStatus()));
+        }
+
+        LocalDate first = salaryRateRepository.findFirstEffectiveFrom(employeeId);
+        LocalDate recomputeFrom = first.equals(effectiveFrom) ? null : effectiveFrom;
+        // The recompute reads the rates in SQL. Running it after commit held this transaction's
+        // connection while waiting for another, which exhausted the pool under concurrent edits.
+        salaryRateRepository.flush();
+        recomputeTotals(recomputeFrom, nextFrom, employeeId);
+
+        return savedRate;
+    }
+
+    @Override
+    @Transactional
+    public void deleteRates(Integer employeeId) {
+        salaryRateRepository.deleteByEmployeeId(employeeId);
+        salaryRateCache.remove(employeeId);
+    }
+
+    @Override
+    public double baseSalaryAt(Employee employee, LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        Double rate = salaryRateCache.baseSalaryAt(employee.getId(), day);
+        return rate != null ? rate : employee.getBaseSalary();
+    }
+
+    /**
+     * Rewrites attendance.total_salary for rows dated from (inclusive) to to (exclusive),
+     * either bound null for open-ended, in id-ordered batches. Called outside a transaction,
+     * each batch commits on its own so a large range never holds one long transaction;
+     * called inside one, the batches join it. Archived months are not touched. Returns the
+     * number of rows rewritten.
+     */
+    @Override
+    public int recomputeTotals(LocalDate from, LocalDate to, Integer employeeId) {
+        LocalDate start = from != null ? from : OPEN_START;
+        LocalDate end = to != null ? to : OPEN_END;
+
+        TransactionTemplate batch = new TransactionTemplate(transactionManager);
+
+        int rewritten = 0;
+        int[] afterId = { 0 };
+        while (true) {
+            Integer updated = batch.execute(status -> {
+                List<Integer> ids = attendanceRepository.findIdsForRecompute(start, end, employeeId, afterId[0],
+                        PageRequest.of(0, recomputeBatchSize));
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                afterId[0] = ids.get(ids.size() - 1);
+                int count = attendanceRepository.recomputeTotalSalary(ids);
+                tableVersions.bump(TableVersions.Table.ATTENDANCE);
+                return count;
+            });
+            if (updated == null) {
+                break;
+            }
+            rewritten += updated;
+        }
+        if (rewritten > 0) {
+            domainEventBus.publish(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.UPDATED,
+                    null, employeeId, null, null, null, rewritten));
+        }
+        return rewritten;
+    }
+}
@@ -1,19 +1,20 @@
 package com.emp.proj.employee_register.services;
 import java.util.HashMap;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.Money;
 import com.emp.proj.employee_register.entities.Salary;
 import com.emp.proj.employee_register.repository.ISalaryRepository;
 import com.emp.proj.employee_register.repository.IEmployeeRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -26,15 +27,25 @@ public class SalaryService implements ISalaryService {
     @Autowired
     private IEmployeeRepository employeeRepository;
 
+    @Autowired
+    @Lazy
+    private EmailService emailService;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
     @Override
     @Transactional
     public Salary addSalary(Salary salary) {
     
-        employeeRepository.findById(salary.getEmployeeId())
+        Employee employee = employeeRepository.findById(salary.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + salary.getEmployeeId()));
 
         if (salary.getDatePaid() == null) {
-            salary.setDatePaid(new Date());
+            salary.setDatePaid(LocalDate.now());
         }
 
         if (salary.getPaymentType() == null ||
@@ -42,7 +53,17 @@ public class SalaryService implements ISalaryService {
             throw new IllegalArgumentException("Payment type must be either 'daily_credit' or 'salary'");
         }
 
-        return salaryRepository.save(salary);
+        Salary savedSalary = salaryRepository.save(salary);
+        tableVersions.bump(TableVersions.Table.SALARIES);
+        domainEventBus.publish(new DomainEvent.SalaryPaid(DomainEvent.Operation.CREATED,
+                savedSalary.getId(), savedSalary.getEmployeeId(), savedSalary.getAmount()));
+
+        if (employee.getEmail() != null && !employee.getEmail().isEmpty() && savedSalary.getAmount() != null) {
+            emailService.sendSalaryNotificationEmail(employee.getEmail(), employee.getName(),
+                    savedSalary.getAmount(), savedSalary.getDatePaid());
+        }
+
+        return savedSalary;
     }
 
     @Override
@@ -51,31 +72,22 @@ public class SalaryService implements ISalaryService {
 
         List<Salary> allSalaries = salaryRepository.findAll();
 
-        double totalPaid = allSalaries.stream()
-                .mapToDouble(Salary::getAmount)
-                .sum();
-
-        LocalDate now = LocalDate.now();
-        int currentMonth = now.getMonthValue();
-        int currentYear = now.getYear();
-        int lastMonth = currentMonth == 1 ? 12 : currentMonth - 1;
-        int lastMonthYear = currentMonth == 1 ? currentYear - 1 : currentYear;
-
-        double thisMonthAmount = allSalaries.stream()
-                .filter(salary -> {
-                    LocalDate paidDate = LocalDate.parse(new SimpleDateFormat("yyyy-MM-dd").format(salary.getDatePaid()));
-                    return paidDate.getMonthValue() == currentMonth && paidDate.getYear() == currentYear;
-                })
-                .mapToDouble(Salary::getAmount)
-                .sum();
-
-        double lastMonthAmount = allSalaries.stream()
-                .filter(salary -> {
-                    LocalDate paidDate = LocalDate.parse(new SimpleDateFormat("yyyy-MM-dd").format(salary.getDatePaid()));
-                    return paidDate.getMonthValue() == lastMonth && paidDate.getYear() == lastMonthYear;
-                })
-                .mapToDouble(Salary::getAmount)
-                .sum();
+        // One pass, in cents: the total and the last six months, oldest first, this month last.
+        YearMonth now = YearMonth.now();
+        long currentMonthIndex = now.getYear() * 12L + now.getMonthValue();
+        long totalPaidCents = 0;
+        long[] monthCents = new long[6];
+        for (Salary salary : allSalaries) {
+            long cents = Money.centsOf(salary.getAmount());
+            totalPaidCents += cents;
+            if (salary.getDatePaid() != null) {
+                LocalDate paidDate = salary.getDatePaid();
+                long monthsAgo = currentMonthIndex - (paidDate.getYear() * 12L + paidDate.getMonthValue());
+                if (monthsAgo >= 0 && monthsAgo < monthCents.length) {
+                    monthCents[monthCents.length - 1 - (int) monthsAgo] += cents;
+                }
+            }
+        }
 
         List<Salary> recentPayments = allSalaries.stream()
                 .sorted(Comparator.comparing(Salary::getDatePaid).reversed())
@@ -83,28 +95,17 @@ public class SalaryService implements ISalaryService {
                 .collect(Collectors.toList());
 
         List<Map<String, Object>> monthlyData = new ArrayList<>();
-        for (int i = 5; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.now().minusMonths(i);
-            int month = yearMonth.getMonthValue();
-            int year = yearMonth.getYear();
-
-            double amount = allSalaries.stream()
-                    .filter(salary -> {
-                        LocalDate paidDate = LocalDate.parse(new SimpleDateFormat("yyyy-MM-dd").format(salary.getDatePaid()));
-                        return paidDate.getMonthValue() == month && paidDate.getYear() == year;
-                    })
-                    .mapToDouble(Salary::getAmount)
-                    .sum();
-
+        for (int i = 0; i < monthCents.length; i++) {
+            YearMonth yearMonth = now.minusMonths(monthCents.length - 1 - i);
             Map<String, Object> monthData = new HashMap<>();
             monthData.put("name", yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
-            monthData.put("amount", amount);
+            monthData.put("amount", Money.toAmount(monthCents[i]));
             monthlyData.add(monthData);
         }
 
-        statistics.put("totalPaid", totalPaid);
-        statistics.put("thisMonth", thisMonthAmount);
-        statistics.put("lastMonth", lastMonthAmount);
+        statistics.put("totalPaid", Money.toAmount(totalPaidCents));
+        statistics.put("thisMonth", Money.toAmount(monthCents[5]));
+        statistics.put("lastMonth", Money.toAmount(monthCents[4]));
         statistics.put("recentPayments", recentPayments);
         statistics.put("monthlyData", monthlyData);
 
@@ -139,6 +140,7 @@ public class SalaryService implements ISalaryService {
         
         Salary existingSalary = salaryRepository.findById(salary.getId())
                 .orElseThrow(() -> new RuntimeException("Salary record not found with id: " + salary.getId()));
+        StaleVersionException.check(Salary.class, salary.getId(), salary.getVersion(), existingSalary.getVersion());
 
         existingSalary.setAmount(salary.getAmount());
         existingSalary.setPaymentType(salary.getPaymentType());
@@ -151,14 +153,22 @@ public class SalaryService implements ISalaryService {
             existingSalary.setLastSalaryDate(salary.getLastSalaryDate());
         }
 
-        return salaryRepository.save(existingSalary);
+        tableVersions.bump(TableVersions.Table.SALARIES);
+        domainEventBus.publish(new DomainEvent.SalaryPaid(DomainEvent.Operation.UPDATED,
+                existingSalary.getId(), existingSalary.getEmployeeId(), existingSalary.getAmount()));
+
+        return salaryRepository.saveAndFlush(existingSalary);
     }
 
     @Override
     @Transactional
     public boolean deleteSalary(Integer id) {
-        if (salaryRepository.existsById(id)) {
-            salaryRepository.deleteById(id);
+        Salary salary = salaryRepository.findById(id).orElse(null);
+        if (salary != null) {
+            salaryRepository.delete(salary);
+            tableVersions.bump(TableVersions.Table.SALARIES);
+            domainEventBus.publish(new DomainEvent.SalaryPaid(DomainEvent.Operation.DELETED,
+                    salary.getId(), salary.getEmployeeId(), salary.getAmount()));
             return true;
         }
         return false;
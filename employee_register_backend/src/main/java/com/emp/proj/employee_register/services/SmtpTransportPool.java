@@ -0,0 +1,126 @@
+package com.emp.proj.employee_register.services;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small pool of SMTP transports that stay connected between messages, shared by
+ * every bulk send. A global rate limit spaces out sends across all leases.
+ */
+@Component
+public class SmtpTransportPool {
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Value("${email.bulk.pool-size:4}")
+    private int poolSize;
+
+    @Value("${email.bulk.max-per-second:10}")
+    private double maxPerSecond;
+
+    private final BlockingQueue<Lease> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicLong nextSendSlot = new AtomicLong(System.nanoTime());
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    public Lease borrow() throws InterruptedException {
+        Lease lease = idle.poll();
+        if (lease != null) {
+            return lease;
+        }
+        if (created.incrementAndGet() <= poolSize) {
+            return new Lease();
+        }
+        created.decrementAndGet();
+        return idle.take();
+    }
+
+    public void release(Lease lease) {
+        idle.offer(lease);
+    }
+
+    /**
+     * Block until the configured send rate allows another message.
+     */
+    void acquireSendPermit() throws InterruptedException {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long interval = (long) (1_000_000_000L / maxPerSecond);
+        while (true) {
+            long now = System.nanoTime();
+            long previous = nextSendSlot.get();
+            long slot = Math.max(previous, now);
+            if (nextSendSlot.compareAndSet(previous, slot + interval)) {
+                long wait = slot - now;
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        Lease lease;
+        while ((lease = idle.poll()) != null) {
+            lease.disconnect();
+        }
+    }
+
+    /**
+     * A pooled transport. It connects lazily and reconnects after a connection-level failure.
+     */
+    public class Lease {
+
+        private Transport transport;
+
+        public void send(MimeMessage message) throws MessagingException, InterruptedException {
+            acquireSendPermit();
+            if (transport == null) {
+                Transport connecting = mailSender.getSession().getTransport(mailSender.getProtocol());
+                connecting.connect(mailSender.getHost(), mailSender.getPort(),
+                        mailSender.getUsername(), mailSender.getPassword());
+                transport = connecting;
+            }
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        public void disconnect() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    // connection is being discarded anyway
+                }
+                transport = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.emp.proj.employee_register.services;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * An update sent with a version older than the stored one. JPA compares versions at
+ * flush, which only catches a race between a transaction's own read and write; a client
+ * that read the row in an earlier request sends the version it saw, and is checked here.
+ * Unlike a race inside a transaction, retrying cannot help: the client has to re-read.
+ */
+public class StaleVersionException extends ObjectOptimisticLockingFailureException {
+
+    public StaleVersionException(Class<?> type, Object id) {
+        super(type, id);
+    }
+
+    /** A null expected version means the client did not send one, and is not checked. */
+    static void check(Class<?> type, Object id, Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new StaleVersionException(type, id);
+        }
+    }
+}
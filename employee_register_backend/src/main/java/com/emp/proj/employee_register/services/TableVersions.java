@@ -0,0 +1,131 @@
+package com.emp.proj.employee_register.services;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-table change counters used to answer conditional GETs on the list endpoints.
+ * Services bump a table after every committed write; controllers derive a strong
+ * ETag and a Last-Modified time from the current counter without touching the database.
+ */
+@Component
+public class TableVersions {
+
+    public enum Table {
+        EMPLOYEES, ATTENDANCE, SALARIES, LOANS, LOAN_REPAYMENTS
+    }
+
+    private static final class Version {
+        private final AtomicLong counter = new AtomicLong();
+        // Whole seconds, the precision Last-Modified and If-Modified-Since carry.
+        private long lastModified;
+        private boolean changedAgainWithinSecond;
+    }
+
+    private final long bootTime = System.currentTimeMillis();
+    private final Map<Table, Version> versions = new EnumMap<>(Table.class);
+
+    public TableVersions() {
+        for (Table table : Table.values()) {
+            Version version = new Version();
+            version.lastModified = bootTime / 1000 * 1000;
+            versions.put(table, version);
+        }
+    }
+
+    /**
+     * Mark a table as changed. Inside a transaction the bump is deferred until commit,
+     * so a reader can never pair a new version with data that is not yet visible.
+     */
+    public void bump(Table table) {
+        AfterCommit.run(() -> increment(table));
+    }
+
+    public String etag(Table table) {
+        return "\"" + table.name().toLowerCase() + "-" + Long.toString(bootTime, 36)
+                + "-" + versions.get(table).counter.get() + "\"";
+    }
+
+    /**
+     * The table's Last-Modified time, or -1 while it has none. A copy stamped with the
+     * second of a change may have been read before another change in that same second, so
+     * until the second is over only the ETag can validate it. After that the time moves on
+     * to the next second, which is later than every change and every copy stamped before.
+     */
+    public long lastModified(Table table) {
+        Version version = versions.get(table);
+        synchronized (version) {
+            if (version.changedAgainWithinSecond) {
+                if (System.currentTimeMillis() < version.lastModified + 1000) {
+                    return -1;
+                }
+                version.lastModified += 1000;
+                version.changedAgainWithinSecond = false;
+            }
+            return version.lastModified;
+        }
+    }
+
+    /**
+     * Apply the table's validators to the request. Returns true when the client's copy
+     * is current, in which case the caller should return without building a body.
+     * Responses are marked no-cache so browsers always revalidate instead of guessing
+     * a freshness lifetime from Last-Modified.
+     */
+    public boolean checkNotModified(WebRequest request, Table table) {
+        return checkNotModified(request, table, null);
+    }
+
+    /**
+     * As above, for endpoints serving several representations of the same table
+     * (e.g. a ?fields= projection). The variant is folded into the ETag so a cached
+     * full list never validates a projection, or the other way round. Variants come from
+     * the query string, so the ETag carries their SHA-256 rather than the text itself:
+     * a fixed length, only characters an ETag may hold, and no two variants sharing one.
+     */
+    public boolean checkNotModified(WebRequest request, Table table, String variant) {
+        String etag = etag(table);
+        if (variant != null) {
+            etag = etag.substring(0, etag.length() - 1) + "-" + digest(variant) + "\"";
+        }
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(etag, lastModified(table));
+    }
+
+    private static String digest(String variant) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(variant.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void increment(Table table) {
+        Version version = versions.get(table);
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        synchronized (version) {
+            if (second <= version.lastModified) {
+                version.changedAgainWithinSecond = true;
+            } else {
+                version.lastModified = second;
+                version.changedAgainWithinSecond = false;
+            }
+            version.counter.incrementAndGet();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.emp.proj.employee_register.services;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import com.emp.proj.employee_register.entities.User;
@@ -16,6 +17,10 @@ public class UserService implements IUserService {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    @Lazy
+    private EmailService emailService;
+
     @Override
     @Transactional
     public User addUser(User user) {
@@ -31,7 +36,13 @@ public class UserService implements IUserService {
             user.setRole("USER");
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+
+        if (savedUser.getEmail() != null && !savedUser.getEmail().isEmpty()) {
+            emailService.sendUserRegistrationEmail(savedUser.getEmail(), savedUser.getUserName());
+        }
+
+        return savedUser;
     }
 
     @Override
@@ -52,6 +63,7 @@ public class UserService implements IUserService {
         
         User existingUser = userRepository.findById(user.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + user.getUserId()));
+        StaleVersionException.check(User.class, user.getUserId(), user.getVersion(), existingUser.getVersion());
 
         if (!existingUser.getUserName().equals(user.getUserName()) &&
                 userRepository.existsByUserName(user.getUserName())) {
@@ -73,7 +85,7 @@ public class UserService implements IUserService {
         existingUser.setEmail(user.getEmail());
         existingUser.setRole(user.getRole());
 
-        return userRepository.save(existingUser);
+        return userRepository.saveAndFlush(existingUser);
     }
 
     @Override
@@ -0,0 +1,125 @@
+package com.emp.proj.employee_register;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.AttendanceSetQuery;
+import com.emp.proj.employee_register.services.CompressedBitmap;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceBitmapIndexTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Test
+    void bitmapsSwitchBetweenArraysAndBitsWithoutLosingIds() {
+        int[] evens = IntStream.range(0, 20000).map(i -> i * 2).toArray();
+        CompressedBitmap dense = CompressedBitmap.of(evens);
+        CompressedBitmap sparse = CompressedBitmap.of(4, 6, 7, 70001, 39998);
+
+        assertEquals(20000, dense.cardinality());
+        assertArrayEquals(new int[] { 4, 6, 39998 }, dense.and(sparse).toArray());
+        assertEquals(20002, dense.or(sparse).cardinality());
+        assertArrayEquals(new int[] { 7, 70001 }, sparse.andNot(dense).toArray());
+        assertEquals(19997, dense.andNot(sparse).cardinality());
+        assertEquals(0, dense.andNot(dense).cardinality());
+        assertTrue(dense.remove(4).add(5).contains(5));
+        assertFalse(dense.remove(4).contains(4));
+    }
+
+    @Test
+    void answersSetQueriesFromCommittedWrites() throws Exception {
+        Employee alice = employee("Bitmap Alice");
+        Employee bob = employee("Bitmap Bob");
+        Employee carol = employee("Bitmap Carol");
+
+        // Saturdays in March 2014 are the 1st, 8th, 15th, 22nd and 29th.
+        for (String day : List.of("2014-03-01", "2014-03-08", "2014-03-15", "2014-03-22", "2014-03-29")) {
+            add(alice, day, "overtime");
+            add(bob, day, day.endsWith("29") ? "present" : "overtime");
+        }
+        add(alice, "2014-03-04", "absent");
+        add(bob, "2014-03-04", "absent");
+        add(bob, "2014-03-05", "absent");
+        add(bob, "2014-03-06", "absent");
+        add(carol, "2014-03-04", "present");
+        Attendance carolsLateDay = add(carol, "2014-03-05", "absent");
+        awaitIndexed(carol, "2014-03-05", "absent");
+
+        query("{\"and\": [{\"status\": \"absent\", \"date\": \"2014-03-04\"}, {\"status\": \"absent\", \"date\": \"2014-03-05\"}]}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(bob.getId())));
+        query("{\"status\": \"absent\", \"from\": \"2014-03-01\", \"to\": \"2014-03-31\", \"min\": 3}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(bob.getId())));
+        query("{\"status\": \"overtime\", \"from\": \"2014-03-01\", \"to\": \"2014-03-31\", \"dayOfWeek\": \"SATURDAY\", \"all\": true}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(alice.getId())));
+        query("{\"or\": [{\"status\": \"present\", \"date\": \"2014-03-04\"}, {\"status\": \"absent\", \"date\": \"2014-03-06\"}]}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(bob.getId(), carol.getId())));
+        query("{\"not\": {\"status\": \"absent\", \"date\": \"2014-03-04\"}}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(carol.getId())));
+
+        carolsLateDay.setStatus("halfday");
+        attendanceService.updateAttendance(carolsLateDay);
+        attendanceService.upsertAttendance(alice.getId(), "2014-03-05",
+                new Attendance(null, null, "absent", null, null, null, null, null));
+        awaitIndexed(alice, "2014-03-05", "absent");
+        query("{\"status\": \"absent\", \"date\": \"2014-03-05\"}")
+                .andExpect(jsonPath("$.employeeIds", containsInAnyOrder(alice.getId(), bob.getId())));
+
+        query("{\"status\": \"late\", \"date\": \"2014-03-05\"}").andExpect(status().isBadRequest());
+        query("{\"status\": \"absent\", \"from\": \"2014-01-01\", \"to\": \"2015-06-01\"}").andExpect(status().isBadRequest());
+    }
+
+    private Employee employee(String name) {
+        return employeeService.addEmployee(new Employee(name, "555", "Street", "worker", LocalDate.of(2010, 1, 1), 100.0, "active"));
+    }
+
+    private Attendance add(Employee employee, String date, String status) {
+        return attendanceService.addAttendance(
+                new Attendance(employee.getId(), LocalDate.parse(date), status, null, null, null, null, null));
+    }
+
+    /** The index follows writes in order, through the domain event bus; waits for the given one. */
+    private void awaitIndexed(Employee employee, String date, String status) throws InterruptedException {
+        AttendanceSetQuery query = new AttendanceSetQuery(status, LocalDate.parse(date), null, null, null, null, null,
+                null, null, null);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (IntStream.of((int[]) attendanceService.queryAttendanceSets(query).get("employeeIds"))
+                .noneMatch(id -> id == employee.getId()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private ResultActions query(String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/attendance/sets/query").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
@@ -0,0 +1,126 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Many threads asking for different dates at once. With one formatter shared between request
+ * threads, a parse could come back with another request's date, or fail outright.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AttendanceByDateConcurrencyTests {
+
+    private static final String[] STATUSES = { "present", "absent", "halfday", "overtime" };
+    private static final int EMPLOYEES = 6;
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 2_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Test
+    void byDateEndpointsAnswerForTheirOwnDateUnderLoad() throws Exception {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            dates.add(LocalDate.of(2037, month, month + 10));
+        }
+        List<Integer> employeeIds = new ArrayList<>();
+        Map<String, String> expected = new HashMap<>();
+        for (int e = 0; e < EMPLOYEES; e++) {
+            Employee employee = employeeService.addEmployee(new Employee("By Date " + e, "555", "Street", "worker",
+                    LocalDate.of(2030, 1, 1), 100.0, "active"));
+            employeeIds.add(employee.getId());
+            for (int d = 0; d < dates.size(); d++) {
+                String status = STATUSES[(e + d) % STATUSES.length];
+                attendanceService.addAttendance(new Attendance(employee.getId(), dates.get(d), status,
+                        null, "overtime".equals(status) ? 10.0 : null, null, null, null));
+                expected.put(employee.getId() + "/" + dates.get(d), status);
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> requests = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                String date = dates.get(i % dates.size()).toString();
+                Integer employeeId = employeeIds.get(i / dates.size() % EMPLOYEES);
+                boolean wholeDay = i % 2 == 0;
+                requests.add(() -> {
+                    if (wholeDay) {
+                        List<Map<String, Object>> rows = read(mockMvc.perform(
+                                get("/api/v1/attendance/date/" + date)).andReturn(), new TypeReference<>() { });
+                        int ours = 0;
+                        for (Map<String, Object> row : rows) {
+                            assertEquals(date, row.get("date"));
+                            if (employeeIds.contains(row.get("employeeId"))) {
+                                assertEquals(expected.get(row.get("employeeId") + "/" + date), row.get("status"));
+                                ours++;
+                            }
+                        }
+                        assertEquals(EMPLOYEES, ours, date);
+                    } else {
+                        Map<String, Object> row = read(mockMvc.perform(
+                                get("/api/v1/attendance/employee/" + employeeId + "/date/" + date)).andReturn(),
+                                new TypeReference<>() { });
+                        assertEquals(date, row.get("date"));
+                        assertEquals(expected.get(employeeId + "/" + date), row.get("status"));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> request : pool.invokeAll(requests)) {
+                request.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void datesAreParsedStrictly() {
+        assertThrows(IllegalArgumentException.class, () -> attendanceService.getAttendanceByDate("2037-02-30"));
+        assertThrows(IllegalArgumentException.class, () -> attendanceService.getAttendanceByDate("2037-2-3"));
+        assertThrows(IllegalArgumentException.class, () -> attendanceService.getAttendanceByDate("03/02/2037"));
+    }
+
+    private <T> T read(MvcResult result, TypeReference<T> type) throws Exception {
+        assertEquals(200, result.getResponse().getStatus(), result.getRequest().getRequestURI());
+        return objectMapper.readValue(result.getResponse().getContentAsString(), type);
+    }
+}
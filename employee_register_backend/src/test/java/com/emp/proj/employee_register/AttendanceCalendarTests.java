@@ -0,0 +1,86 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceCalendarTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Test
+    void packsAYearIntoPresenceBitsAndTwoBitStatuses() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Calendar Employee", "555", "Street", "worker", LocalDate.of(2010, 1, 1), 100.0, "active"));
+        Integer id = employee.getId();
+        add(id, "2012-01-01", "absent");
+        add(id, "2012-01-02", "present");
+        add(id, "2012-02-29", "overtime");
+        add(id, "2012-12-31", "halfday");
+        add(id, "2013-01-01", "absent");
+
+        String json = mockMvc.perform(get("/api/v1/attendance/calendar/{employeeId}/{year}", id, 2012))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").value(366))
+                .andReturn().getResponse().getContentAsString();
+        String data = JsonPath.read(json, "$.data");
+        byte[] packed = Base64.getDecoder().decode(data);
+        assertEquals(46 + 92, packed.length);
+        assertTrue(data.length() < 200);
+
+        assertDay(packed, 0, 1);
+        assertDay(packed, 1, 0);
+        assertDay(packed, 59, 3);
+        assertDay(packed, 365, 2);
+        assertEquals(4, presentDays(packed));
+
+        mockMvc.perform(get("/api/v1/attendance/calendar/{employeeId}/{year}", id, 2012).param("view", "json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses.length()").value(4))
+                .andExpect(jsonPath("$.statuses['2012-02-29']").value("overtime"))
+                .andExpect(jsonPath("$.statuses['2012-12-31']").value("halfday"));
+    }
+
+    private static void assertDay(byte[] packed, int day, int status) {
+        assertTrue((packed[day >> 3] & (1 << (day & 7))) != 0, "day " + day + " present");
+        assertEquals(status, (packed[46 + (day >> 2)] >> ((day & 3) * 2)) & 3, "day " + day + " status");
+    }
+
+    private static int presentDays(byte[] packed) {
+        int days = 0;
+        for (int i = 0; i < 46; i++) {
+            days += Integer.bitCount(packed[i] & 0xff);
+        }
+        return days;
+    }
+
+    private void add(Integer employeeId, String date, String status) {
+        attendanceService.addAttendance(new Attendance(employeeId, LocalDate.parse(date), status, null, null, null, null, null));
+    }
+}
@@ -0,0 +1,115 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.AttendanceCounters;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceCountersTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceCounters attendanceCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countsFollowWritesAndReconcileCorrectsDrift() throws Exception {
+        attendanceCounters.reconcile();
+        Map<String, Object> before = attendanceService.getTodayCounts();
+        String today = LocalDate.now().toString();
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(employeeService.addEmployee(
+                    new Employee("Counter Employee " + i, "555", "Street", "worker", LocalDate.EPOCH, 100.0, "active")));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Attendance> added = new ArrayList<>();
+        try {
+            List<Callable<Attendance>> saves = new ArrayList<>();
+            for (Employee employee : employees) {
+                saves.add(() -> attendanceService.addAttendance(new Attendance(employee.getId(),
+                        LocalDate.parse(today), "present", null, null, null, null, null)));
+            }
+            for (Future<Attendance> save : pool.invokeAll(saves)) {
+                added.add(save.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Attendance changed = added.get(0);
+        changed.setStatus("halfday");
+        attendanceService.updateAttendance(changed);
+        attendanceService.upsertAttendance(employees.get(1).getId(), today,
+                new Attendance(null, null, "absent", null, null, null, null, null));
+        attendanceService.deleteAttendance(added.get(2).getId());
+
+        // The counters follow writes asynchronously, through the domain event bus.
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!settled(before, attendanceService.getTodayCounts()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(count(before, "present") + 17, count(attendanceService.getTodayCounts(), "present"));
+        assertEquals(count(before, "halfday") + 1, count(attendanceService.getTodayCounts(), "halfday"));
+        assertEquals(count(before, "absent") + 1, count(attendanceService.getTodayCounts(), "absent"));
+
+        mockMvc.perform(get("/api/v1/attendance/today/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value(today))
+                .andExpect(jsonPath("$.total").value(count(before, "total") + 19));
+
+        // A row written behind the service's back only shows up after the next recount.
+        jdbcTemplate.update("INSERT INTO attendance (emp_id, date, status, total_salary) VALUES (?, ?, 'overtime', 0)",
+                employees.get(2).getId(), today);
+        assertEquals(count(before, "overtime"), count(attendanceService.getTodayCounts(), "overtime"));
+        attendanceCounters.reconcile();
+        assertEquals(count(before, "overtime") + 1, count(attendanceService.getTodayCounts(), "overtime"));
+    }
+
+    private static boolean settled(Map<String, Object> before, Map<String, Object> now) {
+        return count(now, "present") == count(before, "present") + 17
+                && count(now, "halfday") == count(before, "halfday") + 1
+                && count(now, "absent") == count(before, "absent") + 1
+                && count(now, "total") == count(before, "total") + 19;
+    }
+
+    private static long count(Map<String, Object> counts, String status) {
+        return ((Number) counts.get(status)).longValue();
+    }
+}
@@ -0,0 +1,285 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import com.emp.proj.employee_register.services.ArchivedAttendanceException;
+import com.emp.proj.employee_register.services.AttendanceArchive;
+import com.emp.proj.employee_register.services.AttendanceBitmapIndex;
+import com.emp.proj.employee_register.services.AttendanceSetQuery;
+import com.emp.proj.employee_register.services.AttendanceTieringService;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.MarkAllRequest;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceTieringTests {
+
+    @TempDir
+    static Path archiveDir;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("attendance.archive.dir", () -> archiveDir.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceTieringService tieringService;
+
+    @Autowired
+    private AttendanceArchive attendanceArchive;
+
+    @Autowired
+    private AttendanceBitmapIndex attendanceBitmapIndex;
+
+    @Test
+    void closedMonthsAreReadAcrossBothTiers() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Tiered Employee", "555", "Street", "worker", LocalDate.EPOCH, 200.0, "active"));
+        Integer id = employee.getId();
+
+        YearMonth closed = YearMonth.now().minusMonths(14);
+        String[] statuses = { "present", "absent", "halfday", "overtime", "present" };
+        for (int day = 1; day <= statuses.length; day++) {
+            boolean overtime = "overtime".equals(statuses[day - 1]);
+            attendanceService.addAttendance(new Attendance(id, closed.atDay(day), statuses[day - 1],
+                    overtime ? "Stock count" : null, overtime ? 75.5 : null, overtime ? 2.5 : null,
+                    day == 2 ? "Sick leave" : null, null));
+        }
+        LocalDate today = LocalDate.now();
+        attendanceService.addAttendance(new Attendance(id, today, "present", null, null, null, null, null));
+
+        Map<String, Object> summaryBefore = attendanceService.getMonthlyAttendanceSummary(
+                id, closed.getMonthValue(), closed.getYear());
+        List<Attendance> historyBefore = sorted(attendanceService.getAttendanceByEmployeeId(id));
+
+        assertTrue(tieringService.tierClosedMonths() >= statuses.length);
+
+        assertEquals(1, attendanceRepository.findByEmployeeId(id).size());
+        assertEquals(statuses.length, attendanceArchive.read(closed, id).size());
+        assertEquals(summaryBefore, attendanceService.getMonthlyAttendanceSummary(
+                id, closed.getMonthValue(), closed.getYear()));
+
+        List<Attendance> historyAfter = sorted(attendanceService.getAttendanceByEmployeeId(id));
+        assertEquals(historyBefore.size(), historyAfter.size());
+        for (int i = 0; i < historyBefore.size(); i++) {
+            Attendance before = historyBefore.get(i);
+            Attendance after = historyAfter.get(i);
+            assertEquals(before.getId(), after.getId());
+            assertEquals(before.getDate().toString(), after.getDate().toString());
+            assertEquals(before.getStatus(), after.getStatus());
+            assertEquals(before.getTotalSalary(), after.getTotalSalary());
+            assertEquals(before.getOvertimeSalary(), after.getOvertimeSalary());
+            assertEquals(before.getOvertimeHours(), after.getOvertimeHours());
+            assertEquals(before.getOvertimeDescription(), after.getOvertimeDescription());
+            assertEquals(before.getDescription(), after.getDescription());
+        }
+
+        Attendance sickDay = attendanceService.getAttendanceByEmployeeIdAndDate(id, closed.atDay(2).toString());
+        assertNotNull(sickDay);
+        assertEquals("Sick leave", sickDay.getDescription());
+        assertNull(attendanceService.getAttendanceByEmployeeIdAndDate(id, closed.atDay(20).toString()));
+
+        // A row that reached the table while the month was being tiered is appended as a new
+        // segment on the next run.
+        Attendance late = new Attendance(id, closed.atDay(6), "present", null, null, null, null, 200.0);
+        attendanceRepository.save(late);
+        tieringService.tierClosedMonths();
+        assertEquals(statuses.length + 1, attendanceArchive.read(closed, id).size());
+        assertEquals(statuses.length + 1, attendanceService.getMonthlyAttendanceSummary(
+                id, closed.getMonthValue(), closed.getYear()).get("totalDays"));
+    }
+
+    @Test
+    void archivedMonthsRejectWrites() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Archived Writes", "555", "Street", "worker", LocalDate.EPOCH, 100.0, "active"));
+        Integer id = employee.getId();
+        YearMonth closed = YearMonth.now().minusMonths(20);
+        Attendance overtime = attendanceService.addAttendance(new Attendance(id, closed.atDay(3), "overtime",
+                "Inventory", 10.0, 1.0, null, null));
+        tieringService.tierClosedMonths();
+        assertTrue(attendanceArchive.contains(closed));
+
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.addAttendance(
+                new Attendance(id, closed.atDay(3), "present", null, null, null, null, null)));
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.upsertAttendance(
+                id, closed.atDay(4).toString(), new Attendance(null, null, "present", null, null, null, null, null)));
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.markAllAttendance(
+                closed.atDay(5).toString(), new MarkAllRequest(null, null, null)));
+        Attendance change = new Attendance(id, closed.atDay(3), "absent", null, null, null, null, null);
+        change.setId(overtime.getId());
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.updateAttendance(change));
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.updateOvertimeDetails(
+                overtime.getId(), "Recount", 20.0, 2.0));
+        assertThrows(ArchivedAttendanceException.class, () -> attendanceService.deleteAttendance(overtime.getId()));
+
+        // Nothing was written next to the archived row, and over HTTP the writes are conflicts.
+        assertEquals(1, attendanceService.getAttendanceByDate(closed.atDay(3).toString()).stream()
+                .filter(a -> id.equals(a.getEmployeeId())).count());
+        assertTrue(attendanceService.getAttendanceByDate(closed.atDay(5).toString()).isEmpty());
+        mockMvc.perform(post("/api/v1/attendance").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":" + id + ",\"date\":\"" + closed.atDay(3) + "\",\"status\":\"present\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/v1/attendance/employee/" + id + "/date/" + closed.atDay(4))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"present\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/v1/attendance/date/" + closed.atDay(5) + "/mark-all"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/v1/attendance/" + overtime.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"absent\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/v1/attendance/" + overtime.getId())).andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/v1/attendance/" + Integer.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void fieldProjectionsIncludeArchivedRows() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Projected Archive", "555", "Street", "worker", LocalDate.EPOCH, 100.0, "active"));
+        Integer id = employee.getId();
+        LocalDate archivedDay = YearMonth.now().minusMonths(18).atDay(9);
+        Attendance archived = attendanceService.addAttendance(new Attendance(id, archivedDay, "halfday",
+                null, null, null, null, null));
+        Attendance hot = attendanceService.addAttendance(new Attendance(id, LocalDate.now(), "present",
+                null, null, null, null, null));
+        tieringService.tierClosedMonths();
+        assertTrue(attendanceArchive.contains(YearMonth.from(archivedDay)));
+
+        mockMvc.perform(get("/api/v1/attendance/employee/" + id).param("fields", "id,date,status,totalSalary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(archived.getId()))
+                .andExpect(jsonPath("$[0].date").value(archivedDay.toString()))
+                .andExpect(jsonPath("$[0].status").value("halfday"))
+                .andExpect(jsonPath("$[0].totalSalary").value(50.0))
+                .andExpect(jsonPath("$[1].id").value(hot.getId()));
+        mockMvc.perform(get("/api/v1/attendance/date/" + archivedDay).param("fields", "employeeId,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.employeeId == " + id + ")].status").value("halfday"));
+        mockMvc.perform(get("/api/v1/attendance").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + archived.getId() + ")]").isNotEmpty());
+        mockMvc.perform(get("/api/v1/attendance/employee/" + id).param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+
+        // The unprojected listings return the same rows.
+        assertEquals(List.of(archived.getId(), hot.getId()),
+                attendanceService.getAttendanceByEmployeeId(id).stream().map(Attendance::getId).toList());
+        assertTrue(attendanceService.findAll().stream().anyMatch(a -> archived.getId().equals(a.getId())));
+    }
+
+    @Test
+    void setQueriesAnswerForArchivedDates() throws Exception {
+        Employee first = employeeService.addEmployee(
+                new Employee("Archived Bitmap A", "555", "Street", "worker", LocalDate.EPOCH, 100.0, "active"));
+        Employee second = employeeService.addEmployee(
+                new Employee("Archived Bitmap B", "555", "Street", "worker", LocalDate.EPOCH, 100.0, "active"));
+        LocalDate day = YearMonth.now().minusMonths(16).atDay(12);
+        attendanceService.addAttendance(new Attendance(first.getId(), day, "absent", null, null, null, null, null));
+        attendanceService.addAttendance(new Attendance(second.getId(), day, "present", null, null, null, null, null));
+        attendanceService.addAttendance(new Attendance(second.getId(), day.plusDays(1), "absent", null, null, null, null, null));
+
+        AttendanceSetQuery absent = new AttendanceSetQuery("absent", null, day, day.plusDays(1), null, null, null,
+                null, null, null);
+        AttendanceSetQuery presentOnDay = new AttendanceSetQuery("present", day, null, null, null, null, null,
+                null, null, null);
+        // The index follows writes in order, through the domain event bus.
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (((int[]) attendanceService.queryAttendanceSets(absent).get("employeeIds")).length < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Map<String, Object> absentBefore = attendanceService.queryAttendanceSets(absent);
+        Map<String, Object> presentBefore = attendanceService.queryAttendanceSets(presentOnDay);
+        assertArrayEquals(new int[] { first.getId(), second.getId() }, (int[]) absentBefore.get("employeeIds"));
+
+        tieringService.tierClosedMonths();
+        assertTrue(attendanceArchive.contains(YearMonth.from(day)));
+        assertArrayEquals((int[]) absentBefore.get("employeeIds"),
+                (int[]) attendanceService.queryAttendanceSets(absent).get("employeeIds"));
+        assertArrayEquals((int[]) presentBefore.get("employeeIds"),
+                (int[]) attendanceService.queryAttendanceSets(presentOnDay).get("employeeIds"));
+
+        // A restart builds the same answer from the archive files.
+        attendanceBitmapIndex.rebuild();
+        assertArrayEquals((int[]) absentBefore.get("employeeIds"),
+                (int[]) attendanceService.queryAttendanceSets(absent).get("employeeIds"));
+    }
+
+    @Test
+    void anInMemoryDatabaseGetsAFreshArchive() throws Exception {
+        Path root = archiveDir.resolve("lifetime");
+        YearMonth month = YearMonth.of(2021, 3);
+        Attendance row = new Attendance(7, month.atDay(1), "present", null, null, null, null, 100.0);
+        row.setId(1);
+
+        // A namespace left by a process that is no longer running, whose ids the new database reuses.
+        Path abandoned = Files.createDirectories(root.resolve("mem-" + Long.MAX_VALUE + "-0-lifetimedb"));
+        Files.writeString(abandoned.resolve(month + ".atar"), "stale");
+
+        AttendanceArchive archive = new AttendanceArchive(root.toString(), "jdbc:h2:mem:lifetimedb;MODE=LEGACY");
+        assertFalse(Files.exists(abandoned));
+        assertFalse(archive.contains(month));
+        archive.append(month, List.of(row));
+
+        // Another context on the same database in this process shares its archive...
+        assertEquals(1, new AttendanceArchive(root.toString(), "jdbc:h2:mem:lifetimedb").read(month, 7).size());
+        // ...while another database, and a file database in the same directory, do not.
+        assertFalse(new AttendanceArchive(root.toString(), "jdbc:h2:mem:otherdb").contains(month));
+        AttendanceArchive onDisk = new AttendanceArchive(root.toString(), "jdbc:h2:file:./employees");
+        assertFalse(onDisk.contains(month));
+        onDisk.append(month, List.of(row));
+        assertTrue(Files.exists(root.resolve(month + ".atar")));
+        assertEquals(1, archive.read(month, 7).size());
+    }
+
+    private static List<Attendance> sorted(List<Attendance> attendance) {
+        return attendance.stream().sorted(Comparator.comparing(Attendance::getId)).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceUpsertTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Test
+    void putInsertsThenUpdatesTheSameRow() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Upsert Employee", "555", "Street", "worker", LocalDate.EPOCH, 400.0, "active"));
+        String url = "/api/v1/attendance/employee/" + employee.getId() + "/date/2025-02-03";
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"halfday\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("halfday"))
+                .andExpect(jsonPath("$.totalSalary").value(200.0));
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(
+                        "{\"status\":\"overtime\",\"overtimeSalary\":50.0,\"overtimeHours\":2.0,\"overtimeDescription\":\"Stock count\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("overtime"))
+                .andExpect(jsonPath("$.totalSalary").value(450.0));
+
+        assertEquals(1, attendanceRepository.findByEmployeeId(employee.getId()).size());
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"late\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/attendance").contentType(MediaType.APPLICATION_JSON).content(
+                        "{\"employeeId\":" + employee.getId() + ",\"date\":\"2025-02-03\",\"status\":\"present\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void markAllInsertsDefaultsThenAppliesExceptions() throws Exception {
+        Employee regular = employeeService.addEmployee(
+                new Employee("Mark All Regular", "555", "Street", "worker", LocalDate.EPOCH, 600.0, "active"));
+        Employee exception = employeeService.addEmployee(
+                new Employee("Mark All Exception", "555", "Street", "worker", LocalDate.EPOCH, 600.0, "active"));
+        Employee recorded = employeeService.addEmployee(
+                new Employee("Mark All Recorded", "555", "Street", "worker", LocalDate.EPOCH, 600.0, "active"));
+        Employee inactive = employeeService.addEmployee(
+                new Employee("Mark All Inactive", "555", "Street", "worker", LocalDate.EPOCH, 600.0, "inactive"));
+        attendanceService.upsertAttendance(recorded.getId(), "2019-07-04",
+                new Attendance(null, null, "absent", null, null, null, "Leave", null));
+
+        mockMvc.perform(post("/api/v1/attendance/date/2019-07-04/mark-all").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"present\",\"exceptions\":[{\"employeeId\":" + exception.getId()
+                                + ",\"status\":\"halfday\",\"description\":\"Left early\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exceptions").value(1));
+
+        assertEquals(600.0, attendanceService.getAttendanceByEmployeeIdAndDate(regular.getId(), "2019-07-04").getTotalSalary());
+        Attendance halfday = attendanceService.getAttendanceByEmployeeIdAndDate(exception.getId(), "2019-07-04");
+        assertEquals("halfday", halfday.getStatus());
+        assertEquals(300.0, halfday.getTotalSalary());
+        assertEquals("absent", attendanceService.getAttendanceByEmployeeIdAndDate(recorded.getId(), "2019-07-04").getStatus());
+        assertEquals(0, attendanceRepository.findByEmployeeId(inactive.getId()).size());
+
+        mockMvc.perform(post("/api/v1/attendance/date/2019-07-04/mark-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0));
+
+        mockMvc.perform(post("/api/v1/attendance/date/2019-07-05/mark-all").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"late\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void concurrentFirstSavesLeaveOneRow() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Concurrent Upsert", "555", "Street", "worker", LocalDate.EPOCH, 300.0, "active"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Attendance>> saves = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                String status = i % 2 == 0 ? "present" : "absent";
+                saves.add(() -> attendanceService.upsertAttendance(employee.getId(), "2025-03-10",
+                        new Attendance(null, null, status, null, null, null, null, null)));
+            }
+            for (Future<Attendance> save : pool.invokeAll(saves)) {
+                save.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1, attendanceRepository.findByEmployeeId(employee.getId()).size());
+    }
+}
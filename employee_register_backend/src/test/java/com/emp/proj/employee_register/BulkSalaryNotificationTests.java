@@ -0,0 +1,123 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.repository.IEmployeeRepository;
+import com.emp.proj.employee_register.repository.ISalaryRepository;
+import com.emp.proj.employee_register.services.BulkNotificationJob;
+import com.emp.proj.employee_register.services.BulkSalaryNotificationService;
+
+@SpringBootTest(properties = {
+        "email.outbox.poll-interval-ms=3600000",
+        "email.bulk.pool-size=3",
+        "email.bulk.max-per-second=40",
+        "email.bulk.job-retention-ms=500",
+        "email.bulk.job-sweep-ms=3600000",
+        "spring.mail.host=localhost",
+        "spring.mail.username=noreply@test.local",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+class BulkSalaryNotificationTests {
+
+    private static final FakeSmtpServer smtpServer;
+
+    static {
+        try {
+            smtpServer = new FakeSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtpServer::getPort);
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @Autowired
+    private BulkSalaryNotificationService bulkSalaryNotificationService;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private ISalaryRepository salaryRepository;
+
+    @Test
+    void payrollRunIsSentOverPooledConnectionsAtLimitedRate() throws InterruptedException {
+        smtpServer.rejectRecipient("bulk0@test.local");
+
+        List<Integer> salaryIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            salaryIds.add(paySalary("bulk" + i + "@test.local"));
+        }
+        salaryIds.add(paySalary(null));
+        salaryIds.add(Integer.MAX_VALUE);
+
+        long start = System.nanoTime();
+        BulkNotificationJob job = bulkSalaryNotificationService.notifySalaries(salaryIds);
+        while (!job.isCompleted() && System.nanoTime() - start < 20_000_000_000L) {
+            Thread.sleep(20);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(job.isCompleted());
+        assertEquals(32, job.getTotal());
+        assertEquals(29, job.getSent());
+        assertEquals(1, job.getFailed());
+        assertEquals(2, job.getSkipped());
+        assertEquals(29, smtpServer.getMessages().size());
+        assertTrue(smtpServer.getConnectionCount() <= 3, "opened " + smtpServer.getConnectionCount() + " connections");
+        assertTrue(elapsedMs >= 600, "30 sends at 40/s finished in " + elapsedMs + " ms");
+        assertEquals("failed", job.getRecipients().stream()
+                .filter(r -> "bulk0@test.local".equals(r.email()))
+                .findFirst().orElseThrow().status());
+    }
+
+    @Test
+    void finishedJobsAreDroppedAfterTheRetentionPeriod() throws InterruptedException {
+        BulkNotificationJob finished = bulkSalaryNotificationService.notifySalaries(List.of(paySalary(null)));
+        BulkNotificationJob empty = bulkSalaryNotificationService.notifySalaries(List.of());
+        assertTrue(finished.isCompleted());
+        assertTrue(empty.isCompleted());
+
+        bulkSalaryNotificationService.evictCompletedJobs();
+        assertNotNull(bulkSalaryNotificationService.getJob(finished.getJobId()));
+
+        Thread.sleep(600);
+        bulkSalaryNotificationService.evictCompletedJobs();
+        assertNull(bulkSalaryNotificationService.getJob(finished.getJobId()));
+        assertNull(bulkSalaryNotificationService.getJob(empty.getJobId()));
+    }
+
+    private Integer paySalary(String email) {
+        Employee employee = new Employee("Bulk " + email, "555", "Street", "worker", LocalDate.now(), 100.0, "active");
+        employee.setEmail(email);
+        employee = employeeRepository.save(employee);
+        return salaryRepository.save(new Salary(employee.getId(), LocalDate.now(), "salary", 2500.0, null)).getId();
+    }
+}
@@ -0,0 +1,128 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ISalaryService;
+
+@SpringBootTest(properties = { "stream.changes.max-lag=8", "events.ring.batch-size=1" })
+// Nothing printed: the printer reads headers that the still-open stream is writing.
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class ChangeStreamTests {
+
+    private record Frame(String id, String event, String data) {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private ISalaryService salaryService;
+
+    @Test
+    void streamsCommittedChangesAndResyncsClientsThatFallTooFarBehind() throws Exception {
+        MvcResult live = connect(null);
+
+        Employee employee = employeeService.addEmployee(
+                new Employee("Stream Employee", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 100.0, "active"));
+        Attendance attendance = attendanceService.addAttendance(
+                new Attendance(employee.getId(), LocalDate.of(2019, 6, 3), "present", null, null, null, null, null));
+        Frame recorded = await(live, frame -> frame.data().contains("\"type\":\"attendance\",\"id\":" + attendance.getId() + ","));
+        assertEquals("change", recorded.event());
+        assertTrue(recorded.data().contains("\"employeeId\":" + employee.getId()));
+        assertTrue(recorded.data().contains("\"operation\":\"created\""));
+        assertTrue(recorded.data().contains("\"delta\":{\"date\":\"2019-06-03\",\"from\":null,\"to\":\"present\",\"rows\":1}"));
+
+        List<Salary> salaries = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            salaries.add(salaryService.addSalary(new Salary(employee.getId(), LocalDate.of(2019, 6, 30), "salary", 100.0 * i, null)));
+        }
+        Frame last = await(live, frame -> frame.data().contains("\"type\":\"salary\",\"id\":" + salaries.get(5).getId() + ","));
+        Frame beforeLast = await(live, frame -> frame.data().contains("\"type\":\"salary\",\"id\":" + salaries.get(4).getId() + ","));
+
+        // Resuming just behind the head replays the missing frame on the new connection.
+        MvcResult resumed = connect(beforeLast.id());
+        Frame replayed = await(resumed, frame -> frame.id() != null);
+        assertEquals(last, replayed);
+
+        // Twelve frames behind is past the lag limit of eight: one resync event, then the stream ends.
+        for (int i = 1; i <= 6; i++) {
+            salaryService.addSalary(new Salary(employee.getId(), LocalDate.of(2019, 7, 31), "salary", 100.0 * i, null));
+        }
+        await(live, frame -> frame.data().contains("\"amount\":600.0") && frame.data().contains("\"operation\":\"created\"")
+                && frame.id() != null && Long.parseLong(frame.id()) > Long.parseLong(last.id()));
+        MvcResult lagging = connect(recorded.id());
+        Frame resync = await(lagging, frame -> "resync".equals(frame.event()));
+        assertEquals(1, frames(lagging).size());
+        assertEquals(null, resync.id());
+    }
+
+    private MvcResult connect(String lastEventId) throws Exception {
+        var builder = get("/api/v1/stream/changes");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static Frame await(MvcResult result, Predicate<Frame> match) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            for (Frame frame : frames(result)) {
+                if (match.test(frame)) {
+                    return frame;
+                }
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No matching frame in " + result.getResponse().getContentAsString());
+    }
+
+    private static List<Frame> frames(MvcResult result) throws Exception {
+        List<Frame> frames = new ArrayList<>();
+        for (String block : result.getResponse().getContentAsString().split("\n\n")) {
+            String id = null;
+            String event = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            if (event != null) {
+                frames.add(new Frame(id, event, data));
+            }
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,105 @@
+package com.emp.proj.employee_register;
+
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.TableVersions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Test
+    void unchangedCollectionReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        employeeService.addEmployee(new Employee("Etag Check", "555", "Street", "worker", LocalDate.now(), 100.0, "active"));
+
+        String newEtag = mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        mockMvc.perform(get("/api/v1/employees/active").header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void variantsWithTheSameHashCodeGetDifferentEtags() {
+        TableVersions tableVersions = new TableVersions();
+        // "Aa" and "BB" share a String.hashCode.
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/employees");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tableVersions.checkNotModified(new ServletWebRequest(first, response), TableVersions.Table.EMPLOYEES, "Aa");
+        String etag = response.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/v1/employees");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertFalse(tableVersions.checkNotModified(new ServletWebRequest(revalidation, new MockHttpServletResponse()),
+                TableVersions.Table.EMPLOYEES, "BB"));
+    }
+
+    @Test
+    void aSecondChangeWithinTheSameSecondIsNotHiddenByLastModified() throws Exception {
+        awaitNextSecond();
+        employeeService.addEmployee(new Employee("Same Second One", "555", "Street", "worker", LocalDate.now(), 100.0, "active"));
+        String lastModified = mockMvc.perform(get("/api/v1/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+        mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        // Last-Modified has whole seconds, so this change carries the same time as the copy above.
+        employeeService.addEmployee(new Employee("Same Second Two", "555", "Street", "worker", LocalDate.now(), 100.0, "active"));
+        mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+
+        awaitNextSecond();
+        String later = mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotEquals(lastModified, later);
+        mockMvc.perform(get("/api/v1/employees").header(HttpHeaders.IF_MODIFIED_SINCE, later))
+                .andExpect(status().isNotModified());
+    }
+
+    private static void awaitNextSecond() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+    }
+}
@@ -0,0 +1,164 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.services.DatasetGenerator;
+import com.emp.proj.employee_register.services.DatasetLoader;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ILoanRegistrationService;
+import com.emp.proj.employee_register.services.ILoanRepayService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datasettest",
+        "dataset.employees=60",
+        "dataset.years=2",
+        "dataset.end-date=2024-06-30",
+        "dataset.loan-rate=0.5",
+        "dataset.batch-size=1000"
+})
+@ActiveProfiles("dataset")
+class DatasetGeneratorTests {
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ILoanRegistrationService loanRegistrationService;
+
+    @Autowired
+    private ILoanRepayService loanRepayService;
+
+    @Test
+    void loadedRowsAreConsistentAndVisibleToTheServices() {
+        DatasetGenerator.Counts expected = new DatasetGenerator(datasetLoader.settings()).generate(1, 1, new Digest());
+        assertEquals(expected.employees(), count("employees"));
+        assertEquals(expected.attendance(), count("attendance"));
+        assertEquals(expected.salaries(), count("salaries"));
+        assertEquals(expected.loans(), count("loan_registrations"));
+        assertEquals(expected.repayments(), count("loan_repayments"));
+        assertTrue(expected.attendance() > 20_000, "attendance rows: " + expected.attendance());
+        assertTrue(expected.loans() > 10, "loans: " + expected.loans());
+
+        // Every month-end salary is that month's attendance.
+        Map<String, Double> monthTotals = new HashMap<>();
+        jdbcTemplate.query("SELECT emp_id, YEAR(date) AS y, MONTH(date) AS m, SUM(total_salary) AS total "
+                + "FROM attendance GROUP BY emp_id, YEAR(date), MONTH(date)", row -> {
+            monthTotals.put(row.getInt("emp_id") + "/" + row.getInt("y") + "/" + row.getInt("m"), row.getDouble("total"));
+        });
+        jdbcTemplate.query("SELECT emp_id, date_paid, amount FROM salaries", row -> {
+            LocalDate paid = row.getDate("date_paid").toLocalDate();
+            assertEquals(monthTotals.get(row.getInt("emp_id") + "/" + paid.getYear() + "/" + paid.getMonthValue()),
+                    row.getDouble("amount"), 0.001);
+        });
+
+        // A loan is closed exactly when its installments add up to it.
+        List<LoanRegistration> loans = loanRegistrationService.getAllLoans();
+        assertEquals(expected.loans(), loans.size());
+        for (LoanRegistration loan : loans) {
+            boolean repaid = loanRepayService.getTotalRepaidForLoan(loan.getLoanId()).equals(loan.getLoanAmount());
+            assertEquals(repaid ? "inactive" : "active", loan.getStatus(), "loan " + loan.getLoanId());
+        }
+
+        assertEquals("Employee 00001", employeeService.getEmployeeById(1).getName());
+        Employee added = employeeService.addEmployee(
+                new Employee("After Dataset", "555", "Street", "worker", LocalDate.of(2024, 1, 1), 500.0, "active"));
+        assertEquals(expected.employees() + 1, added.getId().longValue());
+    }
+
+    @Test
+    void sameSettingsGiveTheSameRowsAndRatesFollowTheSettings() {
+        DatasetGenerator.Settings settings = new DatasetGenerator.Settings(7, 200, 1, LocalDate.of(2024, 6, 30), true,
+                0.05, 0.02, 0.20, 4, 0.3, 1000, 50000, 12);
+        DatasetGenerator.Settings otherSeed = new DatasetGenerator.Settings(8, 200, 1, LocalDate.of(2024, 6, 30), true,
+                0.05, 0.02, 0.20, 4, 0.3, 1000, 50000, 12);
+
+        Digest first = new Digest();
+        Digest second = new Digest();
+        Digest other = new Digest();
+        new DatasetGenerator(settings).generate(1, 1, first);
+        new DatasetGenerator(settings).generate(1, 1, second);
+        new DatasetGenerator(otherSeed).generate(1, 1, other);
+
+        assertEquals(first.hash, second.hash);
+        assertNotEquals(first.hash, other.hash);
+        assertEquals(0.05, first.fraction("absent"), 0.01);
+        assertEquals(0.02, first.fraction("halfday"), 0.01);
+        assertEquals(0.20, first.fraction("overtime"), 0.01);
+        assertTrue(first.smallestLoan >= 1000 && first.largestLoan <= 50000);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    /** Folds every row into one hash and counts attendance by status. */
+    private static final class Digest implements DatasetGenerator.Rows {
+
+        private long hash;
+        private long days;
+        private final Map<String, Long> statuses = new HashMap<>();
+        private double smallestLoan = Double.MAX_VALUE;
+        private double largestLoan;
+
+        @Override
+        public void employee(int id, String name, String phoneNo, String email, String address, String role,
+                             LocalDate joinDate, double baseSalary, String status) {
+            add(id, name, phoneNo, email, address, role, joinDate, baseSalary, status);
+        }
+
+        @Override
+        public void attendance(int employeeId, LocalDate date, String status, double overtimeHours,
+                               double overtimeSalary, double totalSalary) {
+            add(employeeId, date, status, overtimeHours, overtimeSalary, totalSalary);
+            statuses.merge(status, 1L, Long::sum);
+            days++;
+        }
+
+        @Override
+        public void salary(int employeeId, LocalDate datePaid, double amount, LocalDate lastSalaryDate) {
+            add(employeeId, datePaid, amount, lastSalaryDate);
+        }
+
+        @Override
+        public void loan(int loanId, int employeeId, LocalDate loanDate, double loanAmount, String reason, String status) {
+            add(loanId, employeeId, loanDate, loanAmount, reason, status);
+            smallestLoan = Math.min(smallestLoan, loanAmount);
+            largestLoan = Math.max(largestLoan, loanAmount);
+        }
+
+        @Override
+        public void repayment(int loanId, int employeeId, LocalDate repayDate, double repayAmount) {
+            add(loanId, employeeId, repayDate, repayAmount);
+        }
+
+        private void add(Object... values) {
+            hash = hash * 31 + Objects.hash(values);
+        }
+
+        private double fraction(String status) {
+            return statuses.getOrDefault(status, 0L) / (double) days;
+        }
+    }
+}
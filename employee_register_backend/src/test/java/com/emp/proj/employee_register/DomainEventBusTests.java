@@ -0,0 +1,165 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.DomainEvent;
+import com.emp.proj.employee_register.services.DomainEventBus;
+import com.emp.proj.employee_register.services.DomainEventRing;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+class DomainEventBusTests {
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void eventsArePublishedOnlyWhenTheWriteCommits() throws Exception {
+        List<DomainEvent> received = java.util.Collections.synchronizedList(new ArrayList<>());
+        domainEventBus.subscribe("test-commits", received::addAll);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            employeeService.addEmployee(new Employee("Rolled Back", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 1.0, "active"));
+            throw new IllegalStateException("roll back");
+        }));
+        Employee committed = employeeService.addEmployee(
+                new Employee("Committed", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 1.0, "active"));
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (received.stream().noneMatch(e -> committed.getId().equals(e.employeeId())) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        List<DomainEvent> created = received.stream()
+                .filter(e -> e instanceof DomainEvent.EmployeeChanged && e.operation() == DomainEvent.Operation.CREATED)
+                .toList();
+        assertEquals(List.of(new DomainEvent.EmployeeChanged(DomainEvent.Operation.CREATED, committed.getId(), "active")), created);
+    }
+
+    @Test
+    void overtimeEditsArePublishedAsAttendanceUpdates() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Overtime Event", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 100.0, "active"));
+        Attendance attendance = attendanceService.addAttendance(new Attendance(employee.getId(),
+                LocalDate.of(2024, 5, 6), "overtime", "late shift", 20.0, 2.0, null, null));
+
+        CountDownLatch published = new CountDownLatch(1);
+        List<DomainEvent> received = java.util.Collections.synchronizedList(new ArrayList<>());
+        domainEventBus.subscribe("test-overtime", events -> {
+            for (DomainEvent event : events) {
+                if (event instanceof DomainEvent.AttendanceRecorded recorded
+                        && attendance.getId().equals(recorded.attendanceId())) {
+                    received.add(event);
+                    published.countDown();
+                }
+            }
+        });
+        attendanceService.updateOvertimeDetails(attendance.getId(), "night shift", 45.0, 4.0);
+
+        assertTrue(published.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(new DomainEvent.AttendanceRecorded(DomainEvent.Operation.UPDATED, attendance.getId(),
+                employee.getId(), LocalDate.of(2024, 5, 6), "overtime", "overtime", 1)), received);
+    }
+
+    @Test
+    void aSlowSubscriberIsLappedWithoutHoldingUpPublishers() throws Exception {
+        try (DomainEventRing ring = new DomainEventRing(16)) {
+            CountDownLatch release = new CountDownLatch(1);
+            Recorder slow = new Recorder(release);
+            Recorder fast = new Recorder(null);
+            ring.subscribe("slow", 4, slow);
+            ring.subscribe("fast", 64, fast);
+
+            for (int i = 0; i < 1000; i++) {
+                ring.publish(new DomainEvent.EmployeeChanged(DomainEvent.Operation.UPDATED, i, "active"));
+            }
+            // The slow subscriber is still parked in its first batch, so publishing never waited for it.
+            assertTrue(slow.delivered.isEmpty(), "publishers waited for the slow subscriber");
+            release.countDown();
+
+            assertTrue(fast.accountedFor.await(60, TimeUnit.SECONDS));
+            assertTrue(slow.accountedFor.await(60, TimeUnit.SECONDS));
+            // Each subscriber gets events in publish order, and whatever it was lapped on is reported missed.
+            fast.assertInPublishOrder();
+            slow.assertInPublishOrder();
+            assertTrue(slow.missed.get() > 0);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Map<String, Object>> subscribers = (Map<String, Map<String, Object>>) ring.statistics().get("subscribers");
+            assertEquals(slow.missed.get(), subscribers.get("slow").get("missed"));
+            assertEquals((long) fast.delivered.size(), subscribers.get("fast").get("delivered"));
+            assertEquals(0L, subscribers.get("slow").get("lag"));
+        }
+    }
+
+    /** Records the employee ids delivered and the count missed, and opens a latch once all 1000 are accounted for. */
+    private static final class Recorder implements DomainEventRing.Handler {
+
+        private final CountDownLatch gate;
+        private final List<Integer> delivered = java.util.Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong missed = new AtomicLong();
+        private final CountDownLatch accountedFor = new CountDownLatch(1);
+
+        Recorder(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            if (gate != null) {
+                try {
+                    gate.await(60, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.forEach(event -> delivered.add(event.employeeId()));
+            settle();
+        }
+
+        @Override
+        public void onMissed(long count) {
+            missed.addAndGet(count);
+            settle();
+        }
+
+        private void settle() {
+            if (delivered.size() + missed.get() == 1000) {
+                accountedFor.countDown();
+            }
+        }
+
+        void assertInPublishOrder() {
+            for (int i = 1; i < delivered.size(); i++) {
+                assertTrue(delivered.get(i - 1) < delivered.get(i), "out of order at " + i + ": " + delivered);
+            }
+            assertEquals(1000, delivered.size() + missed.get());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.emp.proj.employee_register.entities.EmailOutbox;
+import com.emp.proj.employee_register.entities.User;
+import com.emp.proj.employee_register.repository.IEmailOutboxRepository;
+import com.emp.proj.employee_register.services.EmailOutboxDispatcher;
+import com.emp.proj.employee_register.services.EmailService;
+import com.emp.proj.employee_register.services.IUserService;
+
+// Its own database: the dispatchers of other test contexts poll the shared one.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "email.outbox.poll-interval-ms=3600000",
+        "email.outbox.max-attempts=2",
+        "email.outbox.initial-backoff-ms=0",
+        "spring.mail.host=localhost",
+        "spring.mail.username=noreply@test.local",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false"
+})
+class EmailOutboxTests {
+
+    private static final FakeSmtpServer smtpServer;
+
+    static {
+        try {
+            smtpServer = new FakeSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtpServer::getPort);
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private IEmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.dispatchPending();
+        emailOutboxRepository.deleteAll();
+        smtpServer.reset();
+    }
+
+    @Test
+    void registrationQueuesTheMailWithoutContactingTheMailServer() {
+        userService.addUser(new User("outbox_user", "secret", "outbox_user@test.local", "USER"));
+
+        assertEquals(0, smtpServer.getConnectionCount());
+        assertEquals(1L, emailOutboxRepository.countByStatus("pending"));
+
+        dispatcher.dispatchPending();
+
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertEquals(1, smtpServer.getMessages().size());
+        assertEquals(List.of("outbox_user@test.local"), smtpServer.getMessages().get(0).recipients());
+        assertEquals(1L, emailOutboxRepository.countByStatus("sent"));
+    }
+
+    @Test
+    void theInitialPasswordNeverReachesTheOutbox() {
+        userService.addUser(new User("pwcheck", "Initial-Pa55word", "pwcheck@test.local", "USER"));
+
+        String stored = jdbcTemplate.queryForObject(
+                "SELECT template || ' ' || template_values FROM email_outbox WHERE recipient = ?",
+                String.class, "pwcheck@test.local");
+        assertTrue(stored.contains("pwcheck"), stored);
+        assertFalse(stored.contains("Initial-Pa55word"), stored);
+
+        dispatcher.dispatchPending();
+
+        String delivered = smtpServer.getMessages().get(0).data();
+        assertTrue(delivered.contains("pwcheck"));
+        assertFalse(delivered.contains("Initial-Pa55word"));
+        EmailOutbox sent = emailOutboxRepository.findAll().get(0);
+        assertEquals("sent", sent.getStatus());
+        assertNull(sent.getTemplateValues());
+    }
+
+    @Test
+    void batchIsSentOverOneConnection() {
+        for (int i = 0; i < 5; i++) {
+            emailService.sendUserRegistrationEmail("batch" + i + "@test.local", "batch" + i);
+        }
+
+        dispatcher.dispatchPending();
+
+        assertEquals(5, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertEquals(5L, emailOutboxRepository.countByStatus("sent"));
+    }
+
+    @Test
+    void failedMessageIsRetriedThenDeadLettered() {
+        smtpServer.rejectRecipient("bounce@test.local");
+        emailService.sendUserRegistrationEmail("bounce@test.local", "bounce");
+        emailService.sendUserRegistrationEmail("ok@test.local", "ok");
+
+        dispatcher.dispatchPending();
+        assertEquals(1L, emailOutboxRepository.countByStatus("pending"));
+        dispatcher.dispatchPending();
+
+        EmailOutbox bounced = emailOutboxRepository.findAll().stream()
+                .filter(e -> e.getRecipient().equals("bounce@test.local"))
+                .findFirst().orElseThrow();
+        assertEquals("dead", bounced.getStatus());
+        assertNull(bounced.getTemplateValues());
+        assertEquals(2, bounced.getAttempts());
+        assertEquals(1L, emailOutboxRepository.countByStatus("sent"));
+        assertEquals(1, smtpServer.getMessages().size());
+    }
+
+    @Test
+    void dispatchersSharingTheTableSendEachMessageOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailService.sendUserRegistrationEmail("shared" + i + "@test.local", "shared" + i);
+        }
+        EmailOutboxDispatcher other = new EmailOutboxDispatcher();
+        beanFactory.autowireBean(other);
+        smtpServer.setDataDelayMs(300);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(dispatcher::dispatchPending);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (smtpServer.getConnectionCount() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "the first dispatcher never connected");
+            Thread.sleep(5);
+        }
+        // The first dispatcher is mid-send and has recorded no results yet.
+        other.dispatchPending();
+        first.get();
+
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertEquals(3L, emailOutboxRepository.countByStatus("sent"));
+        emailOutboxRepository.findAll().forEach(email -> assertEquals(1, email.getAttempts()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.emp.proj.employee_register.entities.EmailOutbox;
+import com.emp.proj.employee_register.repository.IEmailOutboxRepository;
+import com.emp.proj.employee_register.services.EmailService;
+import com.emp.proj.employee_register.services.EmailTemplate;
+import com.emp.proj.employee_register.services.EmailTemplateCache;
+import com.emp.proj.employee_register.services.SalaryNotification;
+
+/**
+ * Email templates: escaping, compilation, and the bulk payroll renderer against the
+ * single-message path. Rendering throughput is measured in the loadTest source set.
+ */
+class EmailTemplateTests {
+
+    @Test
+    void placeholdersAreEscaped() {
+        EmailTemplate template = EmailTemplate.compile("<p>Hello {{name}}, {{name}}!</p>");
+
+        String html = template.render(new CharSequence[] {"<b>Tom & \"Jerry\"</b>"});
+
+        assertEquals("<p>Hello &lt;b&gt;Tom &amp; &quot;Jerry&quot;&lt;/b&gt;, "
+                + "&lt;b&gt;Tom &amp; &quot;Jerry&quot;&lt;/b&gt;!</p>", html);
+    }
+
+    @Test
+    void templatesAreCompiledOnce() {
+        EmailTemplateCache cache = new EmailTemplateCache();
+
+        assertTrue(cache.get("salary-notification") == cache.get("salary-notification"));
+    }
+
+    @Test
+    void bulkRenderingMatchesSingleNotifications() {
+        List<EmailOutbox> queued = new ArrayList<>();
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "templateCache", new EmailTemplateCache());
+        ReflectionTestUtils.setField(emailService, "emailOutboxRepository", Proxy.newProxyInstance(
+                IEmailOutboxRepository.class.getClassLoader(), new Class<?>[] {IEmailOutboxRepository.class},
+                (proxy, method, args) -> {
+                    queued.add((EmailOutbox) args[0]);
+                    return args[0];
+                }));
+
+        // Names to escape, amounts to round, and a payment date that changes mid-run.
+        LocalDate paymentDate = LocalDate.of(2024, 2, 29);
+        List<SalaryNotification> payroll = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            payroll.add(new SalaryNotification("emp" + i + "@example.com", "Employee <" + i + "> & co",
+                    i * 1000.005 - 3, paymentDate.plusDays(i / 10)));
+        }
+
+        List<String> bulk = new ArrayList<>();
+        emailService.renderSalaryNotifications(payroll, (n, html) -> bulk.add(html.toString()));
+
+        for (SalaryNotification notification : payroll) {
+            emailService.sendSalaryNotificationEmail(notification.toEmail(), notification.userName(),
+                    notification.amount(), notification.paymentDate());
+        }
+        List<String> single = new ArrayList<>();
+        for (EmailOutbox email : queued) {
+            single.add(emailService.render(email.getTemplate(), email.getTemplateValues()));
+        }
+
+        assertEquals(single, bulk);
+        assertTrue(bulk.get(0).contains("Employee &lt;0&gt; &amp; co"));
+        assertFalse(bulk.get(0).contains("{{"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.emp.proj.employee_register;
+
+import java.time.LocalDate;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeFilterTests {
+
+    private static final String ROLE = "filter-test-rigger";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Test
+    void filtersCombinePaginateAndSortOnTheServer() throws Exception {
+        employeeService.addEmployee(new Employee("Filter Alpha", "555", "Street", ROLE, LocalDate.of(2021, 3, 1), 300.0, "active"));
+        employeeService.addEmployee(new Employee("Filter Bravo", "555", "Street", ROLE, LocalDate.of(2022, 6, 15), 500.0, "active"));
+        employeeService.addEmployee(new Employee("Filter Charlie", "555", "Street", ROLE, LocalDate.of(2023, 9, 30), 700.0, "inactive"));
+        employeeService.addEmployee(new Employee("Filter Delta", "555", "Street", ROLE, LocalDate.of(2024, 1, 10), 900.0, "active"));
+
+        mockMvc.perform(get("/api/v1/employees").param("role", ROLE).param("status", "active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(3));
+
+        mockMvc.perform(get("/api/v1/employees").param("role", ROLE)
+                        .param("joinedFrom", "2022-01-01").param("joinedTo", "2023-12-31")
+                        .param("minSalary", "400").param("maxSalary", "800"))
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Filter Bravo"))
+                .andExpect(jsonPath("$.content[1].name").value("Filter Charlie"));
+
+        mockMvc.perform(get("/api/v1/employees").param("role", ROLE)
+                        .param("sort", "baseSalary,desc").param("page", "1").param("size", "2"))
+                .andExpect(jsonPath("$.page.totalPages").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Filter Bravo"))
+                .andExpect(jsonPath("$.content[1].name").value("Filter Alpha"));
+
+        // Search reads the in-memory index, which follows writes through the domain event bus.
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!mockMvc.perform(get("/api/v1/employees").param("role", ROLE).param("search", "charlie")).andReturn()
+                .getResponse().getContentAsString().contains("Filter Charlie") && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        mockMvc.perform(get("/api/v1/employees").param("role", ROLE).param("search", "charlie"))
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Filter Charlie"));
+
+        mockMvc.perform(get("/api/v1/employees").param("role", ROLE).param("sort", "salaryPassword"))
+                .andExpect(status().isBadRequest());
+    }
+}
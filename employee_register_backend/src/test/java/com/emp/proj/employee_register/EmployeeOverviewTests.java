@@ -0,0 +1,141 @@
+package com.emp.proj.employee_register;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.entities.LoanRepay;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ILoanRegistrationService;
+import com.emp.proj.employee_register.services.ILoanRepayService;
+import com.emp.proj.employee_register.services.ISalaryService;
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeOverviewTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ISalaryService salaryService;
+
+    @Autowired
+    private ILoanRegistrationService loanRegistrationService;
+
+    @Autowired
+    private ILoanRepayService loanRepayService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Test
+    void overviewFollowsEveryWriterAfterCommit() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Overview Employee", "555", "Street", "clerk", LocalDate.of(2020, 1, 1), 100.0, "active"));
+        Integer id = employee.getId();
+        String url = "/api/v1/employees/" + id + "/overview";
+
+        awaitOverview(url, "$.employee.name", "Overview Employee");
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employee.name").value("Overview Employee"))
+                .andExpect(jsonPath("$.latestSalary").isEmpty())
+                .andExpect(jsonPath("$.loans.active").value(0))
+                .andExpect(jsonPath("$.monthToDate.present").value(0));
+
+        employee.setRole("supervisor");
+        employeeService.updateEmployee(employee);
+        salaryService.addSalary(new Salary(id, LocalDate.of(2024, 1, 31), "salary", 900.0, null));
+        Salary latest = salaryService.addSalary(new Salary(id, LocalDate.of(2024, 2, 29), "salary", 950.0, null));
+        LoanRegistration loan = loanRegistrationService.registerLoan(
+                new LoanRegistration(id, LocalDate.of(2024, 1, 1), 500.0, "bike", null));
+        loanRegistrationService.registerLoan(new LoanRegistration(id, LocalDate.of(2024, 1, 1), 50.0, "repaid", null));
+        loanRepayService.addRepayment(new LoanRepay(loan.getLoanId(), id, 120.0, LocalDate.of(2024, 2, 1)));
+
+        LocalDate firstOfMonth = YearMonth.now().atDay(1);
+        attendanceService.addAttendance(new Attendance(id, firstOfMonth, "present", null, null, null, null, null));
+        attendanceService.upsertAttendance(id, firstOfMonth.plusDays(1).toString(),
+                new Attendance(null, null, "halfday", null, null, null, null, null));
+        attendanceService.addAttendance(new Attendance(id, firstOfMonth.minusDays(1), "present",
+                null, null, null, null, null));
+
+        awaitOverview(url, "$.monthToDate.halfday", 1);
+        mockMvc.perform(get(url))
+                .andExpect(jsonPath("$.employee.role").value("supervisor"))
+                .andExpect(jsonPath("$.latestSalary.id").value(latest.getId()))
+                .andExpect(jsonPath("$.latestSalary.amount").value(950.0))
+                .andExpect(jsonPath("$.loans.active").value(2))
+                .andExpect(jsonPath("$.loans.activeAmount").value(550.0))
+                .andExpect(jsonPath("$.loans.outstanding").value(430.0))
+                .andExpect(jsonPath("$.monthToDate.month").value(YearMonth.now().toString()))
+                .andExpect(jsonPath("$.monthToDate.present").value(1))
+                .andExpect(jsonPath("$.monthToDate.halfday").value(1))
+                .andExpect(jsonPath("$.monthToDate.earned").value(150.0));
+
+        salaryService.deleteSalary(latest.getId());
+        loanRegistrationService.updateLoanStatus(loan.getLoanId(), "inactive");
+        awaitOverview(url, "$.loans.active", 1);
+        mockMvc.perform(get(url))
+                .andExpect(jsonPath("$.latestSalary.amount").value(900.0))
+                .andExpect(jsonPath("$.loans.active").value(1))
+                .andExpect(jsonPath("$.loans.outstanding").value(50.0));
+
+        employeeService.deleteEmployee(id);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (mockMvc.perform(get(url)).andReturn().getResponse().getStatus() != 404 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        mockMvc.perform(get(url)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void overtimeEditsRefreshMonthToDateEarnings() throws Exception {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Overtime Overview", "555", "Street", "clerk", LocalDate.of(2020, 1, 1), 100.0, "active"));
+        Integer id = employee.getId();
+        String url = "/api/v1/employees/" + id + "/overview";
+
+        Attendance overtime = attendanceService.addAttendance(new Attendance(id, YearMonth.now().atDay(1), "overtime",
+                "late shift", 20.0, 2.0, null, null));
+        awaitOverview(url, "$.monthToDate.earned", 120.0);
+        mockMvc.perform(get(url)).andExpect(jsonPath("$.monthToDate.earned").value(120.0));
+
+        attendanceService.updateOvertimeDetails(overtime.getId(), "night shift", 45.5, 4.0);
+        awaitOverview(url, "$.monthToDate.earned", 145.5);
+        mockMvc.perform(get(url))
+                .andExpect(jsonPath("$.monthToDate.overtime").value(1))
+                .andExpect(jsonPath("$.monthToDate.earned").value(145.5));
+    }
+
+    /** The overview follows writes asynchronously, through the domain event bus. */
+    private void awaitOverview(String url, String path, Object expected) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            MockHttpServletResponse response = mockMvc.perform(get(url)).andReturn().getResponse();
+            if (response.getStatus() == 200 && expected.equals(JsonPath.read(response.getContentAsString(), path))) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
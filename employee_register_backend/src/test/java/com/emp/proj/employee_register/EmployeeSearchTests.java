@@ -0,0 +1,118 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.EmployeeSearchIndex;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+class EmployeeSearchTests {
+
+    private static final String[] FIRST_NAMES = { "john", "jonathan", "joanna", "priya", "rahul", "meera", "arjun",
+            "kavya", "suresh", "lakshmi", "vikram", "deepa", "anand", "fatima", "george", "harish", "ishaan",
+            "nandini", "oliver", "ravi", "sanjay", "tanvi", "uma", "varun", "yamini", "zoya", "karthik", "divya" };
+    private static final String[] LAST_NAMES = { "smith", "kumar", "sharma", "iyer", "nair", "reddy", "patel",
+            "menon", "fernandes", "das", "rao", "pillai", "khan", "thomas", "varghese", "joseph", "singh", "gupta" };
+    private static final String[] SYLLABLES = { "ka", "ri", "mo", "la", "an", "de", "vi", "su", "ra", "ni", "to",
+            "mi", "sha", "ven", "por", "el", "ta", "gu", "bh", "ar" };
+    private static final String[] ROLES = { "worker", "supervisor", "driver", "accountant", "cleaner", "electrician" };
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Test
+    void rankedPrefixAndTypoTolerantSearch() throws Exception {
+        Employee exact = employeeService.addEmployee(
+                new Employee("Zebulon Quartermaine", "+91 90000 11111", "Street", "welder", LocalDate.now(), 100.0, "active"));
+        Employee prefix = employeeService.addEmployee(
+                new Employee("Zebulonius Quartz", "+91 90000 22222", "Street", "welder", LocalDate.now(), 100.0, "active"));
+
+        awaitHits("zebulon", 2);
+        Page<Employee> page = employeeService.searchEmployees("zebulon", PageRequest.of(0, 10));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(exact.getId(), page.getContent().get(0).getId());
+        assertEquals(prefix.getId(), page.getContent().get(1).getId());
+
+        assertEquals(exact.getId(), employeeService.searchEmployees("zeblon quartermain", PageRequest.of(0, 10))
+                .getContent().get(0).getId());
+        assertEquals(prefix.getId(), employeeService.searchEmployees("quartz welder", PageRequest.of(0, 10))
+                .getContent().get(0).getId());
+        assertEquals(prefix.getId(), employeeService.searchEmployees("0000222", PageRequest.of(0, 10))
+                .getContent().get(0).getId());
+
+        Page<Employee> second = employeeService.searchEmployees("zebulon", PageRequest.of(1, 1));
+        assertEquals(prefix.getId(), second.getContent().get(0).getId());
+        assertEquals(2, second.getTotalPages());
+
+        prefix.setName("Yusuf Quartz");
+        employeeService.updateEmployee(prefix);
+        awaitHits("zebulon", 1);
+        assertEquals(1, employeeService.searchEmployees("zebulon", PageRequest.of(0, 10)).getTotalElements());
+
+        employeeService.deleteEmployee(exact.getId());
+        awaitHits("zebulon", 0);
+        assertTrue(employeeService.searchEmployees("zebulon", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void typosAndPrefixesFindTheirMatchesAmongOneHundredThousandEmployees() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        String[] names = new String[100_001];
+        Random random = new Random(42);
+        for (int id = 1; id <= 100_000; id++) {
+            Employee employee = new Employee(
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname(random),
+                    String.format("+91 9%09d", random.nextInt(1_000_000_000)), "Street",
+                    ROLES[random.nextInt(ROLES.length)], LocalDate.now(), 100.0, "active");
+            employee.setId(id);
+            index.index(employee);
+            names[id] = employee.getName();
+        }
+        assertEquals(100_000, index.size());
+
+        assertTrue(topHit(index, names, "jonatan").startsWith("jonathan "));
+        assertTrue(topHit(index, names, "karthk").startsWith("karthik "));
+        assertEquals("priya sharma", topHit(index, names, "priya sharma"));
+        assertEquals(20, index.search("jon", 0, 20).employeeIds().size());
+    }
+
+    private static String topHit(EmployeeSearchIndex index, String[] names, String query) {
+        List<Integer> ids = index.search(query, 0, 20).employeeIds();
+        assertFalse(ids.isEmpty(), query);
+        return names[ids.get(0)];
+    }
+
+    /** The index follows writes asynchronously, through the domain event bus. */
+    private void awaitHits(String query, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (employeeService.searchEmployees(query, PageRequest.of(0, 10)).getTotalElements() != expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    /** Common surnames for half the employees, a long tail of generated ones for the rest. */
+    private static String surname(Random random) {
+        if (random.nextBoolean()) {
+            return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        }
+        StringBuilder surname = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return surname.toString();
+    }
+}
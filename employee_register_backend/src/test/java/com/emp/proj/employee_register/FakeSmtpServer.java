@@ -0,0 +1,146 @@
+package com.emp.proj.employee_register;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. Accepts every message except those
+ * addressed to rejected recipients, and can delay each DATA command to simulate
+ * a slow mail server.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    record ReceivedMessage(List<String> recipients, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile long dataDelayMs;
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<ReceivedMessage> getMessages() {
+        return messages;
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    void setDataDelayMs(long dataDelayMs) {
+        this.dataDelayMs = dataDelayMs;
+    }
+
+    void rejectRecipient(String address) {
+        rejectedRecipients.add(address);
+    }
+
+    void reset() {
+        messages.clear();
+        rejectedRecipients.clear();
+        connections.set(0);
+        dataDelayMs = 0;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread handler = new Thread(() -> handle(socket), "fake-smtp-session");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake SMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients = new ArrayList<>();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                    if (rejectedRecipients.contains(address)) {
+                        reply(out, "550 Mailbox unavailable");
+                    } else {
+                        recipients.add(address);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line).append("\r\n");
+                    }
+                    sleep(dataDelayMs);
+                    messages.add(new ReceivedMessage(List.copyOf(recipients), data.toString()));
+                    reply(out, "250 OK queued");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else if (command.startsWith("RSET") || command.startsWith("NOOP")) {
+                    reply(out, "250 OK");
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
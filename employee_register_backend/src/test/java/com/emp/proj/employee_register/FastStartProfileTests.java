@@ -0,0 +1,44 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.emp.proj.employee_register.entities.User;
+import com.emp.proj.employee_register.repository.IEmailOutboxRepository;
+import com.emp.proj.employee_register.services.IUserService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:faststarttest",
+        "email.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("fast-start")
+class FastStartProfileTests {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IEmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void mailIsSetUpOnFirstUseAndTheH2ConsoleNotAtAll() {
+        assertFalse(context.containsBean("h2Console"));
+        assertFalse(context.getBeanFactory().containsSingleton("emailService"));
+        assertFalse(context.getBeanFactory().containsSingleton("emailTemplateCache"));
+
+        userService.addUser(new User("fast_start_user", "secret", "fast_start_user@test.local", "USER"));
+
+        assertTrue(context.getBeanFactory().containsSingleton("emailService"));
+        assertTrue(emailOutboxRepository.findAll().stream()
+                .anyMatch(message -> "fast_start_user@test.local".equals(message.getRecipient())));
+    }
+}
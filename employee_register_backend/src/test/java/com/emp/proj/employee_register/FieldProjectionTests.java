@@ -0,0 +1,98 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.repository.IAttendanceRepository;
+import com.emp.proj.employee_register.services.FieldProjectionService;
+
+/**
+ * A ?fields= projection of attendance rows against the full entities it stands in for.
+ * The payload size and timing comparison lives in the loadTest source set.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FieldProjectionTests {
+
+    private static final int FIRST_EMP_ID = 2_000_000;
+    private static final int EMPLOYEES = 5;
+    private static final int DAYS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private FieldProjectionService fieldProjectionService;
+
+    @BeforeAll
+    void insertRows() {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES * DAYS; i++) {
+            batch.add(new Object[] {
+                    FIRST_EMP_ID + (i % EMPLOYEES),
+                    start.plusDays(i / EMPLOYEES),
+                    i % 10 == 0 ? "absent" : "present",
+                    "Regular shift, no overtime recorded",
+                    0.0, 0.0,
+                    "Imported attendance row " + i,
+                    500.0 });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (emp_id, date, status, overtime_description, "
+                + "overtime_salary, overtime_hours, description, total_salary) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    @AfterAll
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE emp_id >= ?", FIRST_EMP_ID);
+    }
+
+    @Test
+    void projectionHoldsTheRequestedFieldsOfEachRow() {
+        List<Map<String, Object>> rows = new ArrayList<>(fieldProjectionService.findFields(
+                Attendance.class, "id, employeeId, date, status", Map.of("employeeId", FIRST_EMP_ID)));
+        rows.sort(Comparator.comparing(row -> (Integer) row.get("id")));
+
+        List<Map<String, Object>> expected = new ArrayList<>();
+        attendanceRepository.findByEmployeeId(FIRST_EMP_ID).stream()
+                .sorted(Comparator.comparing(Attendance::getId))
+                .forEach(attendance -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("id", attendance.getId());
+                    row.put("employeeId", attendance.getEmployeeId());
+                    row.put("date", attendance.getDate());
+                    row.put("status", attendance.getStatus());
+                    expected.add(row);
+                });
+
+        assertEquals(DAYS, rows.size());
+        assertEquals(expected, rows);
+        assertEquals(List.of("id", "employeeId", "date", "status"), List.copyOf(rows.get(0).keySet()));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        assertThrows(ResponseStatusException.class,
+                () -> fieldProjectionService.findFields(Attendance.class, "id,salaryPassword"));
+    }
+}
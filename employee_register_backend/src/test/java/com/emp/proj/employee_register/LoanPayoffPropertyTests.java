@@ -0,0 +1,123 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.entities.LoanRepay;
+import com.emp.proj.employee_register.entities.Money;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ILoanRegistrationService;
+import com.emp.proj.employee_register.services.ILoanRepayService;
+
+/**
+ * Payoff detection over seeded random loans, each split into random installments: a loan
+ * stays active until its last installment and closes exactly on it, whatever the amounts.
+ * Summed as doubles, the same installments miss the loan amount in some of these cases.
+ */
+@SpringBootTest
+class LoanPayoffPropertyTests {
+
+    private static final long SEED = 49;
+    private static final int LOANS = 60;
+    private static final int MAX_INSTALLMENTS = 8;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ILoanRegistrationService loanRegistrationService;
+
+    @Autowired
+    private ILoanRepayService loanRepayService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyCentAmountSurvivesTheRoundTrip() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 1_000_000; i++) {
+            long cents = random.nextLong(10_000_000_000L);
+            assertEquals(cents, Money.toCents(Money.toAmount(cents)));
+        }
+        assertEquals("BIGINT", jdbcTemplate.queryForObject("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'LOAN_REPAYMENTS' AND COLUMN_NAME = 'REPAY_AMOUNT'", String.class));
+    }
+
+    @Test
+    void loansCloseExactlyOnTheirLastInstallment() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Payoff Property", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 500.0, "active"));
+        Random random = new Random(SEED);
+        int doubleMisses = 0;
+
+        for (int n = 0; n < LOANS; n++) {
+            long loanCents = 1 + random.nextInt(200_000);
+            long[] installments = split(loanCents, 1 + random.nextInt(MAX_INSTALLMENTS), random);
+            LoanRegistration loan = loanRegistrationService.registerLoan(new LoanRegistration(employee.getId(),
+                    LocalDate.of(2024, 1, 1), Money.toAmount(loanCents), "property " + n, null));
+
+            double doubleSum = 0;
+            for (int i = 0; i < installments.length; i++) {
+                assertEquals("active", status(loan), "loan " + n + " before installment " + i + " of "
+                        + Arrays.toString(installments));
+                loanRepayService.addRepayment(new LoanRepay(loan.getLoanId(), employee.getId(),
+                        Money.toAmount(installments[i]), LocalDate.of(2024, 2, 1)));
+                doubleSum += Money.toAmount(installments[i]);
+            }
+            if (doubleSum != Money.toAmount(loanCents)) {
+                doubleMisses++;
+            }
+
+            assertEquals("inactive", status(loan), "loan " + n + " after " + Arrays.toString(installments));
+            assertEquals(Money.toAmount(loanCents), loanRepayService.getTotalRepaidForLoan(loan.getLoanId()));
+            assertThrows(RuntimeException.class, () -> loanRepayService.addRepayment(new LoanRepay(loan.getLoanId(),
+                    employee.getId(), 0.01, LocalDate.of(2024, 3, 1))));
+
+            // Taking the last installment back reopens the loan; one cent short is still owed.
+            List<LoanRepay> repayments = loanRepayService.getRepaymentsByLoanId(loan.getLoanId());
+            LoanRepay last = repayments.get(repayments.size() - 1);
+            loanRepayService.deleteRepayment(last.getId());
+            assertEquals("active", status(loan));
+            if (last.getRepayAmount() > 0.01) {
+                loanRepayService.addRepayment(new LoanRepay(loan.getLoanId(), employee.getId(),
+                        Money.toAmount(Money.toCents(last.getRepayAmount()) - 1), LocalDate.of(2024, 3, 1)));
+                assertEquals("active", status(loan));
+            }
+        }
+
+        System.out.println("Loan payoff: " + doubleMisses + " of " + LOANS
+                + " installment plans do not add up to their loan as doubles");
+        assertTrue(doubleMisses > 0, "the random plans should include amounts that doubles cannot add exactly");
+    }
+
+    /** Splits total into count positive parts at random. */
+    private static long[] split(long total, int count, Random random) {
+        int parts = (int) Math.min(count, total);
+        long[] installments = new long[parts];
+        long left = total;
+        for (int i = 0; i < parts - 1; i++) {
+            installments[i] = 1 + random.nextLong(left - (parts - 1 - i));
+            left -= installments[i];
+        }
+        installments[parts - 1] = left;
+        return installments;
+    }
+
+    private String status(LoanRegistration loan) {
+        return loanRegistrationService.getLoanById(loan.getLoanId()).getStatus();
+    }
+}
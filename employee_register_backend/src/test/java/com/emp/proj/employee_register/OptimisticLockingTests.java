@@ -0,0 +1,258 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.entities.LoanRegistration;
+import com.emp.proj.employee_register.entities.LoanRepay;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ILoanRegistrationService;
+import com.emp.proj.employee_register.services.ILoanRepayService;
+import com.emp.proj.employee_register.services.ISalaryService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+import javax.sql.DataSource;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OptimisticLockingTests {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ISalaryService salaryService;
+
+    @Autowired
+    private ILoanRegistrationService loanRegistrationService;
+
+    @Autowired
+    private ILoanRepayService loanRepayService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void updatesFromAStaleVersionGetConflictWithTheCurrentState() throws Exception {
+        Employee employee = employee("Versioned Employee");
+        long read = employee.getVersion();
+
+        mockMvc.perform(put("/api/v1/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(employeeJson("First Editor", read)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(read + 1));
+        mockMvc.perform(put("/api/v1/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(employeeJson("Second Editor", read)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.name").value("First Editor"))
+                .andExpect(jsonPath("$.version").value(read + 1));
+
+        Salary salary = salaryService.addSalary(new Salary(employee.getId(), LocalDate.of(2024, 3, 31), "salary", 500.0, null));
+        String update = "{\"amount\": %s, \"paymentType\": \"salary\", \"version\": %d}";
+        mockMvc.perform(put("/api/v1/salaries/" + salary.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(update.formatted(550.0, salary.getVersion())))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/salaries/" + salary.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content(update.formatted(600.0, salary.getVersion())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.amount").value(550.0));
+    }
+
+    @Test
+    void concurrentRepaymentsAreRetriedUntilTheLoanCloses() throws Exception {
+        Employee employee = employee("Repaying Employee");
+        LoanRegistration loan = loanRegistrationService.registerLoan(
+                new LoanRegistration(employee.getId(), LocalDate.of(2024, 1, 1), 800.0, "bike", null));
+
+        // Each repayment reads the total repaid so far; only one of a racing pair may commit on it.
+        List<Callable<LoanRepay>> repayments = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            repayments.add(() -> loanRepayService.addRepayment(
+                    new LoanRepay(loan.getLoanId(), employee.getId(), 100.0, LocalDate.of(2024, 2, 1))));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<LoanRepay> repayment : pool.invokeAll(repayments)) {
+                repayment.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(800.0, loanRepayService.getTotalRepaidForLoan(loan.getLoanId()));
+        assertEquals("inactive", loanRegistrationService.getLoanById(loan.getLoanId()).getStatus());
+    }
+
+    @Test
+    void aRateAddedFirstByAConcurrentEditIsAConflict() throws Exception {
+        Employee employee = employee("Rate Race Employee");
+        LocalDate effectiveFrom = LocalDate.of(2031, 5, 1);
+
+        assertEquals(409, withRateAddedFirst(employee.getId(), effectiveFrom,
+                put("/api/v1/employees/" + employee.getId() + "/salary-rates/" + effectiveFrom)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"baseSalary\": 150.0}")));
+
+        // A salary edit adds today's rate, so it races another salary edit the same way.
+        String salaryEdit = employeeJson("Rate Race Employee", employee.getVersion()).replace("100.0", "175.0");
+        assertEquals(409, withRateAddedFirst(employee.getId(), LocalDate.now(),
+                put("/api/v1/employees/" + employee.getId()).contentType(MediaType.APPLICATION_JSON).content(salaryEdit)));
+    }
+
+    /**
+     * The same contended read-modify-write on one row, with optimistic locking and retry
+     * against a pessimistic row lock. Both must lose no increments; the throughput of each
+     * is reported for comparison.
+     */
+    @Test
+    void optimisticRetryAndPessimisticLockingBothKeepEveryIncrement() throws Exception {
+        Employee employee = employee("Contended Employee");
+        AtomicLong retries = new AtomicLong();
+
+        double optimistic = incrementConcurrently(employee, id -> {
+            while (true) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        LoanRegistration loan = entityManager.find(LoanRegistration.class, id);
+                        loan.setLoanAmount(loan.getLoanAmount() + 1);
+                    });
+                    return;
+                } catch (OptimisticLockingFailureException e) {
+                    retries.incrementAndGet();
+                }
+            }
+        });
+        double pessimistic = incrementConcurrently(employee, id -> transactionTemplate.executeWithoutResult(status -> {
+            LoanRegistration loan = entityManager.find(LoanRegistration.class, id, LockModeType.PESSIMISTIC_WRITE);
+            loan.setLoanAmount(loan.getLoanAmount() + 1);
+        }));
+
+        System.out.printf("%d threads x %d increments on one row: optimistic %.0f ops/s (%d retries), pessimistic %.0f ops/s%n",
+                THREADS, INCREMENTS_PER_THREAD, optimistic, retries.get(), pessimistic);
+    }
+
+    private interface Increment {
+        void apply(Integer loanId);
+    }
+
+    /** Runs the increments from THREADS threads, checks none were lost, and returns increments per second. */
+    private double incrementConcurrently(Employee employee, Increment increment) throws Exception {
+        LoanRegistration loan = loanRegistrationService.registerLoan(
+                new LoanRegistration(employee.getId(), LocalDate.of(2024, 1, 1), 1.0, "counter", null));
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(() -> {
+                for (int n = 0; n < INCREMENTS_PER_THREAD; n++) {
+                    increment.apply(loan.getLoanId());
+                }
+                return null;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        try {
+            for (Future<Void> worker : pool.invokeAll(workers)) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(1.0 + THREADS * INCREMENTS_PER_THREAD, loanRegistrationService.getLoanById(loan.getLoanId()).getLoanAmount());
+        return THREADS * INCREMENTS_PER_THREAD / seconds;
+    }
+
+    /**
+     * Performs the request while another transaction holds an uncommitted rate for the same
+     * employee and day, and commits that rate once the request waits on it. The request then
+     * finds the rate it was about to insert already there. Returns the response status.
+     */
+    private int withRateAddedFirst(Integer employeeId, LocalDate effectiveFrom, RequestBuilder request) throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement insert = other.prepareStatement(
+                    "INSERT INTO salary_rates (emp_id, effective_from, base_salary) VALUES (?, ?, ?)")) {
+                insert.setInt(1, employeeId);
+                insert.setObject(2, effectiveFrom);
+                insert.setDouble(3, 120.0);
+                insert.executeUpdate();
+            }
+
+            Future<Integer> status = pool.submit(() -> mockMvc.perform(request).andReturn().getResponse().getStatus());
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!status.isDone() && !waitsToInsertRate(other)) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new AssertionError("the request never reached the rate insert");
+                }
+                Thread.sleep(5);
+            }
+            other.commit();
+            return status.get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** H2 retries an insert that clashes with an uncommitted row until that row commits or times out. */
+    private boolean waitsToInsertRate(Connection connection) throws Exception {
+        try (PreparedStatement waiting = connection.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE SESSION_ID <> SESSION_ID() "
+                        + "AND LOWER(EXECUTING_STATEMENT) LIKE 'insert into salary_rates%'");
+                ResultSet count = waiting.executeQuery()) {
+            count.next();
+            return count.getInt(1) > 0;
+        }
+    }
+
+    private Employee employee(String name) {
+        return employeeService.addEmployee(new Employee(name, "555", "Street", "worker", LocalDate.of(2020, 1, 1), 100.0, "active"));
+    }
+
+    private static String employeeJson(String name, long version) {
+        return "{\"name\": \"" + name + "\", \"phoneNo\": \"555\", \"address\": \"Street\", \"role\": \"worker\", "
+                + "\"status\": \"active\", \"baseSalary\": 100.0, \"version\": " + version + "}";
+    }
+}
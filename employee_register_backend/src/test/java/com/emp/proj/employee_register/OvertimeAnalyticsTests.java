@@ -0,0 +1,85 @@
+package com.emp.proj.employee_register;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OvertimeAnalyticsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void aggregatesAcrossEmployeesRolesMonthsAndArchivedOvertime() throws Exception {
+        Employee welder = employeeService.addEmployee(
+                new Employee("Overtime Welder", "555", "Street", "analytics-welder", LocalDate.of(2005, 1, 1), 100.0, "active"));
+        Employee driver = employeeService.addEmployee(
+                new Employee("Overtime Driver", "555", "Street", "analytics-driver", LocalDate.of(2005, 1, 1), 100.0, "active"));
+
+        // Salaries are stored in cents.
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (emp_id, date, status, overtime_hours, overtime_salary, total_salary) "
+                + "VALUES (?, ?, ?, ?, ?, 0)", List.of(
+                        new Object[] { welder.getId(), LocalDate.of(2011, 1, 3), "overtime", 2.0, 2000L },
+                        new Object[] { welder.getId(), LocalDate.of(2011, 1, 4), "overtime", 4.0, 4000L },
+                        new Object[] { welder.getId(), LocalDate.of(2011, 2, 1), "overtime", 6.0, 6000L },
+                        new Object[] { welder.getId(), LocalDate.of(2011, 2, 2), "present", null, null },
+                        new Object[] { driver.getId(), LocalDate.of(2011, 2, 2), "overtime", 1.0, 1000L }));
+        jdbcTemplate.update("INSERT INTO archived_overtime (id, emp_id, date, overtime_hours, overtime_salary) "
+                + "VALUES (?, ?, ?, 3.0, 3000)", -driver.getId(), driver.getId(), LocalDate.of(2010, 12, 15));
+
+        mockMvc.perform(get("/api/v1/attendance/overtime/analytics")
+                        .param("from", "2011-01-01").param("to", "2011-12-31").param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.days").value(4))
+                .andExpect(jsonPath("$.totals.hours").value(13.0))
+                .andExpect(jsonPath("$.totals.salary").value(130.0))
+                .andExpect(jsonPath("$.totals.employees").value(2))
+                .andExpect(jsonPath("$.totals.p50Hours").value(3.0))
+                .andExpect(jsonPath("$.totals.p90Hours", closeTo(5.4, 1e-9), Double.class))
+                .andExpect(jsonPath("$.byRole[0].role").value("analytics-welder"))
+                .andExpect(jsonPath("$.byRole[0].hours").value(12.0))
+                .andExpect(jsonPath("$.byRole[0].hoursShare", closeTo(12.0 / 13.0, 1e-9), Double.class))
+                .andExpect(jsonPath("$.monthly.length()").value(2))
+                .andExpect(jsonPath("$.monthly[1].month").value(2))
+                .andExpect(jsonPath("$.monthly[1].hours").value(7.0))
+                .andExpect(jsonPath("$.monthly[1].hoursChange", closeTo(1.0 / 6.0, 1e-9), Double.class))
+                .andExpect(jsonPath("$.topEmployees.length()").value(1))
+                .andExpect(jsonPath("$.topEmployees[0].employeeId").value(welder.getId()))
+                .andExpect(jsonPath("$.topEmployees[0].rank").value(1))
+                .andExpect(jsonPath("$.byEmployee.length()").value(2));
+
+        // Overtime from a tiered month is read from archived_overtime.
+        mockMvc.perform(get("/api/v1/attendance/overtime/analytics")
+                        .param("from", "2010-12-01").param("to", "2011-12-31"))
+                .andExpect(jsonPath("$.totals.days").value(5))
+                .andExpect(jsonPath("$.monthly[0].year").value(2010))
+                .andExpect(jsonPath("$.monthly[0].hours").value(3.0))
+                .andExpect(jsonPath("$.byEmployee[1].employeeId").value(driver.getId()))
+                .andExpect(jsonPath("$.byEmployee[1].hours").value(4.0));
+
+        mockMvc.perform(get("/api/v1/attendance/overtime/analytics").param("from", "2012-01-01").param("to", "2011-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
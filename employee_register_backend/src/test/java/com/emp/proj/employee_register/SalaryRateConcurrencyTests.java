@@ -0,0 +1,80 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ISalaryRateService;
+
+/**
+ * More concurrent rate changes than there are connections. A recompute that needs a
+ * second connection while the rate change still holds its first one runs the pool dry,
+ * and every rate change waiting on it fails once the connection timeout passes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=3000"
+})
+class SalaryRateConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+    private static final LocalDate EFFECTIVE_FROM = LocalDate.of(2024, 6, 1);
+    private static final String GOVERNED_DAY = "2024-06-10";
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
+    @Test
+    void concurrentRateChangesDoNotExhaustTheConnectionPool() throws Exception {
+        List<Integer> employeeIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Employee employee = employeeService.addEmployee(new Employee("Pooled Rate " + i, "555", "Street",
+                    "worker", LocalDate.of(2020, 1, 1), 100.0, "active"));
+            attendanceService.addAttendance(new Attendance(employee.getId(), LocalDate.parse(GOVERNED_DAY),
+                    "present", null, null, null, null, null));
+            employeeIds.add(employee.getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> changes = new ArrayList<>();
+            for (Integer employeeId : employeeIds) {
+                changes.add(() -> {
+                    for (int round = 1; round <= ROUNDS; round++) {
+                        double rate = 100.0 + round;
+                        salaryRateService.setRate(employeeId, EFFECTIVE_FROM, rate);
+                        assertEquals(rate, attendanceService
+                                .getAttendanceByEmployeeIdAndDate(employeeId, GOVERNED_DAY).getTotalSalary());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> change : pool.invokeAll(changes)) {
+                change.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
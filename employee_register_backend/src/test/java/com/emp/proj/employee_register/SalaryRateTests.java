@@ -0,0 +1,78 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.emp.proj.employee_register.entities.Attendance;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.services.IAttendanceService;
+import com.emp.proj.employee_register.services.IEmployeeService;
+import com.emp.proj.employee_register.services.ISalaryRateService;
+
+@SpringBootTest
+class SalaryRateTests {
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IAttendanceService attendanceService;
+
+    @Autowired
+    private ISalaryRateService salaryRateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retroactiveRateChangesRecomputeOnlyTheDaysTheyGovern() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Rated Employee", "555", "Street", "worker", LocalDate.of(2020, 1, 1), 100.0, "active"));
+        Integer id = employee.getId();
+        add(id, "2024-03-10", "present");
+        add(id, "2024-06-10", "present");
+        add(id, "2024-09-10", "halfday");
+
+        salaryRateService.setRate(id, LocalDate.of(2024, 6, 1), 200.0);
+        assertEquals(100.0, total(id, "2024-03-10"));
+        assertEquals(200.0, total(id, "2024-06-10"));
+        assertEquals(100.0, total(id, "2024-09-10"));
+        assertEquals(200.0, employeeService.getEmployeeById(id).getBaseSalary());
+
+        add(id, "2024-07-01", "present");
+        assertEquals(200.0, total(id, "2024-07-01"));
+
+        // A correction to the same rate, and a rate before the first one, which then also covers earlier days.
+        salaryRateService.setRate(id, LocalDate.of(2024, 6, 1), 180.0);
+        salaryRateService.setRate(id, LocalDate.of(2019, 1, 1), 90.0);
+        assertEquals(100.0, total(id, "2024-03-10"));
+        assertEquals(180.0, total(id, "2024-07-01"));
+        assertEquals(90.0, total(id, "2024-09-10"));
+
+        Employee update = employeeService.getEmployeeById(id);
+        update.setBaseSalary(250.0);
+        employeeService.updateEmployee(update);
+        assertEquals(4, salaryRateService.getRates(id).size());
+        assertEquals(180.0, total(id, "2024-07-01"));
+        assertEquals(250.0, salaryRateService.baseSalaryAt(employeeService.getEmployeeById(id), null));
+
+        jdbcTemplate.update("UPDATE attendance SET total_salary = 0 WHERE emp_id = ?", id);
+        assertEquals(4, salaryRateService.recomputeTotals(LocalDate.of(2024, 1, 1), null, id));
+        assertEquals(100.0, total(id, "2024-03-10"));
+        assertEquals(180.0, total(id, "2024-06-10"));
+    }
+
+    private void add(Integer employeeId, String date, String status) {
+        attendanceService.addAttendance(new Attendance(employeeId, LocalDate.parse(date), status, null, null, null, null, null));
+    }
+
+    private Double total(Integer employeeId, String date) {
+        return attendanceService.getAttendanceByEmployeeIdAndDate(employeeId, date).getTotalSalary();
+    }
+}
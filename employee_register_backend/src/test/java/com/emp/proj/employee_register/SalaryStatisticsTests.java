@@ -0,0 +1,82 @@
+package com.emp.proj.employee_register;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.emp.proj.employee_register.entities.Money;
+import com.emp.proj.employee_register.entities.Salary;
+import com.emp.proj.employee_register.repository.ISalaryRepository;
+import com.emp.proj.employee_register.services.SalaryService;
+
+/**
+ * The salary statistics, added up in cents, against the double sums they replaced and the
+ * exact decimal sums, over a fixed year of payments. The timing comparison lives in the
+ * loadTest source set.
+ */
+class SalaryStatisticsTests {
+
+    private static final int PAYMENTS = 2_000;
+    private static final int MONTHS = 6;
+
+    @Test
+    void centStatisticsMatchTheDoubleSumsTheyReplaced() {
+        YearMonth now = YearMonth.now();
+        Random random = new Random(49);
+        List<Salary> payments = new ArrayList<>(PAYMENTS);
+        for (int i = 0; i < PAYMENTS; i++) {
+            // Amounts with cents that doubles cannot hold exactly, over the last twelve months.
+            LocalDate paid = now.minusMonths(i % 12).atDay(1 + random.nextInt(28));
+            payments.add(new Salary(i % 50, paid, "salary", Money.toAmount(1 + random.nextInt(500_000)), null));
+        }
+
+        Map<String, Object> statistics = salaryService(payments).getSalaryStatistics();
+
+        assertFigure(payments, null, (Double) statistics.get("totalPaid"));
+        assertFigure(payments, now, (Double) statistics.get("thisMonth"));
+        assertFigure(payments, now.minusMonths(1), (Double) statistics.get("lastMonth"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> monthlyData = (List<Map<String, Object>>) statistics.get("monthlyData");
+        assertEquals(MONTHS, monthlyData.size());
+        for (int i = 0; i < MONTHS; i++) {
+            YearMonth month = now.minusMonths(MONTHS - 1 - i);
+            assertEquals(month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), monthlyData.get(i).get("name"));
+            assertFigure(payments, month, (Double) monthlyData.get(i).get("amount"));
+        }
+    }
+
+    /** The figure for one month, or for all payments when month is null. */
+    private static void assertFigure(List<Salary> payments, YearMonth month, double cents) {
+        double doubles = 0;
+        BigDecimal exact = BigDecimal.ZERO;
+        for (Salary salary : payments) {
+            if (month == null || YearMonth.from(salary.getDatePaid()).equals(month)) {
+                doubles += salary.getAmount();
+                exact = exact.add(BigDecimal.valueOf(salary.getAmount()));
+            }
+        }
+        assertEquals(exact.doubleValue(), cents, String.valueOf(month));
+        assertEquals(doubles, cents, 0.005, String.valueOf(month));
+    }
+
+    private static SalaryService salaryService(List<Salary> payments) {
+        SalaryService salaryService = new SalaryService();
+        ReflectionTestUtils.setField(salaryService, "salaryRepository", Proxy.newProxyInstance(
+                ISalaryRepository.class.getClassLoader(), new Class<?>[] {ISalaryRepository.class},
+                (proxy, method, args) -> payments));
+        return salaryService;
+    }
+}
@@ -0,0 +1,69 @@
+package com.emp.proj.employee_register;
+
+import java.time.LocalDate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.emp.proj.employee_register.config.HibernateCacheConfig;
+import com.emp.proj.employee_register.entities.Employee;
+import com.emp.proj.employee_register.repository.IEmployeeRepository;
+import com.emp.proj.employee_register.services.IEmployeeService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void employeeLookupsAreServedFromSecondLevelCache() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Cached Employee", "555", "Street", "worker", LocalDate.now(), 100.0, "active"));
+
+        CacheRegionStatistics region = regionStatistics(HibernateCacheConfig.EMPLOYEE_REGION);
+        employeeService.getEmployeeById(employee.getId());
+        long hitsBefore = region.getHitCount();
+
+        employeeService.getEmployeeById(employee.getId());
+        employeeService.getEmployeeById(employee.getId());
+
+        assertEquals(hitsBefore + 2, region.getHitCount());
+    }
+
+    @Test
+    void activeEmployeeQueryIsInvalidatedByStatusChange() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Query Cached", "555", "Street", "worker", LocalDate.now(), 100.0, "active"));
+
+        CacheRegionStatistics queryRegion = regionStatistics(HibernateCacheConfig.EMPLOYEE_QUERY_REGION);
+        employeeRepository.findByStatus("active");
+        long hitsBefore = queryRegion.getHitCount();
+        assertTrue(employeeRepository.findByStatus("active").stream().anyMatch(e -> e.getId().equals(employee.getId())));
+        assertEquals(hitsBefore + 1, queryRegion.getHitCount());
+
+        employeeService.updateEmployeeStatus(employee.getId(), "inactive");
+
+        assertFalse(employeeRepository.findByStatus("active").stream().anyMatch(e -> e.getId().equals(employee.getId())));
+        assertEquals("inactive", employeeService.getEmployeeById(employee.getId()).getStatus());
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(region);
+    }
+}
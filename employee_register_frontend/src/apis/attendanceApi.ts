@@ -81,6 +81,51 @@ export const addAttendance = async (attendance: Omit<Attendance, 'id'>): Promise
   }
 };
 
+/**
+ * Save the attendance record for an employee on a date, creating it or
+ * overwriting the existing one in a single request
+ * @param attendance - Attendance record to save
+ */
+export const saveAttendance = async (attendance: Omit<Attendance, 'id'>): Promise<Attendance> => {
+  const date = formatDateForApi(attendance.date);
+  try {
+    const response = await axios.put<Attendance>(
+      `${ATTENDANCE_API}/employee/${attendance.employeeId}/date/${date}`,
+      attendance
+    );
+    return response.data;
+  } catch (error: any) {
+    console.error(`Error saving attendance for employee ${attendance.employeeId} on date ${date}:`, error);
+    throw new Error(error.response?.data || 'Failed to save attendance record');
+  }
+};
+
+/**
+ * Give every active employee without a record on the date the same status,
+ * then apply the per-employee exceptions
+ * @param date - Date string in format YYYY-MM-DD
+ * @param status - Status for the employees without a record
+ * @param description - Description stored on the inserted records
+ * @param exceptions - Records for employees whose day differs from the default
+ */
+export const markAllAttendance = async (
+  date: string,
+  status: string,
+  description?: string,
+  exceptions: Omit<Attendance, 'id' | 'date'>[] = []
+): Promise<{ inserted: number; exceptions: number }> => {
+  try {
+    const response = await axios.post<{ inserted: number; exceptions: number }>(
+      `${ATTENDANCE_API}/date/${formatDateForApi(date)}/mark-all`,
+      { status, description, exceptions }
+    );
+    return response.data;
+  } catch (error: any) {
+    console.error(`Error marking attendance for date ${date}:`, error);
+    throw new Error(error.response?.data || 'Failed to mark attendance for the specified date');
+  }
+};
+
 /**
  * Update an existing attendance record
  * @param attendance - Attendance record with updated values
@@ -164,12 +209,21 @@ export const deleteAttendance = async (attendanceId: number): Promise<void> => {
  */
 export const getAttendanceSummary = async () => {
   try {
-    // For now, we'll create mock data as this specific endpoint might not exist yet
-    // In a real app, you'd call an actual API endpoint for this summary data
+    const response = await axios.get<{
+      date: string;
+      present: number;
+      absent: number;
+      halfday: number;
+      overtime: number;
+      total: number;
+    }>(`${ATTENDANCE_API}/today/counts`);
+    const today = response.data;
     return {
-      presentToday: 18,
-      absentToday: 3,
-      onLeave: 2,
+      // Employees on overtime are at work too; half days are shown as partial leave
+      presentToday: today.present + today.overtime,
+      absentToday: today.absent,
+      onLeave: today.halfday,
+      // Monthly history is not served by the API yet
       monthlyAttendance: [
         { name: 'Jan', present: 22, absent: 4, leave: 3 },
         { name: 'Feb', present: 20, absent: 5, leave: 3 },
@@ -185,6 +239,39 @@ export const getAttendanceSummary = async () => {
   }
 };
 
+const CALENDAR_STATUSES = ['present', 'absent', 'halfday', 'overtime'];
+
+/**
+ * Get one employee's attendance for a year as a date to status map
+ * The server sends a presence bitmap followed by 2 status bits per day, base64 encoded
+ * @param employeeId - Employee ID
+ * @param year - Calendar year
+ */
+export const getAttendanceCalendar = async (
+  employeeId: number,
+  year: number
+): Promise<Record<string, string>> => {
+  try {
+    const response = await axios.get<{ days: number; data: string }>(
+      `${ATTENDANCE_API}/calendar/${employeeId}/${year}`
+    );
+    const { days, data } = response.data;
+    const packed = Uint8Array.from(atob(data), (c) => c.charCodeAt(0));
+    const statusOffset = Math.ceil(days / 8);
+    const calendar: Record<string, string> = {};
+    for (let day = 0; day < days; day++) {
+      if ((packed[day >> 3] & (1 << (day & 7))) !== 0) {
+        const code = (packed[statusOffset + (day >> 2)] >> ((day & 3) * 2)) & 3;
+        calendar[formatDateForApi(new Date(Date.UTC(year, 0, day + 1)))] = CALENDAR_STATUSES[code];
+      }
+    }
+    return calendar;
+  } catch (error: any) {
+    console.error(`Error fetching attendance calendar for employee ${employeeId}:`, error);
+    throw new Error(error.response?.data || 'Failed to fetch attendance calendar');
+  }
+};
+
 /**
  * Helper function to format date for API requests
  * @param date - Date object or string
@@ -0,0 +1,42 @@
+// src/apis/changeStreamApi.ts
+import type { ChangeNotification } from '../models/types';
+
+// Base API URL - matches your Spring Boot configuration
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8081/Employee_register';
+const CHANGES_STREAM = `${API_BASE_URL}/api/v1/stream/changes`;
+
+/**
+ * Subscribe to committed changes as the server pushes them.
+ * The browser reconnects on its own and resumes after the last change it received;
+ * onResync is called when the server could not bring this client up to date and
+ * everything shown should be reloaded.
+ * @returns a function that closes the stream
+ */
+export const subscribeToChanges = (
+  onChange: (change: ChangeNotification) => void,
+  onResync: () => void
+): (() => void) => {
+  let source: EventSource | null = null;
+  let closed = false;
+
+  const open = () => {
+    source = new EventSource(CHANGES_STREAM);
+    source.addEventListener('change', (event) => {
+      onChange(JSON.parse((event as MessageEvent).data));
+    });
+    source.addEventListener('resync', () => {
+      // The server has ended this stream; start afresh from the next change.
+      source?.close();
+      onResync();
+      if (!closed) {
+        open();
+      }
+    });
+  };
+
+  open();
+  return () => {
+    closed = true;
+    source?.close();
+  };
+};
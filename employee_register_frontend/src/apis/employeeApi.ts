@@ -1,6 +1,6 @@
 // src/apis/employeeApi.ts
 import axios from 'axios';
-import type { Employee, EmployeeFilterOptions } from '../models/types';
+import type { Employee, EmployeeFilterOptions, EmployeeOverview, Page } from '../models/types';
 
 // Base URL for API calls
 const API_URL = 'http://localhost:8081/Employee_register/api/v1/employees';
@@ -10,30 +10,56 @@ const API_URL = 'http://localhost:8081/Employee_register/api/v1/employees';
  */
 export const getAllEmployees = async (filters?: EmployeeFilterOptions): Promise<Employee[]> => {
   try {
-    // Build query parameters based on filters
-    const params = new URLSearchParams();
-    if (filters?.status) {
-      // If status is specifically active, use the dedicated endpoint
-      if (filters.status === 'active') {
-        return await getAllActiveEmployees();
-      }
-      params.append('status', filters.status);
-    }
-    if (filters?.role) {
-      params.append('role', filters.role);
-    }
-    if (filters?.searchTerm) {
-      params.append('search', filters.searchTerm);
+    if (!filters || Object.values(filters).every(value => value === undefined || value === '')) {
+      const response = await axios.get<Employee[]>(API_URL);
+      return response.data;
     }
 
-    const response = await axios.get<Employee[]>(API_URL, { params });
-    return response.data;
+    // Filtering happens on the server; ask for everything on one page unless a page was requested
+    const page = await filterEmployees({ size: 2000, ...filters });
+    return page.content;
   } catch (error: any) {
     console.error('Error fetching employees:', error);
     throw new Error(error.response?.data?.message || 'Failed to fetch employees. Please try again later.');
   }
 };
 
+/**
+ * Get one page of employees, filtered and sorted on the server
+ */
+export const filterEmployees = async (filters: EmployeeFilterOptions): Promise<Page<Employee>> => {
+  const params = new URLSearchParams();
+  if (filters.status) {
+    params.append('status', filters.status);
+  }
+  if (filters.role) {
+    params.append('role', filters.role);
+  }
+  if (filters.searchTerm) {
+    params.append('search', filters.searchTerm);
+  }
+  if (filters.joinedFrom) {
+    params.append('joinedFrom', filters.joinedFrom);
+  }
+  if (filters.joinedTo) {
+    params.append('joinedTo', filters.joinedTo);
+  }
+  if (filters.minSalary !== undefined) {
+    params.append('minSalary', String(filters.minSalary));
+  }
+  if (filters.maxSalary !== undefined) {
+    params.append('maxSalary', String(filters.maxSalary));
+  }
+  params.append('page', String(filters.page ?? 0));
+  params.append('size', String(filters.size ?? 20));
+  if (filters.sort) {
+    params.append('sort', filters.sort);
+  }
+
+  const response = await axios.get<Page<Employee>>(API_URL, { params });
+  return response.data;
+};
+
 /**
  * Get all active employees
  */
@@ -60,6 +86,19 @@ export const getEmployeeById = async (id: number): Promise<Employee> => {
   }
 };
 
+/**
+ * Get an employee together with their latest salary, active loans and this month's attendance
+ */
+export const getEmployeeOverview = async (id: number): Promise<EmployeeOverview> => {
+  try {
+    const response = await axios.get<EmployeeOverview>(`${API_URL}/${id}/overview`);
+    return response.data;
+  } catch (error: any) {
+    console.error(`Error fetching overview for employee with ID ${id}:`, error);
+    throw new Error(error.response?.data?.message || 'Failed to fetch employee overview. Please try again later.');
+  }
+};
+
 /**
  * Get dashboard statistics for employees
  */
@@ -162,9 +201,9 @@ export const deleteEmployee = async (id: number): Promise<boolean> => {
  */
 export const searchEmployeesByName = async (query: string): Promise<Employee[]> => {
   try {
-    const params = new URLSearchParams({ search: query });
-    const response = await axios.get<Employee[]>(API_URL, { params });
-    return response.data;
+    const params = new URLSearchParams({ q: query, size: '50' });
+    const response = await axios.get<Page<Employee>>(`${API_URL}/search`, { params });
+    return response.data.content;
   } catch (error: any) {
     console.error('Error searching employees:', error);
     throw new Error(error.response?.data?.message || 'Failed to search employees. Please try again later.');
@@ -2,8 +2,7 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { 
-  addAttendance, 
-  checkAttendanceExists, 
+  saveAttendance, 
   formatDateForApi 
 } from '../../apis/attendanceApi';
 import { getAllActiveEmployees } from '../../apis/employeeApi';
@@ -36,8 +35,6 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
   const [loadingEmployees, setLoadingEmployees] = useState<boolean>(true);
   const [errors, setErrors] = useState<Record<string, string>>({});
   const [showSuccess, setShowSuccess] = useState<boolean>(false);
-  const [showConfirmModal, setShowConfirmModal] = useState<boolean>(false);
-  const [existingRecord, setExistingRecord] = useState<boolean>(false);
   const [selectedEmployee, setSelectedEmployee] = useState<Employee | null>(null);
   const [animateStatus, setAnimateStatus] = useState<boolean>(false);
 
@@ -67,31 +64,6 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
     loadEmployees();
   }, [initialEmployeeId]);
 
-  useEffect(() => {
-    const checkExistingAttendance = async () => {
-      if (formData.employeeId && formData.date) {
-        try {
-          const exists = await checkAttendanceExists(formData.employeeId, formData.date);
-          setExistingRecord(exists);
-          if (exists) {
-            setErrors({
-              ...errors,
-              general: `Attendance record already exists for this employee on ${formatDate(formData.date)}`
-            });
-          } else {
-            const newErrors = { ...errors };
-            delete newErrors.general;
-            setErrors(newErrors);
-          }
-        } catch (error) {
-          console.error('Error checking existing attendance:', error);
-        }
-      }
-    };
-
-    checkExistingAttendance();
-  }, [formData.employeeId, formData.date]);
-
   useEffect(() => {
     if (animateStatus) {
       const timer = setTimeout(() => {
@@ -165,10 +137,6 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
       }
     }
 
-    if (existingRecord) {
-      newErrors.general = `Attendance record already exists for this employee on ${formatDate(formData.date)}`;
-    }
-
     setErrors(newErrors);
     return Object.keys(newErrors).length === 0;
   };
@@ -184,18 +152,13 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
       return;
     }
 
-    if (existingRecord) {
-      setShowConfirmModal(true);
-      return;
-    }
-
     await submitAttendance();
   };
 
   const submitAttendance = async () => {
     setLoading(true);
     try {
-      await addAttendance(formData);
+      await saveAttendance(formData);
       setShowSuccess(true);
       setTimeout(() => {
         setShowSuccess(false);
@@ -512,7 +475,7 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
             <button 
               type="submit" 
               className="btn btn-primary" 
-              disabled={loading || existingRecord || loadingEmployees || employees.length === 0}
+              disabled={loading || loadingEmployees || employees.length === 0}
             >
               {loading ? (
                 <>
@@ -528,46 +491,6 @@ const AttendanceForm: React.FC<AttendanceFormProps> = ({
           </div>
         </form>
       </div>
-
-      {showConfirmModal && (
-        <div className="modal-overlay">
-          <div className="confirm-modal">
-            <div className="modal-header">
-              <h3><i className="bi bi-exclamation-triangle"></i> Existing Record</h3>
-              <button 
-                type="button" 
-                className="close-modal"
-                onClick={() => setShowConfirmModal(false)}
-              >
-                <i className="bi bi-x"></i>
-              </button>
-            </div>
-            <div className="modal-body">
-              <p>An attendance record already exists for this employee on this date.</p>
-              <p className="warning-text">Do you want to overwrite the existing record?</p>
-            </div>
-            <div className="modal-footer">
-              <button 
-                type="button" 
-                className="btn btn-outline"
-                onClick={() => setShowConfirmModal(false)}
-              >
-                <i className="bi bi-x-circle"></i> Cancel
-              </button>
-              <button 
-                type="button" 
-                className="btn btn-danger"
-                onClick={async () => {
-                  setShowConfirmModal(false);
-                  await submitAttendance();
-                }}
-              >
-                <i className="bi bi-check-circle"></i> Overwrite
-              </button>
-            </div>
-          </div>
-        </div>
-      )}
     </div>
   );
 };
@@ -5,11 +5,13 @@ export interface Employee {
     id?: number;
     name: string;
     phoneNo: string;
+    email?: string;
     address: string;
     role: string;
     joinDate: string | Date;
     baseSalary: number;
     status: 'active' | 'inactive';
+    version?: number; // Sent back on update; a stale one is answered with 409
   }
   
   
@@ -27,8 +29,59 @@ export interface Employee {
     status?: 'active' | 'inactive';
     role?: string;
     searchTerm?: string;
+    joinedFrom?: string;
+    joinedTo?: string;
+    minSalary?: number;
+    maxSalary?: number;
+    page?: number;
+    size?: number;
+    sort?: string;
+  }
+
+  // One page of a server-side filtered list
+  export interface Page<T> {
+    content: T[];
+    page: {
+      size: number;
+      number: number;
+      totalElements: number;
+      totalPages: number;
+    };
   }
   
+  export interface EmployeeOverview {
+    employee: Omit<Employee, 'address'>;
+    latestSalary: {
+      id: number;
+      amount: number;
+      datePaid: string;
+      paymentType: 'daily_credit' | 'salary';
+    } | null;
+    loans: {
+      active: number;
+      activeAmount: number;
+      outstanding: number;
+    };
+    monthToDate: {
+      month: string;
+      present: number;
+      absent: number;
+      halfday: number;
+      overtime: number;
+      earned: number;
+    };
+    updatedAt: string;
+  }
+
+  // A committed change pushed by the server's change stream
+  export interface ChangeNotification {
+    type: 'attendance' | 'salary' | 'loan' | 'repayment' | 'employee';
+    id: number | null;
+    employeeId: number | null;
+    operation: 'created' | 'updated' | 'deleted';
+    delta: Record<string, string | number | null>;
+  }
+
   // Attendance types
   export interface Attendance {
     id?: number;
@@ -40,6 +93,7 @@ export interface Employee {
     overtimeHours?: number; // NEW: Added overtime hours field
     description?: string;
     totalSalary?: number;
+    version?: number;
     employeeName?: string; // For display purposes, not in backend
   }
   
@@ -83,6 +137,7 @@ export interface Employee {
     paymentType: 'daily_credit' | 'salary';
     amount: number;
     lastSalaryDate?: string | Date;
+    version?: number;
     employeeName?: string; // For display purposes, not in backend
   }
   
@@ -109,6 +164,7 @@ export interface Employee {
     loanAmount: number;
     reason: string;
     status: 'active' | 'inactive';
+    version?: number;
     employeeName?: string; // For display purposes, not in backend
     remainingAmount?: number; // Calculated field, not in backend
   }
@@ -144,6 +200,7 @@ export interface Employee {
     employeeId: number;
     repayAmount: number;
     repayDate: string | Date;
+    version?: number;
     employeeName?: string; // For display purposes, not in backend
     remainingBalance?: number; // Calculated field, not in backend
   }
@@ -169,6 +226,7 @@ export interface Employee {
     password?: string; // Optional as we don't always want to expose this
     email: string;
     role: 'ADMIN' | 'USER';
+    version?: number;
   }
   
   export interface UserFormData {
@@ -4,6 +4,7 @@ import {
   getAllAttendance, 
   addAttendance, 
   updateAttendance,
+  markAllAttendance,
   deleteAttendance // Import the delete function
 } from '../apis/attendanceApi';
 import { getAllActiveEmployees } from '../apis/employeeApi';
@@ -538,63 +539,12 @@ const AttendancePage: React.FC = () => {
     setError(null);
     
     try {
-      const results: Attendance[] = [];
-      // Create attendance records for all active employees
-      for (const employee of employees) {
-        if (!employee.id) continue;
-        
-        // Check if attendance already exists for this employee on this date
-        const existingRecord = attendanceRecords.find(
-          record => record.employeeId === employee.id && new Date(record.date).toISOString().split('T')[0] === selectedDate
-        );
-        
-        // If record exists, update it; otherwise create new
-        const formData: Omit<Attendance, 'id'> = {
-          employeeId: employee.id,
-          date: selectedDate,
-          status: 'present',
-          overtimeDescription: '',
-          overtimeSalary: 0,
-          overtimeHours: 0, // NEW: Include overtime hours
-          description: 'Marked present via bulk action'
-        };
-        
-        let result;
-        if (existingRecord?.id) {
-          result = await updateAttendance({
-            ...formData,
-            id: existingRecord.id
-          });
-        } else {
-          result = await addAttendance(formData);
-        }
-        
-        results.push(result);
-      }
-      
-      // Update local state with new records
-      setAttendanceRecords(prev => {
-        const updatedRecords = [...prev];
-        
-        // Replace or add new records
-        results.forEach(result => {
-          const index = updatedRecords.findIndex(r => 
-            r.employeeId === result.employeeId && 
-            new Date(r.date).toISOString().split('T')[0] === selectedDate
-          );
-          
-          if (index >= 0) {
-            updatedRecords[index] = result;
-          } else {
-            updatedRecords.push(result);
-          }
-        });
-        
-        return updatedRecords;
-      });
+      // Active employees without a record for the date get one in a single request;
+      // records already entered for that day are left as they are.
+      await markAllAttendance(selectedDate, 'present', 'Marked present via bulk action');
       
       // Show success message
-      setSuccessMessage('All employees marked present successfully');
+      setSuccessMessage('Unmarked employees marked present successfully');
       
       // Hide success message after 3 seconds
       setTimeout(() => {
@@ -622,63 +572,12 @@ const AttendancePage: React.FC = () => {
     setError(null);
     
     try {
-      const results: Attendance[] = [];
-      // Create attendance records for all active employees
-      for (const employee of employees) {
-        if (!employee.id) continue;
-        
-        // Check if attendance already exists for this employee on this date
-        const existingRecord = attendanceRecords.find(
-          record => record.employeeId === employee.id && new Date(record.date).toISOString().split('T')[0] === selectedDate
-        );
-        
-        // If record exists, update it; otherwise create new
-        const formData: Omit<Attendance, 'id'> = {
-          employeeId: employee.id,
-          date: selectedDate,
-          status: 'absent',
-          overtimeDescription: '',
-          overtimeSalary: 0,
-          overtimeHours: 0, // NEW: Include overtime hours
-          description: 'Marked absent via bulk action'
-        };
-        
-        let result;
-        if (existingRecord?.id) {
-          result = await updateAttendance({
-            ...formData,
-            id: existingRecord.id
-          });
-        } else {
-          result = await addAttendance(formData);
-        }
-        
-        results.push(result);
-      }
-      
-      // Update local state with new records
-      setAttendanceRecords(prev => {
-        const updatedRecords = [...prev];
-        
-        // Replace or add new records
-        results.forEach(result => {
-          const index = updatedRecords.findIndex(r => 
-            r.employeeId === result.employeeId && 
-            new Date(r.date).toISOString().split('T')[0] === selectedDate
-          );
-          
-          if (index >= 0) {
-            updatedRecords[index] = result;
-          } else {
-            updatedRecords.push(result);
-          }
-        });
-        
-        return updatedRecords;
-      });
+      // Active employees without a record for the date get one in a single request;
+      // records already entered for that day are left as they are.
+      await markAllAttendance(selectedDate, 'absent', 'Marked absent via bulk action');
       
       // Show success message
-      setSuccessMessage('All employees marked absent successfully');
+      setSuccessMessage('Unmarked employees marked absent successfully');
       
       // Hide success message after 3 seconds
       setTimeout(() => {
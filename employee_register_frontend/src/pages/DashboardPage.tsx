@@ -5,10 +5,25 @@ import { getEmployeeStats } from '../apis/employeeApi';
 import { getSalaryStatistics } from '../apis/salaryApi';
 import { getAttendanceSummary } from '../apis/attendanceApi';
 import { getLoanStatistics } from '../apis/loanRegistrationApi';
+import { subscribeToChanges } from '../apis/changeStreamApi';
+import type { ChangeNotification } from '../models/types';
 import { formatCurrency, formatDate } from '../utils/dateUtils';
 import { XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, Legend, AreaChart, Area } from 'recharts';
 import './DashboardPage.css';
 
+// Dashboard sections, and the section each kind of pushed change affects
+type StatSection = 'employees' | 'salary' | 'attendance' | 'loans';
+const ALL_SECTIONS: StatSection[] = ['employees', 'salary', 'attendance', 'loans'];
+const SECTION_BY_CHANGE: Record<ChangeNotification['type'], StatSection> = {
+  employee: 'employees',
+  salary: 'salary',
+  attendance: 'attendance',
+  loan: 'loans',
+  repayment: 'loans'
+};
+// Changes arriving close together are fetched once
+const CHANGE_DEBOUNCE_MS = 500;
+
 const DashboardPage: React.FC = () => {
   const { currentUser, isAdmin } = useAuth();
   const navigate = useNavigate();
@@ -49,6 +64,7 @@ const DashboardPage: React.FC = () => {
     condition: 'Sunny'
   });
   const [refreshTime, setRefreshTime] = useState<string>('');
+  const [isRefreshing, setIsRefreshing] = useState<boolean>(false);
   
   // States for triple tap loader feature
   const [, setTapCount] = useState<number>(0);
@@ -189,14 +205,8 @@ const DashboardPage: React.FC = () => {
 
     window.addEventListener('mousemove', handleMouseMove);
 
-    // Set up auto-refresh every 5 minutes
-    const refreshInterval = setInterval(() => {
-      setRefreshTime(new Date().toLocaleTimeString());
-    }, 300000); // 5 minutes
-
     return () => {
       window.removeEventListener('mousemove', handleMouseMove);
-      clearInterval(refreshInterval);
       // Clean up dark mode class when component unmounts to avoid affecting other pages
       if (isDarkMode) {
         document.body.classList.remove('dark-mode');
@@ -204,6 +214,48 @@ const DashboardPage: React.FC = () => {
     };
   }, [currentUser, isAdmin]);
 
+  // Re-fetch only the given sections of the dashboard
+  const refreshSections = async (sections: StatSection[]) => {
+    const admin = isAdmin();
+    try {
+      await Promise.all(sections.map(async (section) => {
+        if (section === 'employees' && admin) setEmployeeStats(await getEmployeeStats());
+        if (section === 'salary') setSalaryStats(await getSalaryStatistics());
+        if (section === 'attendance') setAttendanceStats(await getAttendanceSummary());
+        if (section === 'loans' && admin) setLoanStats(await getLoanStatistics());
+      }));
+      setRefreshTime(new Date().toLocaleTimeString());
+    } catch (err: any) {
+      console.error('Error refreshing dashboard data:', err);
+    }
+  };
+
+  // Follow changes pushed by the server instead of polling for them
+  useEffect(() => {
+    const pending = new Set<StatSection>();
+    let timer: ReturnType<typeof setTimeout> | null = null;
+
+    const unsubscribe = subscribeToChanges(
+      (change) => {
+        pending.add(SECTION_BY_CHANGE[change.type]);
+        if (!timer) {
+          timer = setTimeout(() => {
+            timer = null;
+            const sections = Array.from(pending);
+            pending.clear();
+            refreshSections(sections);
+          }, CHANGE_DEBOUNCE_MS);
+        }
+      },
+      () => refreshSections(ALL_SECTIONS)
+    );
+
+    return () => {
+      unsubscribe();
+      if (timer) clearTimeout(timer);
+    };
+  }, [currentUser, isAdmin]);
+
   // Toggle dark mode
   const toggleDarkMode = () => {
     setIsDarkMode(!isDarkMode);
@@ -216,15 +268,11 @@ const DashboardPage: React.FC = () => {
     }
   };
 
-  // Manually refresh dashboard data
-  const refreshDashboard = () => {
-    setIsLoading(true);
-    setRefreshTime(new Date().toLocaleTimeString());
-
-    // Simulate data refresh with timeout
-    setTimeout(() => {
-      setIsLoading(false);
-    }, 1200);
+  // Manually reload every section, e.g. after the connection was down
+  const refreshDashboard = async () => {
+    setIsRefreshing(true);
+    await refreshSections(ALL_SECTIONS);
+    setIsRefreshing(false);
   };
 
   // Navigate to a page
@@ -285,10 +333,10 @@ const DashboardPage: React.FC = () => {
           <button 
             className="refresh-button" 
             onClick={refreshDashboard} 
-            disabled={showLoading}
-            title="Refresh dashboard data"
+            disabled={showLoading || isRefreshing}
+            title="Updates arrive live; click to reload everything"
           >
-            <i className={`bi bi-arrow-clockwise ${showLoading ? 'spinning' : ''}`}></i>
+            <i className={`bi bi-arrow-clockwise ${showLoading || isRefreshing ? 'spinning' : ''}`}></i>
             <span className="refresh-time">Last updated: {refreshTime}</span>
           </button>
           